@@ -0,0 +1,60 @@
+package com.github.wanjune.yuu.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分批处理的耗时统计
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+public class BatchMetricsModel implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // 批次数
+  private int batchCount;
+  // 元素数
+  private long elementCount;
+  // 并行数
+  private int parallelism;
+  // 总耗时(毫秒)
+  private long costMillis;
+  // 各批次的耗时(毫秒,按批次顺序)
+  private List<Long> batchCostMillisList = new ArrayList<>();
+
+  /**
+   * 批次的最大耗时(毫秒)
+   *
+   * @return 耗时
+   */
+  public long getMaxBatchCostMillis() {
+    return batchCostMillisList.stream().mapToLong(Long::longValue).max().orElse(0);
+  }
+
+  /**
+   * 批次的最小耗时(毫秒)
+   *
+   * @return 耗时
+   */
+  public long getMinBatchCostMillis() {
+    return batchCostMillisList.stream().mapToLong(Long::longValue).min().orElse(0);
+  }
+
+  /**
+   * 批次的平均耗时(毫秒)
+   *
+   * @return 耗时
+   */
+  public double getAvgBatchCostMillis() {
+    return batchCostMillisList.stream().mapToLong(Long::longValue).average().orElse(0);
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.github.wanjune.yuu.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 本地缓存的统计
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+public class CacheStatsModel implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // 命中数
+  private long hitCount;
+  // 未命中数
+  private long missCount;
+  // 加载成功数
+  private long loadSuccessCount;
+  // 加载失败数
+  private long loadFailureCount;
+  // 加载总耗时(毫秒)
+  private long totalLoadMillis;
+  // 淘汰数(超过容量/过期)
+  private long evictionCount;
+  // 条目数
+  private long size;
+  // 总权重
+  private long weight;
+
+  /**
+   * 请求数(命中数 + 未命中数)
+   *
+   * @return 请求数
+   */
+  public long getRequestCount() {
+    return hitCount + missCount;
+  }
+
+  /**
+   * 命中率(无请求 -> 1.0)
+   *
+   * @return 命中率
+   */
+  public double getHitRate() {
+    long requestCount = getRequestCount();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /**
+   * 加载的平均耗时(毫秒)
+   *
+   * @return 耗时
+   */
+  public double getAvgLoadMillis() {
+    long loadCount = loadSuccessCount + loadFailureCount;
+    return loadCount == 0 ? 0 : (double) totalLoadMillis / loadCount;
+  }
+
+}
@@ -0,0 +1,45 @@
+package com.github.wanjune.yuu.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * EXCEL的SHEET转换结果
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+public class ExcelResultModel implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // 转换对象
+  private ExcelSheetModel sheet;
+  // CSV文件存储路径
+  private String csvPath;
+  // 已写入CSV的数据行数(转换失败时为失败前已写入的行数)
+  private long rowCount;
+  // 转换耗时(毫秒)
+  private long costMillis;
+  // 异常消息(null -> 转换成功)
+  private String errorMessage;
+
+  public ExcelResultModel(ExcelSheetModel sheet, String csvPath) {
+    this.sheet = sheet;
+    this.csvPath = csvPath;
+  }
+
+  /**
+   * 是否转换成功
+   *
+   * @return 判断结果
+   */
+  public boolean isSuccess() {
+    return errorMessage == null;
+  }
+
+}
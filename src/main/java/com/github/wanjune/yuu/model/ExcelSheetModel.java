@@ -0,0 +1,31 @@
+package com.github.wanjune.yuu.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * EXCEL的SHEET(批量转换CSV时的转换对象)
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcelSheetModel implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // EXCEL文件路径
+  private String excelPath;
+  // EXCEL的SHEET序号(0开始)[不设置时需要设置为null,与sheetName二选一]
+  private Integer sheetNo;
+  // EXCEL的SHEET名称[不设置时需要设置为null,与sheetNo二选一]
+  private String sheetName;
+  // CSV文件存储路径(null -> 保存至共用的CSV)
+  private String csvPath;
+
+}
@@ -0,0 +1,137 @@
+package com.github.wanjune.yuu.model;
+
+import com.github.wanjune.yuu.exception.YuuException;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 行数据
+ * <p>按照数据结构(SchemaModel)的列索引存储值(Object[]),替代每行一个Map&lt;String, Object&gt;</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class RowModel implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // 数据结构
+  private final SchemaModel schema;
+  // 值(按列索引)
+  private final Object[] values;
+
+  public RowModel(final SchemaModel schema) {
+    this(schema, new Object[schema.size()]);
+  }
+
+  public RowModel(final SchemaModel schema, final Object[] values) {
+    if (values.length != schema.size()) {
+      throw new YuuException(String.format("行数据的列数[%s]与数据结构的列数[%s]不一致", values.length, schema.size()));
+    }
+    this.schema = schema;
+    this.values = values;
+  }
+
+  /**
+   * 获取数据结构
+   *
+   * @return 数据结构
+   */
+  public SchemaModel getSchema() {
+    return schema;
+  }
+
+  /**
+   * 获取列数
+   *
+   * @return 列数
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * 获取值
+   *
+   * @param index 列索引
+   * @return 值
+   */
+  public Object get(final int index) {
+    return values[index];
+  }
+
+  /**
+   * 获取值
+   *
+   * @param column 列名
+   * @return 值(列不存在 -> null)
+   */
+  public Object get(final String column) {
+    int index = schema.indexOf(column);
+    return index < 0 ? null : values[index];
+  }
+
+  /**
+   * 设置值
+   *
+   * @param index 列索引
+   * @param value 值
+   * @return 行数据
+   */
+  public RowModel set(final int index, final Object value) {
+    values[index] = value;
+    return this;
+  }
+
+  /**
+   * 设置值
+   *
+   * @param column 列名
+   * @param value  值
+   * @return 行数据
+   */
+  public RowModel set(final String column, final Object value) {
+    int index = schema.indexOf(column);
+    if (index < 0) throw new YuuException(String.format("数据结构中不存在列[%s]", column));
+    values[index] = value;
+    return this;
+  }
+
+  /**
+   * 清空所有值(复用行数据)
+   */
+  public void clear() {
+    Arrays.fill(values, null);
+  }
+
+  /**
+   * 复制行数据
+   *
+   * @return 复制的行数据
+   */
+  public RowModel copy() {
+    return new RowModel(schema, values.clone());
+  }
+
+  /**
+   * 转换为Map(列名 -> 值)
+   *
+   * @return Map对象
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>(values.length * 4 / 3 + 1);
+    for (int i = 0; i < values.length; i++) {
+      map.put(schema.getColumn(i), values[i]);
+    }
+    return map;
+  }
+
+  @Override
+  public String toString() {
+    return toMap().toString();
+  }
+
+}
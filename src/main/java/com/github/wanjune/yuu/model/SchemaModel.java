@@ -0,0 +1,119 @@
+package com.github.wanjune.yuu.model;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.value.ColumnTypeEnum;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据结构(列名 -> 列索引)
+ * <p>行数据(RowModel)按照列索引存取,列名只在创建结构时解析一次</p>
+ * <p>列类型(可选,未指定 -> STRING)供Parquet写入器和建表DDL使用,可以由SchemaUtil推断</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class SchemaModel implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // 列名列表
+  private final List<String> columnList;
+  // 列名 -> 列索引
+  private final Map<String, Integer> indexMap;
+  // 列类型列表
+  private final List<ColumnTypeEnum> typeList;
+
+  public SchemaModel(final List<String> columnList) {
+    this(columnList, null);
+  }
+
+  public SchemaModel(final List<String> columnList, final List<ColumnTypeEnum> typeList) {
+    if (columnList == null) throw new YuuException("数据结构的列名列表不能为空");
+    if (typeList != null && typeList.size() != columnList.size()) {
+      throw new YuuException(String.format("数据结构的列类型数[%s]与列数[%s]不一致", typeList.size(), columnList.size()));
+    }
+    this.columnList = Collections.unmodifiableList(new ArrayList<>(columnList));
+    this.typeList = Collections.unmodifiableList(typeList != null ? new ArrayList<>(typeList) : Collections.nCopies(columnList.size(), ColumnTypeEnum.STRING));
+    this.indexMap = new HashMap<>(columnList.size() * 4 / 3 + 1);
+    for (int i = 0; i < columnList.size(); i++) {
+      if (indexMap.putIfAbsent(columnList.get(i), i) != null) {
+        throw new YuuException(String.format("数据结构的列名[%s]重复", columnList.get(i)));
+      }
+    }
+  }
+
+  /**
+   * 获取列数
+   *
+   * @return 列数
+   */
+  public int size() {
+    return columnList.size();
+  }
+
+  /**
+   * 获取列名列表(不可修改)
+   *
+   * @return 列名列表
+   */
+  public List<String> getColumnList() {
+    return columnList;
+  }
+
+  /**
+   * 获取列名
+   *
+   * @param index 列索引
+   * @return 列名
+   */
+  public String getColumn(final int index) {
+    return columnList.get(index);
+  }
+
+  /**
+   * 获取列类型列表(不可修改)
+   *
+   * @return 列类型列表
+   */
+  public List<ColumnTypeEnum> getTypeList() {
+    return typeList;
+  }
+
+  /**
+   * 获取列类型
+   *
+   * @param index 列索引
+   * @return 列类型(未指定 -> STRING)
+   */
+  public ColumnTypeEnum getType(final int index) {
+    ColumnTypeEnum type = typeList.get(index);
+    return type == null ? ColumnTypeEnum.STRING : type;
+  }
+
+  /**
+   * 获取列索引
+   *
+   * @param column 列名
+   * @return 列索引(不存在 -> -1)
+   */
+  public int indexOf(final String column) {
+    Integer index = indexMap.get(column);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * 创建空的行数据
+   *
+   * @return 行数据
+   */
+  public RowModel newRow() {
+    return new RowModel(this);
+  }
+
+}
@@ -0,0 +1,329 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 计数Map(线程安全;按topic/URI/appId等统计吞吐量)
+ * <p>精确模式:每个键一个LongAdder(多线程累加同一个键时分散到多个单元,不加锁)</p>
+ * <p>近似模式(Count-Min Sketch):计数保存在固定大小的计数器数组中(内存不随键数增长),只跟踪计数较大的候选键;
+ * 计数为上界估计,误差不超过总计数的e/宽度(概率约98%);计数器按线程分段,减少多线程的缓存行竞争</p>
+ *
+ * @param <K> 键的类型
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class CounterMap<K> {
+
+  // 近似模式的哈希函数数(行数)
+  private static final int DEPTH = 4;
+  // 近似模式的哈希种子
+  private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+  // 近似模式的最大分段数
+  private static final int MAX_STRIPES = 16;
+  // 候选键已满时,未跟踪的键每隔多少次(平均)估计一次计数
+  private static final int ADMISSION_SAMPLE = 8;
+
+  // 总计数
+  private final LongAdder total = new LongAdder();
+  // 精确模式的计数(近似模式 -> null)
+  private final ConcurrentHashMap<K, LongAdder> cells;
+
+  // 近似模式的计数器([分段][行][列])
+  private final AtomicLongArray counters;
+  // 近似模式的列数 - 1
+  private final int columnMask;
+  // 近似模式的分段数 - 1
+  private final int stripeMask;
+  // 近似模式的候选键
+  private final ConcurrentHashMap<K, Boolean> candidates;
+  // 近似模式的候选键数
+  private final int candidateCount;
+  // 近似模式的候选键整理锁
+  private final ReentrantLock pruneLock = new ReentrantLock();
+  // 候选键已满时,新的键加入候选的最小计数
+  private volatile long admission;
+
+  /**
+   * 创建计数Map(精确模式)
+   */
+  public CounterMap() {
+    this.cells = new ConcurrentHashMap<>();
+    this.counters = null;
+    this.columnMask = 0;
+    this.stripeMask = 0;
+    this.candidates = null;
+    this.candidateCount = 0;
+  }
+
+  /**
+   * 创建计数Map(近似模式)
+   *
+   * @param width          计数器的列数(向上取2的幂;误差不超过总计数的e/列数)
+   * @param candidateCount 跟踪的候选键数(snapshot/topK返回的键;最多保留2倍)
+   */
+  public CounterMap(final int width, final int candidateCount) {
+    if (width < 1 || candidateCount < 1) throw new YuuException(String.format("计数Map的列数[%s]/候选键数[%s]必须大于0", width, candidateCount));
+    int columns = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+    int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors(), 2) - 1) << 1);
+    this.cells = null;
+    this.counters = new AtomicLongArray(stripes * DEPTH * columns);
+    this.columnMask = columns - 1;
+    this.stripeMask = stripes - 1;
+    this.candidates = new ConcurrentHashMap<>();
+    this.candidateCount = candidateCount;
+  }
+
+  /**
+   * 计数加1
+   *
+   * @param key 键
+   */
+  public void increment(final K key) {
+    add(key, 1);
+  }
+
+  /**
+   * 计数累加
+   *
+   * @param key   键
+   * @param delta 增量(近似模式时不能为负数)
+   */
+  public void add(final K key, final long delta) {
+    if (key == null) throw new YuuException("计数Map的键不能为空");
+    total.add(delta);
+    if (cells != null) {
+      LongAdder cell = cells.get(key);
+      if (cell == null) cell = cells.computeIfAbsent(key, k -> new LongAdder());
+      cell.add(delta);
+      return;
+    }
+
+    if (delta < 0) throw new YuuException(String.format("计数Map(近似模式)的键[%s]的增量[%s]不能为负数", key, delta));
+    int hash = key.hashCode();
+    int base = ((int) Thread.currentThread().getId() & stripeMask) * DEPTH * (columnMask + 1);
+    for (int i = 0; i < DEPTH; i++) {
+      counters.getAndAdd(base + i * (columnMask + 1) + index(hash, i), delta);
+    }
+    admit(key, hash);
+  }
+
+  /**
+   * 获取计数
+   *
+   * @param key 键
+   * @return 计数(近似模式 -> 上界估计)
+   */
+  public long get(final K key) {
+    if (key == null) return 0;
+    if (cells != null) {
+      LongAdder cell = cells.get(key);
+      return cell == null ? 0 : cell.sum();
+    }
+    return estimate(key.hashCode());
+  }
+
+  /**
+   * 总计数(全部键)
+   *
+   * @return 总计数
+   */
+  public long total() {
+    return total.sum();
+  }
+
+  /**
+   * 键数(近似模式 -> 候选键数)
+   *
+   * @return 键数
+   */
+  public int size() {
+    return cells != null ? cells.size() : candidates.size();
+  }
+
+  /**
+   * 计数快照(近似模式 -> 候选键的估计计数)
+   *
+   * @return 键 -> 计数
+   */
+  public Map<K, Long> snapshot() {
+    return snapshot(false);
+  }
+
+  /**
+   * 计数快照并清零(按周期输出吞吐量等)
+   * <p>清零期间的累加计入本次或下次快照,不会丢失(近似模式的计数器清零时可能丢失少量累加)</p>
+   *
+   * @return 键 -> 计数
+   */
+  public Map<K, Long> snapshotAndReset() {
+    return snapshot(true);
+  }
+
+  /**
+   * 计数最大的K个键
+   *
+   * @param k 键数
+   * @return 键和计数的列表(计数降序)
+   */
+  public List<Map.Entry<K, Long>> topK(final int k) {
+    return topK(snapshot(), k);
+  }
+
+  /**
+   * 计数最大的K个键(大小为K的最小堆,不对全部键排序)
+   *
+   * @param counts 键 -> 计数
+   * @param k      键数
+   * @param <K>    键的类型
+   * @return 键和计数的列表(计数降序)
+   */
+  public static <K> List<Map.Entry<K, Long>> topK(final Map<K, Long> counts, final int k) {
+    if (MapUtil.isEmpty(counts) || k < 1) return new ArrayList<>();
+    Comparator<Map.Entry<K, Long>> comparator = Map.Entry.comparingByValue();
+    PriorityQueue<Map.Entry<K, Long>> heap = new PriorityQueue<>(Math.min(k, counts.size()) + 1, comparator);
+    for (Map.Entry<K, Long> entry : counts.entrySet()) {
+      if (heap.size() < k) {
+        heap.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+      } else if (entry.getValue() > heap.peek().getValue()) {
+        heap.poll();
+        heap.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+      }
+    }
+    List<Map.Entry<K, Long>> entryList = new ArrayList<>(heap);
+    entryList.sort(Collections.reverseOrder(comparator));
+    return entryList;
+  }
+
+  /**
+   * 清空计数
+   */
+  public void clear() {
+    snapshot(true);
+    if (cells != null) cells.clear();
+  }
+
+  /**
+   * 计数快照
+   *
+   * @param reset 是否清零
+   * @return 键 -> 计数
+   */
+  private Map<K, Long> snapshot(final boolean reset) {
+    if (reset) total.reset();
+    if (cells != null) {
+      Map<K, Long> counts = new HashMap<>();
+      cells.forEach((key, cell) -> counts.put(key, reset ? cell.sumThenReset() : cell.sum()));
+      return counts;
+    }
+
+    pruneLock.lock();
+    try {
+      Map<K, Long> counts = estimates();
+      if (reset) {
+        for (int i = 0; i < counters.length(); i++) {
+          counters.set(i, 0);
+        }
+        candidates.clear();
+        admission = 0;
+      }
+      return counts;
+    } finally {
+      pruneLock.unlock();
+    }
+  }
+
+  /**
+   * 加入候选键(近似模式)
+   * <p>候选键未满 -> 直接加入;已满 -> 抽样估计计数,不小于最小计数时加入;超过2倍候选键数时保留计数最大的一半</p>
+   *
+   * @param key  键
+   * @param hash 键的哈希
+   */
+  private void admit(final K key, final int hash) {
+    if (candidates.containsKey(key)) return;
+    if (candidates.size() < candidateCount) {
+      candidates.put(key, Boolean.TRUE);
+      return;
+    }
+    if (ThreadLocalRandom.current().nextInt(ADMISSION_SAMPLE) != 0 || estimate(hash) < admission) return;
+    candidates.put(key, Boolean.TRUE);
+    if (candidates.size() > candidateCount * 2 && pruneLock.tryLock()) {
+      try {
+        prune();
+      } finally {
+        pruneLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * 整理候选键(保留计数最大的候选键数个,提高加入候选的最小计数)
+   */
+  private void prune() {
+    List<Map.Entry<K, Long>> entryList = topK(estimates(), candidateCount);
+    if (entryList.size() < candidateCount) return;
+    Map<K, Long> kept = new HashMap<>();
+    entryList.forEach(entry -> kept.put(entry.getKey(), entry.getValue()));
+    candidates.keySet().removeIf(key -> !kept.containsKey(key));
+    admission = entryList.get(entryList.size() - 1).getValue();
+  }
+
+  /**
+   * 候选键的估计计数
+   *
+   * @return 键 -> 计数
+   */
+  private Map<K, Long> estimates() {
+    Map<K, Long> counts = new HashMap<>();
+    candidates.keySet().forEach(key -> counts.put(key, estimate(key.hashCode())));
+    return counts;
+  }
+
+  /**
+   * 估计计数(各行中全部分段合计的最小值)
+   *
+   * @param hash 键的哈希
+   * @return 计数
+   */
+  private long estimate(final int hash) {
+    int columns = columnMask + 1;
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < DEPTH; i++) {
+      int column = index(hash, i);
+      long sum = 0;
+      for (int stripe = 0; stripe <= stripeMask; stripe++) {
+        sum += counters.get((stripe * DEPTH + i) * columns + column);
+      }
+      min = Math.min(min, sum);
+    }
+    return min;
+  }
+
+  /**
+   * 第i行的列
+   *
+   * @param hash 键的哈希
+   * @param i    行
+   * @return 列
+   */
+  private int index(final int hash, final int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return (int) h & columnMask;
+  }
+
+}
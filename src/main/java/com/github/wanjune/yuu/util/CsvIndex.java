@@ -0,0 +1,393 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CSV行位置索引(附属文件:[CSV文件路径].idx)
+ * <p>每隔[索引间隔]行记录一次数据行在CSV文件中的位置(字节),读取指定行时直接定位到所在区间,不需要从文件开头扫描</p>
+ * <p>索引文件格式:魔数(int) + 索引间隔(int) + CSV文件大小(long) + CSV文件修改时间(long) + 位置列表(long;第k个位置为第k*索引间隔行的行首,第0个位置为数据行开始位置)</p>
+ * <p>CSV文件大小/修改时间与索引文件头部不一致(不带索引追加,下载覆盖等) -> 索引无效,需要重新生成;写入器刷新/关闭时更新头部</p>
+ * <p>CSV的数据行中不出现行分隔符(已转义),最后一个位置之后的行数按行分隔符计数</p>
+ * <p>GZIP压缩文件不能按字节位置定位,不支持索引</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Slf4j
+public class CsvIndex implements Closeable {
+
+  // 索引文件的扩展名
+  public static final String EXT_IDX = "idx";
+  // 默认索引间隔(行数)
+  public static final int DEFAULT_INTERVAL = 10000;
+  // 索引文件的魔数("YID2")
+  private static final int MAGIC = 0x59494432;
+  // 索引文件的头部字节数(魔数 + 索引间隔 + CSV文件大小 + CSV文件修改时间)
+  private static final int HEAD_SIZE = 24;
+  // 头部中CSV文件大小的位置
+  private static final int HEAD_CSV_POS = 8;
+  // 读取缓存大小(1MB)
+  private static final int BUF_SIZE = 1 << 20;
+
+  // CSV文件路径
+  @Getter
+  private final String csvPath;
+  // 索引间隔(行数)
+  @Getter
+  private final int interval;
+  // 数据行数(打开索引时的CSV文件)
+  @Getter
+  private long rowCount;
+  // CSV文件大小(打开索引时)
+  private long csvSize;
+
+  // 位置列表
+  private long[] offsets;
+  private int offsetCount;
+  // 已写入索引文件的位置数(读取已有索引时补充的位置不在索引文件中)
+  private int savedOffsetCount;
+  // 索引文件输出流(追加位置;只读 -> null)
+  private DataOutputStream outputStream;
+
+  private CsvIndex(final String csvPath, final int interval) {
+    this.csvPath = csvPath;
+    this.interval = interval;
+    this.offsets = new long[16];
+  }
+
+  /**
+   * 获取索引文件路径
+   *
+   * @param csvPath CSV文件路径
+   * @return 索引文件路径
+   */
+  public static String getIndexPath(final String csvPath) {
+    return String.format("%s%s%s", csvPath, (char) FileUtil.NAME_EXT_SEPARATOR, EXT_IDX);
+  }
+
+  /**
+   * 读取CSV的行位置索引
+   * <p>索引文件不存在,或与CSV文件不一致(CSV文件大小/修改时间不同,已被覆盖或不带索引追加等) -> null</p>
+   *
+   * @param csvPath CSV文件路径
+   * @return 行位置索引
+   */
+  public static CsvIndex load(final String csvPath) {
+    String indexPath = getIndexPath(csvPath);
+    if (FileUtil.isGzip(csvPath) || !FileUtil.isExists(indexPath) || !FileUtil.isExists(csvPath)) return null;
+
+    CsvIndex csvIndex;
+    try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(indexPath), BUF_SIZE))) {
+      long entryCnt = (new File(indexPath).length() - HEAD_SIZE) / Long.BYTES;
+      if (entryCnt < 1 || inputStream.readInt() != MAGIC) {
+        log.warn(String.format("CSV[%s]的行位置索引无效", csvPath));
+        return null;
+      }
+      int interval = inputStream.readInt();
+      if (interval < 1) {
+        log.warn(String.format("CSV[%s]的行位置索引无效", csvPath));
+        return null;
+      }
+      File csvFile = new File(csvPath);
+      if (inputStream.readLong() != csvFile.length() || inputStream.readLong() != csvFile.lastModified()) {
+        log.warn(String.format("CSV[%s]的行位置索引与CSV文件不一致", csvPath));
+        return null;
+      }
+      csvIndex = new CsvIndex(csvPath, interval);
+      for (long i = 0; i < entryCnt; i++) {
+        csvIndex.add(inputStream.readLong());
+      }
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+
+    // 校验位置并计算数据行数(最后一个位置之后的行数)
+    csvIndex.csvSize = new File(csvPath).length();
+    try (RandomAccessFile file = new RandomAccessFile(csvPath, "r")) {
+      long lastOffset = csvIndex.offsets[csvIndex.offsetCount - 1];
+      for (int i = 1; i < csvIndex.offsetCount; i++) {
+        if (!isLineStart(file, csvIndex.offsets[i]) || csvIndex.offsets[i] <= csvIndex.offsets[i - 1]) lastOffset = -1;
+      }
+      if (lastOffset < 0 || lastOffset > csvIndex.csvSize || !isLineStart(file, csvIndex.offsets[0])) {
+        log.warn(String.format("CSV[%s]的行位置索引与CSV文件不一致", csvPath));
+        return null;
+      }
+      // 最后一个位置之后的数据行
+      csvIndex.savedOffsetCount = csvIndex.offsetCount;
+      csvIndex.rowCount = (long) (csvIndex.offsetCount - 1) * csvIndex.interval + countLines(file, lastOffset, csvIndex.csvSize, csvIndex, csvIndex.interval);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+    return csvIndex;
+  }
+
+  /**
+   * 扫描CSV文件生成行位置索引(索引文件已存在 -> 覆盖)
+   *
+   * @param csvPath  CSV文件路径
+   * @param interval 索引间隔(行数)
+   * @return 行位置索引
+   */
+  public static CsvIndex build(final String csvPath, final int interval) {
+    checkIndexable(csvPath, interval);
+    CsvIndex csvIndex = new CsvIndex(csvPath, interval);
+    File csvFile = new File(csvPath);
+    csvIndex.csvSize = csvFile.length();
+    long lastModified = csvFile.lastModified();
+    try (RandomAccessFile file = new RandomAccessFile(csvPath, "r")) {
+      // 标题行之后为数据行开始位置
+      long dataStart = CsvUtil.nextLineStart(file, 1, csvIndex.csvSize);
+      csvIndex.add(dataStart);
+      csvIndex.rowCount = countLines(file, dataStart, csvIndex.csvSize, csvIndex, interval);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("生成CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+
+    // 写入索引文件
+    String indexPath = getIndexPath(csvPath);
+    try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileUtil.create(indexPath)), BUF_SIZE))) {
+      outputStream.writeInt(MAGIC);
+      outputStream.writeInt(interval);
+      outputStream.writeLong(csvIndex.csvSize);
+      outputStream.writeLong(lastModified);
+      for (int i = 0; i < csvIndex.offsetCount; i++) {
+        outputStream.writeLong(csvIndex.offsets[i]);
+      }
+      csvIndex.savedOffsetCount = csvIndex.offsetCount;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("写入CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+
+    log.info(String.format("生成CSV[%s]的行位置索引成功(数据行数:%s,索引间隔:%s)", csvPath, csvIndex.rowCount, interval));
+    return csvIndex;
+  }
+
+  /**
+   * 打开写入用的行位置索引(CSV写入器使用)
+   * <p>新建CSV -> 新建索引(写入数据行开始位置);追加CSV -> 读取已有索引(不存在或不一致时扫描生成),之后追加位置</p>
+   *
+   * @param csvPath   CSV文件路径
+   * @param interval  索引间隔(追加已有索引时使用已有索引的间隔)
+   * @param append    是否追加CSV
+   * @param dataStart 数据行开始位置(新建CSV时)
+   * @return 行位置索引
+   */
+  static CsvIndex open(final String csvPath, final int interval, final boolean append, final long dataStart) {
+    checkIndexable(csvPath, interval);
+    CsvIndex csvIndex;
+    if (append) {
+      csvIndex = load(csvPath);
+      if (csvIndex == null) csvIndex = build(csvPath, interval);
+    } else {
+      csvIndex = new CsvIndex(csvPath, interval);
+      csvIndex.add(dataStart);
+    }
+
+    String indexPath = getIndexPath(csvPath);
+    try {
+      csvIndex.outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileUtil.create(indexPath), append), 8192));
+      if (!append) {
+        // CSV文件大小/修改时间在刷新时更新
+        csvIndex.outputStream.writeInt(MAGIC);
+        csvIndex.outputStream.writeInt(interval);
+        csvIndex.outputStream.writeLong(-1);
+        csvIndex.outputStream.writeLong(-1);
+      }
+      // 新建索引的数据行开始位置 / 读取已有索引时补充的位置
+      for (int i = csvIndex.savedOffsetCount; i < csvIndex.offsetCount; i++) {
+        csvIndex.outputStream.writeLong(csvIndex.offsets[i]);
+      }
+      csvIndex.savedOffsetCount = csvIndex.offsetCount;
+    } catch (Exception ex) {
+      csvIndex.close();
+      throw new YuuException(String.format("打开CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+    return csvIndex;
+  }
+
+  /**
+   * 写入数据行前记录位置(行号为索引间隔的倍数时追加至索引文件)
+   *
+   * @param offset 数据行的行首位置
+   */
+  void mark(final long offset) {
+    try {
+      if (rowCount > 0 && rowCount % interval == 0) {
+        add(offset);
+        outputStream.writeLong(offset);
+        savedOffsetCount++;
+      }
+      rowCount++;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("写入CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 刷新索引文件(CSV数据刷新之后调用;更新头部的CSV文件大小/修改时间)
+   */
+  void flush() {
+    try {
+      if (outputStream == null) return;
+      outputStream.flush();
+      saveCsvState();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("刷新CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 关闭索引文件(写入用:CSV文件关闭之后调用;更新头部的CSV文件大小/修改时间)
+   */
+  @Override
+  public void close() {
+    try {
+      if (outputStream == null) return;
+      outputStream.close();
+      outputStream = null;
+      saveCsvState();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("关闭CSV[%s]的行位置索引失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 定位数据行
+   * <p>返回所在区间的开始位置和需要跳过的行数</p>
+   *
+   * @param rowNo 数据行号(0开始)
+   * @return [区间开始位置(字节), 跳过行数]
+   */
+  public long[] locate(final long rowNo) {
+    int entry = (int) Math.min(Math.max(rowNo, 0) / interval, offsetCount - 1);
+    return new long[]{offsets[entry], Math.max(rowNo, 0) - (long) entry * interval};
+  }
+
+  /**
+   * 获取区间结束位置(包含指定数据行的区间之后的行首;之后无索引位置 -> CSV文件大小)
+   *
+   * @param rowNo 数据行号(0开始,不包含)
+   * @return 结束位置(字节)
+   */
+  public long locateEnd(final long rowNo) {
+    long entry = Math.max(rowNo, 0) / interval + (rowNo % interval > 0 ? 1 : 0);
+    return entry < offsetCount ? offsets[(int) entry] : csvSize;
+  }
+
+  /**
+   * 按数据行数均分为多个字节范围(按索引位置拆分,各范围的数据行数相同)
+   *
+   * @param splitCnt 拆分数
+   * @return 字节范围列表([开始位置, 结束位置))
+   */
+  public List<long[]> split(final int splitCnt) {
+    List<long[]> rangeList = new ArrayList<>();
+    if (rowCount == 0) return rangeList;
+    int step = Math.max(1, (offsetCount + splitCnt - 1) / Math.max(1, splitCnt));
+    for (int i = 0; i < offsetCount; i += step) {
+      rangeList.add(new long[]{offsets[i], i + step < offsetCount ? offsets[i + step] : csvSize});
+    }
+    return rangeList;
+  }
+
+  /**
+   * 获取索引位置数
+   *
+   * @return 位置数
+   */
+  public int getOffsetCount() {
+    return offsetCount;
+  }
+
+  /**
+   * 新增位置
+   *
+   * @param offset 位置
+   */
+  private void add(final long offset) {
+    if (offsetCount == offsets.length) offsets = Arrays.copyOf(offsets, offsets.length << 1);
+    offsets[offsetCount++] = offset;
+  }
+
+  /**
+   * 更新索引文件头部的CSV文件大小/修改时间
+   */
+  private void saveCsvState() throws Exception {
+    File csvFile = new File(csvPath);
+    csvSize = csvFile.length();
+    try (RandomAccessFile indexFile = new RandomAccessFile(getIndexPath(csvPath), "rw")) {
+      indexFile.seek(HEAD_CSV_POS);
+      indexFile.writeLong(csvSize);
+      indexFile.writeLong(csvFile.lastModified());
+    }
+  }
+
+  /**
+   * 校验CSV文件能否生成索引
+   *
+   * @param csvPath  CSV文件路径
+   * @param interval 索引间隔
+   */
+  static void checkIndexable(final String csvPath, final int interval) {
+    if (interval < 1) throw new YuuException(String.format("索引间隔[%s]必须大于0", interval));
+    if (FileUtil.isGzip(csvPath)) throw new YuuException(String.format("GZIP压缩文件[%s]不支持行位置索引", csvPath));
+  }
+
+  /**
+   * 指定位置是否为行首
+   *
+   * @param file   CSV文件
+   * @param offset 位置
+   * @return 判断结果
+   */
+  private static boolean isLineStart(final RandomAccessFile file, final long offset) throws Exception {
+    if (offset <= 0) return offset == 0;
+    if (offset > file.length()) return false;
+    file.seek(offset - 1);
+    return file.read() == CsvUtil.LINE_SEPARATOR.charAt(0);
+  }
+
+  /**
+   * 统计行数(按行分隔符计数;指定索引时,每隔[索引间隔]行记录位置)
+   *
+   * @param file     CSV文件
+   * @param start    开始位置(行首)
+   * @param end      结束位置
+   * @param csvIndex 行位置索引(null -> 只计数)
+   * @param interval 索引间隔
+   * @return 行数
+   */
+  private static long countLines(final RandomAccessFile file, final long start, final long end, final CsvIndex csvIndex, final int interval) throws Exception {
+    file.seek(start);
+    byte[] bytes = new byte[BUF_SIZE];
+    long offset = start;
+    long lineCnt = 0;
+    int len;
+    while (offset < end && (len = file.read(bytes, 0, (int) Math.min(bytes.length, end - offset))) > 0) {
+      for (int i = 0; i < len; i++) {
+        if (bytes[i] != CsvUtil.LINE_SEPARATOR.charAt(0)) continue;
+        lineCnt++;
+        // 下一行的行首
+        if (csvIndex != null && lineCnt % interval == 0 && offset + i + 1 < end) csvIndex.add(offset + i + 1);
+      }
+      offset += len;
+    }
+    return lineCnt;
+  }
+
+}
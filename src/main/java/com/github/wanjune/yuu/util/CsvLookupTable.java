@@ -0,0 +1,625 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * CSV查找表(附属文件:[CSV文件路径].lkp;按键列查找数据行)
+ * <p>代替将维度CSV加载为HashMap&lt;String, Map&lt;String, Object&gt;&gt;(数千万行时占用数十GB堆内存):
+ * 查找表和CSV文件都以内存映射方式打开,数据不占用堆内存;同一台机器上的多个JVM通过页缓存共享</p>
+ * <p>查找表文件格式:头部(魔数,键列索引,CSV文件大小/更新时间,槽数,键数) + 槽(键的64位哈希(long) + 数据行在CSV文件中的位置+1(long;0 -> 空槽));线性探测</p>
+ * <p>值为CSV文件中数据行的字节范围,需要时才解码;查找(find)比较键的哈希和CSV中的键列,不创建对象</p>
+ * <p>生成一次后,CSV文件未变化时直接打开(不需要扫描);键重复时后面的行覆盖前面的行;键列为空的行不加入查找表</p>
+ * <p>GZIP压缩文件不能映射,不支持查找表</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Slf4j
+public class CsvLookupTable implements Closeable {
+
+  // 查找表文件的扩展名
+  public static final String EXT_LKP = "lkp";
+  // 查找表文件的魔数("YLKP")
+  private static final int MAGIC = 0x594C4B50;
+  // 查找表文件的头部字节数
+  private static final int HEAD_SIZE = 64;
+  // 槽的字节数(哈希 + 位置)
+  private static final int SLOT_SIZE = 16;
+  // 最大负载率
+  private static final double LOAD_FACTOR = 0.7;
+  // 映射分段的位数(每段1GB;MappedByteBuffer最大2GB)
+  private static final int CHUNK_BITS = 30;
+  // 行分隔符
+  private static final byte LINE_SEPARATOR = (byte) CsvUtil.LINE_SEPARATOR.charAt(0);
+  // 列分隔符
+  private static final byte COLUMN_SEPARATOR = (byte) CsvUtil.COLUMN_SEPARATOR;
+  // long键的字符串(线程内复用)
+  private static final ThreadLocal<StringBuilder> LONG_KEY = ThreadLocal.withInitial(() -> new StringBuilder(20));
+
+  // CSV文件路径
+  @Getter
+  private final String csvPath;
+  // 键列名
+  @Getter
+  private final String keyColumn;
+  // CSV文件的数据结构(标题行)
+  @Getter
+  private final SchemaModel schema;
+  // 键数
+  @Getter
+  private final long keyCount;
+
+  // 键列索引
+  private final int keyColumnIndex;
+  // 槽数 - 1
+  private final long slotMask;
+  // CSV文件大小
+  private final long csvSize;
+  // 查找表文件(内存映射;已关闭 -> null)
+  private MappedBytes table;
+  // CSV文件(内存映射;已关闭 -> null)
+  private MappedBytes csv;
+
+  private CsvLookupTable(final String csvPath, final String keyColumn, final SchemaModel schema, final long keyCount,
+                         final long slotCount, final long csvSize, final MappedBytes table, final MappedBytes csv) {
+    this.csvPath = csvPath;
+    this.keyColumn = keyColumn;
+    this.schema = schema;
+    this.keyCount = keyCount;
+    this.keyColumnIndex = schema.indexOf(keyColumn);
+    this.slotMask = slotCount - 1;
+    this.csvSize = csvSize;
+    this.table = table;
+    this.csv = csv;
+  }
+
+  /**
+   * 获取查找表文件路径
+   *
+   * @param csvPath CSV文件路径
+   * @return 查找表文件路径
+   */
+  public static String getLookupPath(final String csvPath) {
+    return String.format("%s%s%s", csvPath, (char) FileUtil.NAME_EXT_SEPARATOR, EXT_LKP);
+  }
+
+  /**
+   * 打开CSV查找表(查找表文件不存在或与CSV文件不一致 -> 扫描生成)
+   *
+   * @param csvPath   CSV文件路径
+   * @param keyColumn 键列名
+   * @return 查找表
+   */
+  public static CsvLookupTable open(final String csvPath, final String keyColumn) {
+    CsvLookupTable lookupTable = load(csvPath, keyColumn);
+    return lookupTable != null ? lookupTable : build(csvPath, keyColumn);
+  }
+
+  /**
+   * 读取CSV查找表
+   * <p>查找表文件不存在,或与CSV文件不一致(CSV已被覆盖/追加,键列不同等) -> null</p>
+   *
+   * @param csvPath   CSV文件路径
+   * @param keyColumn 键列名
+   * @return 查找表
+   */
+  public static CsvLookupTable load(final String csvPath, final String keyColumn) {
+    String lookupPath = getLookupPath(csvPath);
+    if (FileUtil.isGzip(csvPath) || !FileUtil.isExists(lookupPath) || !FileUtil.isExists(csvPath)) return null;
+    SchemaModel schema = readSchema(csvPath, keyColumn);
+
+    File csvFile = new File(csvPath);
+    long csvSize = csvFile.length();
+    try (RandomAccessFile lookupFile = new RandomAccessFile(lookupPath, "r"); RandomAccessFile csvRaf = new RandomAccessFile(csvPath, "r")) {
+      long lookupSize = lookupFile.length();
+      if (lookupSize < HEAD_SIZE || lookupFile.readInt() != MAGIC || lookupFile.readInt() != schema.indexOf(keyColumn)
+          || lookupFile.readLong() != csvSize || lookupFile.readLong() != csvFile.lastModified()) {
+        log.warn(String.format("CSV[%s]的查找表与CSV文件不一致", csvPath));
+        return null;
+      }
+      long slotCount = lookupFile.readLong();
+      long keyCount = lookupFile.readLong();
+      if (Long.bitCount(slotCount) != 1 || lookupSize != HEAD_SIZE + slotCount * SLOT_SIZE) {
+        log.warn(String.format("CSV[%s]的查找表无效", csvPath));
+        return null;
+      }
+      // 映射在文件关闭后仍然有效
+      return new CsvLookupTable(csvPath, keyColumn, schema, keyCount, slotCount, csvSize,
+          MappedBytes.map(lookupFile.getChannel(), FileChannel.MapMode.READ_ONLY, lookupSize),
+          MappedBytes.map(csvRaf.getChannel(), FileChannel.MapMode.READ_ONLY, csvSize));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取CSV[%s]的查找表失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 扫描CSV文件生成查找表(查找表文件已存在 -> 覆盖)
+   * <p>先写入临时文件再重命名,其他JVM不会读取到生成中的查找表</p>
+   *
+   * @param csvPath   CSV文件路径
+   * @param keyColumn 键列名
+   * @return 查找表
+   */
+  public static CsvLookupTable build(final String csvPath, final String keyColumn) {
+    if (FileUtil.isGzip(csvPath)) throw new YuuException(String.format("GZIP压缩文件[%s]不支持查找表", csvPath));
+    SchemaModel schema = readSchema(csvPath, keyColumn);
+    String lookupPath = getLookupPath(csvPath);
+    String tmpPath = String.format("%s%stmp", lookupPath, (char) FileUtil.NAME_EXT_SEPARATOR);
+
+    File csvFile = new File(csvPath);
+    long csvSize = csvFile.length();
+    long lastModified = csvFile.lastModified();
+    long keyCount = 0;
+    try (RandomAccessFile csvRaf = new RandomAccessFile(csvPath, "r"); RandomAccessFile tmpFile = new RandomAccessFile(FileUtil.create(tmpPath), "rw")) {
+      MappedBytes csv = MappedBytes.map(csvRaf.getChannel(), FileChannel.MapMode.READ_ONLY, csvSize);
+      long dataStart = CsvUtil.nextLineStart(csvRaf, 1, csvSize);
+      // 槽数(有行位置索引时使用索引的数据行数,否则按行分隔符计数)
+      CsvIndex csvIndex = CsvIndex.load(csvPath);
+      long slotCount = tableLength(csvIndex != null ? csvIndex.getRowCount() : countLines(csv, dataStart, csvSize));
+      long lookupSize = HEAD_SIZE + slotCount * SLOT_SIZE;
+      tmpFile.setLength(0);
+      tmpFile.setLength(lookupSize);
+      MappedBytes table = MappedBytes.map(tmpFile.getChannel(), FileChannel.MapMode.READ_WRITE, lookupSize);
+
+      CsvLookupTable builder = new CsvLookupTable(csvPath, keyColumn, schema, 0, slotCount, csvSize, table, csv);
+      for (long rowStart = dataStart; rowStart < csvSize; rowStart = builder.nextRowStart(rowStart)) {
+        if (builder.insert(rowStart)) keyCount++;
+      }
+
+      // 头部最后写入(魔数之外的内容不完整时不会被读取)
+      table.putInt(4, builder.keyColumnIndex);
+      table.putLong(8, csvSize);
+      table.putLong(16, lastModified);
+      table.putLong(24, slotCount);
+      table.putLong(32, keyCount);
+      table.putInt(0, MAGIC);
+      table.force();
+    } catch (Exception ex) {
+      FileUtil.delete(tmpPath);
+      throw new YuuException(String.format("生成CSV[%s]的查找表失败", csvPath), ex);
+    }
+
+    try {
+      Files.move(Paths.get(tmpPath), Paths.get(lookupPath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (Exception ex) {
+      FileUtil.delete(tmpPath);
+      throw new YuuException(String.format("写入CSV[%s]的查找表失败", csvPath), ex);
+    }
+    log.info(String.format("生成CSV[%s]的查找表成功(键列:%s,键数:%s)", csvPath, keyColumn, keyCount));
+
+    CsvLookupTable lookupTable = load(csvPath, keyColumn);
+    if (lookupTable == null) throw new YuuException(String.format("CSV[%s]在生成查找表期间被修改", csvPath));
+    return lookupTable;
+  }
+
+  /**
+   * 查找数据行(不创建对象)
+   *
+   * @param key 键
+   * @return 数据行在CSV文件中的位置(不存在/null/空字符串 -> -1)
+   */
+  public long find(final CharSequence key) {
+    checkOpen();
+    if (key == null || key.length() == 0) return -1;
+    long hash = hash(key);
+    for (long slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+      long slotPos = HEAD_SIZE + slot * SLOT_SIZE;
+      long rowStart = table.getLong(slotPos + 8) - 1;
+      if (rowStart < 0) return -1;
+      if (table.getLong(slotPos) == hash && keyEquals(rowStart, key)) return rowStart;
+    }
+  }
+
+  /**
+   * 查找数据行(整数键;不创建对象)
+   *
+   * @param key 键
+   * @return 数据行在CSV文件中的位置(不存在 -> -1)
+   */
+  public long find(final long key) {
+    StringBuilder sb = LONG_KEY.get();
+    sb.setLength(0);
+    return find(sb.append(key));
+  }
+
+  /**
+   * 是否包含键
+   *
+   * @param key 键
+   * @return 判断结果
+   */
+  public boolean contains(final CharSequence key) {
+    return find(key) >= 0;
+  }
+
+  /**
+   * 获取数据行
+   *
+   * @param key 键
+   * @return 行数据(不存在 -> null)
+   */
+  public RowModel get(final CharSequence key) {
+    long rowStart = find(key);
+    return rowStart < 0 ? null : getRow(rowStart);
+  }
+
+  /**
+   * 获取数据行(整数键)
+   *
+   * @param key 键
+   * @return 行数据(不存在 -> null)
+   */
+  public RowModel get(final long key) {
+    long rowStart = find(key);
+    return rowStart < 0 ? null : getRow(rowStart);
+  }
+
+  /**
+   * 获取数据行(解码全部列)
+   *
+   * @param rowStart 数据行在CSV文件中的位置(find的结果)
+   * @return 行数据(按CSV文件的列索引存储)
+   */
+  public RowModel getRow(final long rowStart) {
+    checkOpen();
+    RowModel row = schema.newRow();
+    long start = rowStart;
+    for (int column = 0; column < schema.size() && start >= 0; column++) {
+      long end = cellEnd(start);
+      row.set(column, decodeCell(start, end));
+      start = end < csvSize && csv.get(end) == COLUMN_SEPARATOR ? end + 1 : -1;
+    }
+    return row;
+  }
+
+  /**
+   * 获取单元格(只解码指定列)
+   *
+   * @param rowStart 数据行在CSV文件中的位置(find的结果)
+   * @param column   列名
+   * @return 单元格值(空单元格 -> null)
+   */
+  public String getCell(final long rowStart, final String column) {
+    checkOpen();
+    int columnIndex = schema.indexOf(column);
+    if (columnIndex < 0) throw new YuuException(String.format("CSV[%s]中不存在列[%s]", csvPath, column));
+    long start = cellStart(rowStart, columnIndex);
+    return start < 0 ? null : decodeCell(start, cellEnd(start));
+  }
+
+  /**
+   * 获取数据行的字节数(不包含行分隔符)
+   *
+   * @param rowStart 数据行在CSV文件中的位置(find的结果)
+   * @return 字节数
+   */
+  public long getRowLength(final long rowStart) {
+    checkOpen();
+    return nextRowStart(rowStart) - 1 - rowStart;
+  }
+
+  /**
+   * 关闭查找表
+   * <p>映射的内存在对象被回收时释放(Java 8不能主动解除映射)</p>
+   */
+  @Override
+  public void close() {
+    table = null;
+    csv = null;
+  }
+
+  /**
+   * 插入数据行(生成时;键已存在 -> 覆盖位置)
+   *
+   * @param rowStart 数据行的行首位置
+   * @return 是否为新的键
+   */
+  private boolean insert(final long rowStart) {
+    long keyStart = cellStart(rowStart, keyColumnIndex);
+    if (keyStart < 0) return false;
+    long keyEnd = cellEnd(keyStart);
+    if (keyStart == keyEnd) return false;
+
+    long hash = hashCell(keyStart, keyEnd);
+    for (long slot = hash & slotMask; ; slot = (slot + 1) & slotMask) {
+      long slotPos = HEAD_SIZE + slot * SLOT_SIZE;
+      long stored = table.getLong(slotPos + 8) - 1;
+      if (stored < 0) {
+        table.putLong(slotPos, hash);
+        table.putLong(slotPos + 8, rowStart + 1);
+        return true;
+      }
+      if (table.getLong(slotPos) == hash && rawEquals(stored, keyStart, keyEnd)) {
+        table.putLong(slotPos + 8, rowStart + 1);
+        return false;
+      }
+    }
+  }
+
+  /**
+   * 已插入行的键列与指定字节范围是否相同(按转义后的字节比较)
+   *
+   * @param rowStart 已插入行的行首位置
+   * @param keyStart 键的开始位置
+   * @param keyEnd   键的结束位置(不包含)
+   * @return 判断结果
+   */
+  private boolean rawEquals(final long rowStart, final long keyStart, final long keyEnd) {
+    long start = cellStart(rowStart, keyColumnIndex);
+    if (cellEnd(start) - start != keyEnd - keyStart) return false;
+    for (long i = 0; i < keyEnd - keyStart; i++) {
+      if (csv.get(start + i) != csv.get(keyStart + i)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * 数据行的键列与键是否相同
+   *
+   * @param rowStart 数据行的行首位置
+   * @param key      键
+   * @return 判断结果
+   */
+  private boolean keyEquals(final long rowStart, final CharSequence key) {
+    long start = cellStart(rowStart, keyColumnIndex);
+    long end = cellEnd(start);
+    // 转义的键(少见) -> 解码后比较
+    if (isEscaped(start, end)) return decodeCell(start, end).contentEquals(key);
+    int i = 0;
+    for (long pos = start; pos < end; ) {
+      int codePoint = codePointAt(pos);
+      if (i >= key.length() || Character.codePointAt(key, i) != codePoint) return false;
+      i += Character.charCount(codePoint);
+      pos += utf8Length(codePoint);
+    }
+    return i == key.length();
+  }
+
+  /**
+   * 键列的哈希(与hash(CharSequence)的结果相同)
+   *
+   * @param start 开始位置
+   * @param end   结束位置(不包含)
+   * @return 哈希
+   */
+  private long hashCell(final long start, final long end) {
+    if (isEscaped(start, end)) return hash(decodeCell(start, end));
+    long h = 0xCBF29CE484222325L;
+    for (long pos = start; pos < end; ) {
+      int codePoint = codePointAt(pos);
+      h = (h ^ codePoint) * 0x100000001B3L;
+      pos += utf8Length(codePoint);
+    }
+    return mix(h);
+  }
+
+  /**
+   * 键的哈希(按Unicode码点的FNV-1a,再经过fmix64混合)
+   *
+   * @param key 键
+   * @return 哈希
+   */
+  private static long hash(final CharSequence key) {
+    long h = 0xCBF29CE484222325L;
+    for (int i = 0; i < key.length(); ) {
+      int codePoint = Character.codePointAt(key, i);
+      h = (h ^ codePoint) * 0x100000001B3L;
+      i += Character.charCount(codePoint);
+    }
+    return mix(h);
+  }
+
+  private static long mix(final long hash) {
+    long h = hash;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB93FE53FE34FL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * 解码单元格(与CsvReader相同)
+   *
+   * @param start 开始位置
+   * @param end   结束位置(不包含)
+   * @return 单元格值(空单元格 -> null)
+   */
+  private String decodeCell(final long start, final long end) {
+    if (start == end) return null;
+    byte[] bytes = new byte[(int) (end - start)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = csv.get(start + i);
+    }
+    return CsvReader.decode(bytes, 0, bytes.length);
+  }
+
+  /**
+   * 单元格是否包含转义字符
+   *
+   * @param start 开始位置
+   * @param end   结束位置(不包含)
+   * @return 判断结果
+   */
+  private boolean isEscaped(final long start, final long end) {
+    for (long pos = start; pos < end; pos++) {
+      if (csv.get(pos) == '\\') return true;
+    }
+    return false;
+  }
+
+  /**
+   * 指定位置的Unicode码点(UTF-8解码)
+   *
+   * @param pos 位置
+   * @return 码点
+   */
+  private int codePointAt(final long pos) {
+    int b = csv.get(pos) & 0xFF;
+    if (b < 0x80) return b;
+    if (b < 0xE0) return ((b & 0x1F) << 6) | (csv.get(pos + 1) & 0x3F);
+    if (b < 0xF0) return ((b & 0x0F) << 12) | ((csv.get(pos + 1) & 0x3F) << 6) | (csv.get(pos + 2) & 0x3F);
+    return ((b & 0x07) << 18) | ((csv.get(pos + 1) & 0x3F) << 12) | ((csv.get(pos + 2) & 0x3F) << 6) | (csv.get(pos + 3) & 0x3F);
+  }
+
+  private static int utf8Length(final int codePoint) {
+    return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+  }
+
+  /**
+   * 单元格的开始位置
+   *
+   * @param rowStart    数据行的行首位置
+   * @param columnIndex 列索引
+   * @return 开始位置(列数不足 -> -1)
+   */
+  private long cellStart(final long rowStart, final int columnIndex) {
+    long pos = rowStart;
+    for (int column = 0; column < columnIndex; column++) {
+      pos = cellEnd(pos);
+      if (pos >= csvSize || csv.get(pos) != COLUMN_SEPARATOR) return -1;
+      pos++;
+    }
+    return pos;
+  }
+
+  /**
+   * 单元格的结束位置(列分隔符/行分隔符/文件结束)
+   *
+   * @param start 开始位置
+   * @return 结束位置(不包含)
+   */
+  private long cellEnd(final long start) {
+    long pos = start;
+    while (pos < csvSize) {
+      byte b = csv.get(pos);
+      if (b == COLUMN_SEPARATOR || b == LINE_SEPARATOR) break;
+      pos++;
+    }
+    return pos;
+  }
+
+  /**
+   * 下一行的行首位置
+   *
+   * @param rowStart 数据行的行首位置
+   * @return 行首位置(最后一行 -> CSV文件大小+1)
+   */
+  private long nextRowStart(final long rowStart) {
+    long pos = rowStart;
+    while (pos < csvSize && csv.get(pos) != LINE_SEPARATOR) pos++;
+    return pos + 1;
+  }
+
+  private void checkOpen() {
+    if (table == null) throw new YuuException(String.format("CSV[%s]的查找表已关闭", csvPath));
+  }
+
+  /**
+   * 读取CSV的数据结构并校验键列
+   *
+   * @param csvPath   CSV文件路径
+   * @param keyColumn 键列名
+   * @return 数据结构
+   */
+  private static SchemaModel readSchema(final String csvPath, final String keyColumn) {
+    SchemaModel schema;
+    try (CsvReader reader = new CsvReader(csvPath, null)) {
+      schema = reader.getFileSchema();
+    }
+    if (schema.indexOf(keyColumn) < 0) throw new YuuException(String.format("CSV[%s]中不存在列[%s]", csvPath, keyColumn));
+    return schema;
+  }
+
+  /**
+   * 统计行数(按行分隔符计数;最后一行没有行分隔符时也计数)
+   *
+   * @param csv   CSV文件
+   * @param start 开始位置
+   * @param end   结束位置
+   * @return 行数
+   */
+  private static long countLines(final MappedBytes csv, final long start, final long end) {
+    long lineCnt = 0;
+    for (long pos = start; pos < end; pos++) {
+      if (csv.get(pos) == LINE_SEPARATOR) lineCnt++;
+    }
+    return end > start && csv.get(end - 1) != LINE_SEPARATOR ? lineCnt + 1 : lineCnt;
+  }
+
+  /**
+   * 槽数(2的幂,负载率不超过LOAD_FACTOR)
+   *
+   * @param rowCnt 数据行数
+   * @return 槽数
+   */
+  private static long tableLength(final long rowCnt) {
+    long length = Long.highestOneBit((long) Math.ceil(Math.max(rowCnt, 1) / LOAD_FACTOR)) << 1;
+    return Math.max(16, length);
+  }
+
+  /**
+   * 分段的内存映射(超过2GB的文件)
+   */
+  private static class MappedBytes {
+    // 分段大小
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    // 分段内位置的掩码
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // 分段
+    private final MappedByteBuffer[] chunks;
+
+    private MappedBytes(final MappedByteBuffer[] chunks) {
+      this.chunks = chunks;
+    }
+
+    private static MappedBytes map(final FileChannel channel, final FileChannel.MapMode mode, final long size) throws IOException {
+      MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+      for (int i = 0; i < chunks.length; i++) {
+        long start = (long) i << CHUNK_BITS;
+        chunks[i] = channel.map(mode, start, Math.min(CHUNK_SIZE, size - start));
+      }
+      return new MappedBytes(chunks);
+    }
+
+    private byte get(final long pos) {
+      return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & CHUNK_MASK));
+    }
+
+    // 以下读写的位置按8字节对齐,不跨分段
+    private long getLong(final long pos) {
+      return chunks[(int) (pos >>> CHUNK_BITS)].getLong((int) (pos & CHUNK_MASK));
+    }
+
+    private void putLong(final long pos, final long value) {
+      chunks[(int) (pos >>> CHUNK_BITS)].putLong((int) (pos & CHUNK_MASK), value);
+    }
+
+    private void putInt(final long pos, final int value) {
+      chunks[(int) (pos >>> CHUNK_BITS)].putInt((int) (pos & CHUNK_MASK), value);
+    }
+
+    private void force() {
+      for (MappedByteBuffer chunk : chunks) {
+        chunk.force();
+      }
+    }
+  }
+
+}
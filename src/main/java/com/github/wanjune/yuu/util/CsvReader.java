@@ -0,0 +1,334 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * CSV读取器
+ * <p>读取CsvWriter/data2Csv写入的CSV文件(首行为标题行,列分隔符[\001],行分隔符[\n])</p>
+ * <p>逐行读取(不加载整个文件),只解码需要的列(列投影),行数据对象在每次迭代时复用</p>
+ * <p>单元格按JSON规则反转义(嵌套的Map/List -> JSON字符串);空单元格 -> null</p>
+ * <p>CSV文件路径的扩展名为[gz](例:data.csv.gz) -> 读取时GZIP解压(只能从头读取全部数据行,不支持指定字节范围)</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class CsvReader implements Iterator<RowModel>, Closeable {
+
+  // 读取缓存大小(1MB,单行超过时自动扩容)
+  private static final int BUF_SIZE = 1 << 20;
+
+  // CSV文件路径
+  @Getter
+  private final String csvPath;
+  // CSV文件的数据结构(标题行)
+  @Getter
+  private final SchemaModel fileSchema;
+  // 读取的数据结构(投影的列)
+  @Getter
+  private final SchemaModel schema;
+  // 已读取数据行数
+  @Getter
+  private long rowCount;
+
+  // 文件列索引 -> 投影列索引(不读取 -> -1)
+  private final int[] projection;
+  // 最后一个投影列的文件列索引(之后的列不再解析)
+  private final int lastColumn;
+  // 行数据(复用)
+  private final RowModel row;
+  // 文件输入流
+  private final InputStream inputStream;
+  // 剩余可读取的字节数(读取范围的结束位置)
+  private long remaining;
+  // 读取缓存
+  private byte[] buf = new byte[BUF_SIZE];
+  private int pos;
+  private int limit;
+  private boolean eof;
+  // 读取缓存头部在文件中的位置
+  private long bufOffset;
+  // 当前行的范围[lineStart, lineEnd)
+  private int lineStart;
+  private int lineEnd;
+  // 是否已预读下一行
+  private boolean ready;
+
+  /**
+   * 打开CSV读取器
+   *
+   * @param csvPath    CSV文件路径
+   * @param columnList 读取的列名列表(null -> 全部列)
+   */
+  public CsvReader(final String csvPath, final List<String> columnList) {
+    this(csvPath, null, columnList, 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * 打开CSV读取器(读取指定字节范围内的数据行)
+   *
+   * @param csvPath    CSV文件路径
+   * @param fileSchema CSV文件的数据结构(null -> 从start位置读取标题行)
+   * @param columnList 读取的列名列表(null -> 全部列)
+   * @param start      开始位置(行首;GZIP压缩文件只能为0)
+   * @param end        结束位置(行首,不包含;GZIP压缩文件只能为Long.MAX_VALUE)
+   */
+  CsvReader(final String csvPath, final SchemaModel fileSchema, final List<String> columnList, final long start, final long end) {
+    this.csvPath = csvPath;
+    try {
+      if (FileUtil.isGzip(csvPath)) {
+        if (start > 0 || end != Long.MAX_VALUE) throw new YuuException("GZIP压缩文件不支持读取指定字节范围");
+        this.inputStream = FileUtil.newInputStream(csvPath);
+      } else {
+        FileInputStream fileInputStream = new FileInputStream(csvPath);
+        this.inputStream = fileInputStream;
+        if (start > 0) fileInputStream.getChannel().position(start);
+      }
+      this.bufOffset = start;
+      this.remaining = end - start;
+      // 标题行 -> CSV文件的数据结构
+      this.fileSchema = fileSchema != null ? fileSchema : new SchemaModel(nextLine() ? splitLine() : new ArrayList<>());
+    } catch (Exception ex) {
+      close();
+      throw new YuuException(String.format("打开CSV[%s]失败", csvPath), ex);
+    }
+
+    // 投影的列
+    this.schema = columnList == null ? this.fileSchema : new SchemaModel(columnList);
+    this.projection = new int[this.fileSchema.size()];
+    Arrays.fill(projection, -1);
+    int last = -1;
+    for (int i = 0; i < schema.size(); i++) {
+      int fileIndex = this.fileSchema.indexOf(schema.getColumn(i));
+      if (fileIndex < 0) {
+        close();
+        throw new YuuException(String.format("CSV[%s]中不存在列[%s]", csvPath, schema.getColumn(i)));
+      }
+      projection[fileIndex] = i;
+      last = Math.max(last, fileIndex);
+    }
+    this.lastColumn = last;
+    this.row = schema.newRow();
+  }
+
+  /**
+   * 是否还有数据行
+   *
+   * @return 判断结果
+   */
+  @Override
+  public boolean hasNext() {
+    try {
+      if (!ready) ready = nextLine();
+      return ready;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 读取下一行数据
+   * <p>返回的行数据对象在下一次调用时会被覆盖,需要保留时请使用RowModel.copy()</p>
+   *
+   * @return 行数据(按投影的列索引存储)
+   */
+  @Override
+  public RowModel next() {
+    if (!hasNext()) throw new NoSuchElementException();
+    ready = false;
+    parseLine();
+    rowCount++;
+    return row;
+  }
+
+  /**
+   * 跳过下一行数据(不解析)
+   *
+   * @return 是否已跳过(没有数据行 -> false)
+   */
+  boolean skip() {
+    if (!hasNext()) return false;
+    ready = false;
+    return true;
+  }
+
+  /**
+   * 获取下一个未读取的数据行在文件中的位置
+   *
+   * @return 文件位置(字节)
+   */
+  public long getOffset() {
+    return bufOffset + pos;
+  }
+
+  /**
+   * 关闭CSV读取器
+   */
+  @Override
+  public void close() {
+    try {
+      if (inputStream != null) inputStream.close();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("关闭CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 解析当前行至行数据(只解码投影的列)
+   */
+  private void parseLine() {
+    row.clear();
+    int column = 0;
+    int start = lineStart;
+    for (int i = lineStart; i <= lineEnd && column <= lastColumn; i++) {
+      if (i == lineEnd || buf[i] == CsvUtil.COLUMN_SEPARATOR) {
+        if (column < projection.length && projection[column] >= 0) row.set(projection[column], decode(buf, start, i));
+        column++;
+        start = i + 1;
+      }
+    }
+  }
+
+  /**
+   * 拆分当前行(标题行)
+   *
+   * @return 列值列表
+   */
+  private List<String> splitLine() {
+    List<String> valueList = new ArrayList<>();
+    int start = lineStart;
+    for (int i = lineStart; i <= lineEnd; i++) {
+      if (i == lineEnd || buf[i] == CsvUtil.COLUMN_SEPARATOR) {
+        valueList.add(new String(buf, start, i - start, StandardCharsets.UTF_8));
+        start = i + 1;
+      }
+    }
+    return valueList;
+  }
+
+  /**
+   * 解码单元格
+   *
+   * @param buf   字节数组
+   * @param start 开始位置
+   * @param end   结束位置(不包含)
+   * @return 单元格值
+   */
+  static String decode(final byte[] buf, final int start, final int end) {
+    if (start == end) return null;
+    String value = new String(buf, start, end - start, StandardCharsets.UTF_8);
+    for (int i = start; i < end; i++) {
+      if (buf[i] == '\\') return unescape(value);
+    }
+    return value;
+  }
+
+  /**
+   * 字符串反转义(JSON规则)
+   *
+   * @param value 转义的字符串
+   * @return 原字符串
+   */
+  private static String unescape(final String value) {
+    StringBuilder sb = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != '\\' || i + 1 == value.length()) {
+        sb.append(c);
+        continue;
+      }
+      char e = value.charAt(++i);
+      switch (e) {
+        case 'b':
+          sb.append('\b');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 'u':
+          if (i + 4 < value.length()) {
+            sb.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+            i += 4;
+          } else {
+            sb.append('\\').append(e);
+          }
+          break;
+        default:
+          sb.append(e);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 定位下一行
+   *
+   * @return 是否存在下一行
+   */
+  private boolean nextLine() throws IOException {
+    int scan = pos;
+    while (true) {
+      for (int i = scan; i < limit; i++) {
+        if (buf[i] == CsvUtil.LINE_SEPARATOR.charAt(0)) {
+          lineStart = pos;
+          lineEnd = i;
+          pos = i + 1;
+          return true;
+        }
+      }
+      // 文件结束(最后一行没有行分隔符)
+      if (eof) {
+        if (pos == limit) return false;
+        lineStart = pos;
+        lineEnd = limit;
+        pos = limit;
+        return true;
+      }
+      scan = limit - pos;
+      fill();
+    }
+  }
+
+  /**
+   * 读取文件至缓存(未处理的数据移至缓存头部,单行超过缓存大小时扩容)
+   */
+  private void fill() throws IOException {
+    if (pos > 0) {
+      System.arraycopy(buf, pos, buf, 0, limit - pos);
+      bufOffset += pos;
+      limit -= pos;
+      pos = 0;
+    }
+    if (limit == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+    int len = remaining <= 0 ? -1 : inputStream.read(buf, limit, (int) Math.min(buf.length - limit, remaining));
+    if (len < 0) {
+      eof = true;
+    } else {
+      limit += len;
+      remaining -= len;
+    }
+  }
+
+}
@@ -1,22 +1,32 @@
 package com.github.wanjune.yuu.util;
 
 import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
 import com.alibaba.excel.context.AnalysisContext;
 import com.alibaba.excel.read.listener.ReadListener;
-import com.alibaba.excel.util.ListUtils;
-import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.alibaba.excel.read.metadata.ReadSheet;
 import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.ExcelResultModel;
+import com.github.wanjune.yuu.model.ExcelSheetModel;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * CSV工具类
@@ -28,11 +38,22 @@ import java.util.Map;
 public class CsvUtil {
 
   // 行分隔符
-  private static final String LINE_SEPARATOR = "\n";
+  static final String LINE_SEPARATOR = "\n";
   // 列分隔符
-  private static final char COLUMN_SEPARATOR = '\001';
+  static final char COLUMN_SEPARATOR = '\001';
   // 元素分隔符
-  private static final String ELEMENT_SEPARATOR = Character.toString('\002');
+  static final String ELEMENT_SEPARATOR = Character.toString('\002');
+
+  // 并行读取:每个分片的最小字节数(4MB)
+  private static final long PARALLEL_MIN_CHUNK_SIZE = 4L << 20;
+  // 并行读取:每个线程对应的分片数(均衡各线程负载)
+  private static final int PARALLEL_CHUNKS_PER_THREAD = 4;
+  // 并行读取:每批次传递给处理方的数据行数
+  private static final int PARALLEL_BATCH_ROW_CNT = 1024;
+  // 并行读取:每个分片待处理的最大批次数(背压)
+  private static final int PARALLEL_QUEUE_BATCH_CNT = 4;
+  // 流水线:队列已满时检查写入线程状态的间隔(毫秒)
+  private static final long PIPELINE_OFFER_TIMEOUT_MILLIS = 100L;
 
   /**
    * 数据存储至CSV
@@ -47,27 +68,93 @@ public class CsvUtil {
                               final List<String> csvColumnList,
                               final List<Map<String, Object>> dataList,
                               final List<String> unicodeColumnList) {
-    // CSV文件
-    File csvFile = FileUtil.create(csvPath);
-    boolean isCsvExists = csvFile.exists();
+    // CSV写入器(写入完成后关闭文件)
+    try (CsvWriter csvWriter = new CsvWriter(csvPath, csvColumnList, unicodeColumnList)) {
+      // 保存数据到文件中
+      csvWriter.write(dataList);
 
-    try {
-      // CSV对象
-      CsvSchema csvSchema = CsvSchema.builder().addColumns(csvColumnList, CsvSchema.ColumnType.STRING)
-          .build()
-          .withoutQuoteChar()
-          .withUseHeader(!isCsvExists)
-          .withLineSeparator(LINE_SEPARATOR)
-          .withColumnSeparator(COLUMN_SEPARATOR)
-          .withArrayElementSeparator(ELEMENT_SEPARATOR);
+      log.info(String.format("数据存储至CSV(%s)[%s]成功", !csvWriter.isAppend() ? "创建" : "追加", csvPath));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据存储至CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 行数据存储至CSV
+   * <p>CSV文件已存在 -> 追加;CSV文件不存在 -> 创建</p>
+   *
+   * @param csvPath           CSV文件存储路径
+   * @param schema            CSV数据结构
+   * @param rowList           行数据列表(按数据结构的列索引存储)
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public static void data2Csv(final String csvPath,
+                              final SchemaModel schema,
+                              final List<RowModel> rowList,
+                              final List<String> unicodeColumnList) {
+    // CSV写入器(写入完成后关闭文件)
+    try (CsvWriter csvWriter = new CsvWriter(csvPath, schema, unicodeColumnList)) {
+      // 保存数据到文件中
+      csvWriter.writeRows(rowList);
+
+      log.info(String.format("数据存储至CSV(%s)[%s]成功", !csvWriter.isAppend() ? "创建" : "追加", csvPath));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据存储至CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 行数据存储至CSV(同时生成行位置索引)
+   * <p>CSV文件已存在 -> 追加(索引同时追加);CSV文件不存在 -> 创建</p>
+   *
+   * @param csvPath           CSV文件存储路径(GZIP压缩文件不支持索引)
+   * @param schema            CSV数据结构
+   * @param rowList           行数据列表(按数据结构的列索引存储)
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param indexInterval     索引间隔(每隔多少数据行记录一次位置)
+   */
+  public static void data2Csv(final String csvPath,
+                              final SchemaModel schema,
+                              final List<RowModel> rowList,
+                              final List<String> unicodeColumnList,
+                              final int indexInterval) {
+    // CSV写入器(写入完成后关闭文件和索引)
+    try (CsvWriter csvWriter = new CsvWriter(csvPath, schema, unicodeColumnList, null, indexInterval)) {
+      // 保存数据到文件中
+      csvWriter.writeRows(rowList);
 
+      log.info(String.format("数据存储至CSV(%s)[%s]成功(索引间隔:%s)", !csvWriter.isAppend() ? "创建" : "追加", csvPath, indexInterval));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据存储至CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 数据保存至CSV(按键列去重)
+   * <p>CSV文件已存在 -> 追加;CSV文件不存在 -> 创建</p>
+   * <p>去重器由调用方创建和关闭,多次调用共用同一去重器时,跨批次去重(例:Kafka/SFTP数据重放)</p>
+   *
+   * @param csvPath           CSV文件存储路径
+   * @param csvColumnList     CSV列名列表
+   * @param dataList          数据列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param deduplicator      去重器
+   * @return 丢弃的重复数据行数
+   */
+  public static long data2Csv(final String csvPath,
+                              final List<String> csvColumnList,
+                              final List<Map<String, Object>> dataList,
+                              final List<String> unicodeColumnList,
+                              final RowDeduplicator deduplicator) {
+    long droppedCount = deduplicator.getDroppedCount();
+    // CSV写入器(写入完成后关闭文件)
+    try (CsvWriter csvWriter = new CsvWriter(csvPath, new SchemaModel(csvColumnList), unicodeColumnList, deduplicator)) {
       // 保存数据到文件中
-      new CsvMapper().configure(CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS, false)
-          .writerFor(JsonUtil.TYPE_REF_LIST_MAP)
-          .with(csvSchema)
-          .writeValue(new FileOutputStream(csvFile, isCsvExists), getCsvDataList(csvColumnList, dataList, unicodeColumnList));
+      csvWriter.write(dataList);
 
-      log.info(String.format("数据存储至CSV(%s)[%s]成功", !isCsvExists ? "创建" : "追加", csvPath));
+      droppedCount = csvWriter.getDroppedCount() - droppedCount;
+      log.info(String.format("数据存储至CSV(%s)[%s]成功(写入行数:%s,重复行数:%s)", !csvWriter.isAppend() ? "创建" : "追加", csvPath, csvWriter.getRowCount(), droppedCount));
+      return droppedCount;
     } catch (Exception ex) {
       throw new YuuException(String.format("数据存储至CSV[%s]失败", csvPath), ex);
     }
@@ -82,7 +169,7 @@ public class CsvUtil {
    * @param sheetName         EXCEL的SHEET名称[不设置时需要设置为null,与sheetNo二选一]
    * @param headRowNo         EXCEL的标题行号(标题行之后,开始读取数据)
    * @param cellAutoTrim      EXCEL的单元格数据是否去除前后空格
-   * @param batchRowCnt       EXCEL读取时每批量处理数据行数(影响系统资源-内存)
+   * @param batchRowCnt       EXCEL读取时每批量刷新至CSV文件的数据行数
    * @param csvPath           CSV文件存储路径
    * @param csvColumnList     CSV列名列表
    * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
@@ -97,93 +184,682 @@ public class CsvUtil {
                                final List<String> csvColumnList,
                                final List<String> unicodeColumnList) {
 
-    // CSV文件是否已经存在
-    boolean isCsvExists = FileUtil.isExists(csvPath);
-
-    try {
+    // CSV写入器(整个EXCEL读取期间只打开一次,读取完成后关闭文件)
+    try (CsvWriter csvWriter = new CsvWriter(csvPath, csvColumnList, unicodeColumnList)) {
       // 读取EXCEL数据并保存至CSV
-      EasyExcel.read(excelPath, new ReadListener<Map<Integer, String>>() {
-        // EXCEL临时数据缓存
-        private List<Map<String, Object>> cacheRowDataList = ListUtils.newArrayListWithExpectedSize(batchRowCnt);
-
-        @SneakyThrows
-        @Override
-        public void invoke(Map<Integer, String> rowDataMap, AnalysisContext context) {
-          // 每行解析的数据(按照索引[0~]对应列的Map类型) -> 按照自定义格式转换并存储至EXCEL临时数据缓存
-          cacheRowDataList.add(getRowData(csvColumnList, rowDataMap));
-          // 如果EXCEL临时数据缓存已满 -> EXCEL临时数据缓存 存储至CSV并清空
-          if (cacheRowDataList.size() >= batchRowCnt) {
-            data2Csv(csvPath, csvColumnList, cacheRowDataList, unicodeColumnList);
-            cacheRowDataList = ListUtils.newArrayListWithExpectedSize(batchRowCnt);
+      excel2Data(excelPath, sheetNo, sheetName, headRowNo, cellAutoTrim, batchRowCnt, csvWriter);
+
+      log.info(String.format("EXCEL[%s]数据保存至CSV(%s)[%s]成功", excelPath, !csvWriter.isAppend() ? "创建" : "追加", csvPath));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("EXCEL[%s]数据保存至CSV[%s]失败", excelPath, csvPath), ex);
+    }
+  }
+
+  /**
+   * EXCEL数据写入行数据写入器(输出格式由写入器决定:CSV/滚动CSV/EXCEL/Parquet)
+   * <p>写入器由调用方打开和关闭</p>
+   *
+   * @param excelPath    EXCEL文件路径
+   * @param sheetNo      EXCEL的SHEET序号(0开始)[不设置时需要设置为null,与sheetName二选一]
+   * @param sheetName    EXCEL的SHEET名称[不设置时需要设置为null,与sheetNo二选一]
+   * @param headRowNo    EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt  EXCEL读取时每批量刷新写入器的数据行数(小于1 -> 每行刷新)
+   * @param rowWriter    行数据写入器
+   * @return 写入的数据行数
+   */
+  public static long excel2Data(final String excelPath,
+                                final Integer sheetNo,
+                                final String sheetName,
+                                final Integer headRowNo,
+                                final boolean cellAutoTrim,
+                                final int batchRowCnt,
+                                final RowWriter rowWriter) {
+    // 数据结构
+    SchemaModel schema = rowWriter.getSchema();
+    int flushRowCnt = Math.max(1, batchRowCnt);
+    long[] rowCount = {0};
+
+    EasyExcel.read(excelPath, new ReadListener<Map<Integer, String>>() {
+      // 行数据(写入后复用)
+      private final RowModel row = schema.newRow();
+
+      @SneakyThrows
+      @Override
+      public void invoke(Map<Integer, String> rowDataMap, AnalysisContext context) {
+        // 每行解析的数据(按照索引[0~]对应列的Map类型) -> 按照列索引转换为行数据并写入
+        rowWriter.write(fillRow(row, rowDataMap));
+        // 每批量处理数据行数 -> 刷新写入器
+        if (++rowCount[0] % flushRowCnt == 0) rowWriter.flush();
+      }
+
+      @SneakyThrows
+      @Override
+      public void doAfterAllAnalysed(AnalysisContext context) {
+        // 所有行解析完成后 -> 刷新写入器
+        rowWriter.flush();
+      }
+    }).sheet(sheetNo, sheetName).autoTrim(cellAutoTrim).headRowNumber(headRowNo).useScientificFormat(false).doRead();
+    return rowCount[0];
+  }
+
+  /**
+   * EXCEL数据保存至CSV(流水线:解析与写入并行)
+   * <p>CSV文件已存在 -> 追加;CSV文件不存在 -> 创建</p>
+   * <p>EXCEL解析线程每解析[batchRowCnt]行,放入有界队列;独立的写入线程从队列取出并写入CSV</p>
+   * <p>解析与磁盘写入重叠执行,耗时接近 max(解析, 写入);缓存的数据行数上限约为 (queueDepth + 2) × batchRowCnt</p>
+   *
+   * @param excelPath         EXCEL文件路径
+   * @param sheetNo           EXCEL的SHEET序号(0开始)[不设置时需要设置为null,与sheetName二选一]
+   * @param sheetName         EXCEL的SHEET名称[不设置时需要设置为null,与sheetNo二选一]
+   * @param headRowNo         EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim      EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt       EXCEL读取时每批量交给写入线程的数据行数(小于1 -> 每行交给写入线程)
+   * @param csvPath           CSV文件存储路径
+   * @param csvColumnList     CSV列名列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param queueDepth        队列中等待写入的最大批次数(小于1 -> 不使用流水线)
+   */
+  public static void excel2Csv(final String excelPath,
+                               final Integer sheetNo,
+                               final String sheetName,
+                               final Integer headRowNo,
+                               final boolean cellAutoTrim,
+                               final int batchRowCnt,
+                               final String csvPath,
+                               final List<String> csvColumnList,
+                               final List<String> unicodeColumnList,
+                               final int queueDepth) {
+    if (queueDepth < 1) {
+      excel2Csv(excelPath, sheetNo, sheetName, headRowNo, cellAutoTrim, batchRowCnt, csvPath, csvColumnList, unicodeColumnList);
+      return;
+    }
+    int handOffRowCnt = Math.max(1, batchRowCnt);
+
+    // CSV写入器(整个EXCEL读取期间只打开一次,读取完成后关闭文件)
+    try (CsvWriter csvWriter = new CsvWriter(csvPath, csvColumnList, unicodeColumnList)) {
+      // CSV数据结构
+      SchemaModel schema = csvWriter.getSchema();
+      // 待写入的批次队列(空批次 -> 结束标记)
+      BlockingQueue<List<RowModel>> queue = new ArrayBlockingQueue<>(queueDepth);
+      // 写入线程的异常
+      AtomicReference<Throwable> writeError = new AtomicReference<>();
+
+      // 写入线程
+      Thread writeThread = new Thread(() -> {
+        try {
+          List<RowModel> rowList;
+          while (!(rowList = queue.take()).isEmpty()) {
+            csvWriter.writeRows(rowList);
           }
+        } catch (Throwable ex) {
+          writeError.set(ex);
+          // 释放队列,避免解析线程等待
+          queue.clear();
         }
+      }, "yuu-excel2csv-writer");
+      writeThread.setDaemon(true);
+      writeThread.start();
 
-        @SneakyThrows
-        @Override
-        public void doAfterAllAnalysed(AnalysisContext context) {
-          // 所有行解析完成后,如EXCEL临时数据缓存不为空 -> 存储至CSV
-          if (ListUtil.notEmpty(cacheRowDataList)) data2Csv(csvPath, csvColumnList, cacheRowDataList, unicodeColumnList);
-        }
+      try {
+        // 读取EXCEL数据并交给写入线程
+        EasyExcel.read(excelPath, new ReadListener<Map<Integer, String>>() {
+          // EXCEL临时数据缓存
+          private List<RowModel> cacheRowList = new ArrayList<>(handOffRowCnt);
 
-        // 自定义格式转换
-        private Map<String, Object> getRowData(List<String> columnList, Map<Integer, String> rowDataMap) {
-          Map<String, Object> rowData = new HashMap<>();
-          for (int i = 0; i < columnList.size(); i++) {
-            rowData.put(columnList.get(i), rowDataMap.get(i));
+          @SneakyThrows
+          @Override
+          public void invoke(Map<Integer, String> rowDataMap, AnalysisContext context) {
+            // 每行解析的数据(按照索引[0~]对应列的Map类型) -> 按照列索引转换为行数据并存储至EXCEL临时数据缓存
+            cacheRowList.add(fillRow(schema.newRow(), rowDataMap));
+            // 如果EXCEL临时数据缓存已满 -> 交给写入线程
+            if (cacheRowList.size() >= handOffRowCnt) {
+              handOff(queue, cacheRowList, writeError);
+              cacheRowList = new ArrayList<>(handOffRowCnt);
+            }
           }
-          return rowData;
+
+          @SneakyThrows
+          @Override
+          public void doAfterAllAnalysed(AnalysisContext context) {
+            // 所有行解析完成后,如EXCEL临时数据缓存不为空 -> 交给写入线程
+            if (ListUtil.notEmpty(cacheRowList)) handOff(queue, cacheRowList, writeError);
+          }
+        }).sheet(sheetNo, sheetName).autoTrim(cellAutoTrim).headRowNumber(headRowNo).useScientificFormat(false).doRead();
+
+        // 结束标记 -> 等待写入线程完成
+        handOff(queue, new ArrayList<>(), writeError);
+        writeThread.join();
+      } finally {
+        // 解析失败 -> 停止写入线程
+        if (writeThread.isAlive()) {
+          writeThread.interrupt();
+          writeThread.join();
         }
-      }).sheet(sheetNo, sheetName).autoTrim(cellAutoTrim).headRowNumber(headRowNo).useScientificFormat(false).doRead();
+      }
+      if (writeError.get() != null) throw writeError.get();
 
-      log.info(String.format("EXCEL[%s]数据保存至CSV(%s)[%s]成功", excelPath, !isCsvExists ? "创建" : "追加", csvPath));
-    } catch (Exception ex) {
+      log.info(String.format("EXCEL[%s]数据保存至CSV(%s)[%s]成功(流水线)", excelPath, !csvWriter.isAppend() ? "创建" : "追加", csvPath));
+    } catch (Throwable ex) {
       throw new YuuException(String.format("EXCEL[%s]数据保存至CSV[%s]失败", excelPath, csvPath), ex);
     }
   }
 
   /**
-   * 获取CSV的存储数据列表
+   * 批次交给写入线程(队列已满时等待;写入线程异常时停止)
+   *
+   * @param queue      待写入的批次队列
+   * @param rowList    批次数据
+   * @param writeError 写入线程的异常
+   */
+  private static void handOff(final BlockingQueue<List<RowModel>> queue,
+                              final List<RowModel> rowList,
+                              final AtomicReference<Throwable> writeError) throws InterruptedException {
+    do {
+      if (writeError.get() != null) throw new YuuException("CSV写入线程异常", writeError.get());
+    } while (!queue.offer(rowList, PIPELINE_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * 获取EXCEL的SHEET列表
+   *
+   * @param excelPath EXCEL文件路径
+   * @return SHEET列表(CSV文件存储路径未设置)
+   */
+  public static List<ExcelSheetModel> listExcelSheets(final String excelPath) {
+    try (ExcelReader excelReader = EasyExcel.read(excelPath).build()) {
+      List<ExcelSheetModel> sheetList = new ArrayList<>();
+      for (ReadSheet readSheet : excelReader.excelExecutor().sheetList()) {
+        sheetList.add(new ExcelSheetModel(excelPath, readSheet.getSheetNo(), readSheet.getSheetName(), null));
+      }
+      return sheetList;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("获取EXCEL[%s]的SHEET列表失败", excelPath), ex);
+    }
+  }
+
+  /**
+   * 批量EXCEL数据保存至CSV(多文件,多SHEET并行转换)
+   * <p>CSV文件已存在 -> 追加;CSV文件不存在 -> 创建</p>
+   * <p>每个SHEET保存至各自的CSV(ExcelSheetModel.csvPath),或者保存至共用的CSV(csvPath,按批次写入)</p>
+   * <p>某个SHEET转换失败时不影响其他SHEET,转换结果中记录异常消息;失败前已写入的批次保留在CSV中,转换结果的数据行数为已写入CSV的行数</p>
    *
+   * @param sheetList         转换对象列表(EXCEL文件 + SHEET)
+   * @param headRowNo         EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim      EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt       EXCEL读取时每批量写入CSV的数据行数(小于1 -> 每行写入)
+   * @param csvPath           共用的CSV文件存储路径(所有SHEET都有各自的CSV时可以为null)
    * @param csvColumnList     CSV列名列表
-   * @param dataList          数据列表
    * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
-   * @return CSV的存储数据列表
+   * @param parallelism       并行数(同时转换的SHEET数)
+   * @return 转换结果列表(与转换对象列表顺序一致)
    */
-  private static List<Map<String, String>> getCsvDataList(final List<String> csvColumnList,
-                                                          final List<Map<String, Object>> dataList,
-                                                          final List<String> unicodeColumnList) {
-    List<Map<String, String>> stdCsvDataList = null;
-    if (ListUtil.notEmpty(dataList) && ListUtil.notEmpty(csvColumnList)) {
-      stdCsvDataList = new ArrayList<>(dataList.size());
-      for (Map<String, Object> data : dataList) {
-        stdCsvDataList.add(getCsvData(csvColumnList, data, unicodeColumnList));
+  public static List<ExcelResultModel> excel2CsvBatch(final List<ExcelSheetModel> sheetList,
+                                                      final Integer headRowNo,
+                                                      final boolean cellAutoTrim,
+                                                      final int batchRowCnt,
+                                                      final String csvPath,
+                                                      final List<String> csvColumnList,
+                                                      final List<String> unicodeColumnList,
+                                                      final int parallelism) {
+    if (ListUtil.isEmpty(sheetList)) return new ArrayList<>();
+
+    // 共用的CSV写入器(存在未设置CSV的SHEET时打开)
+    boolean isShared = sheetList.stream().anyMatch(sheet -> sheet.getCsvPath() == null);
+    if (isShared && csvPath == null) throw new YuuException("存在未设置CSV文件存储路径的SHEET,共用的CSV文件存储路径不能为空");
+    CsvWriter sharedWriter = isShared ? new CsvWriter(csvPath, csvColumnList, unicodeColumnList) : null;
+    try {
+      return excel2DataBatch(sheetList, headRowNo, cellAutoTrim, batchRowCnt, sharedWriter, csvPath, csvColumnList, unicodeColumnList, parallelism);
+    } finally {
+      if (sharedWriter != null) sharedWriter.close();
+    }
+  }
+
+  /**
+   * 批量EXCEL数据写入共用的写入器(多文件,多SHEET并行转换)
+   * <p>设置了CSV文件存储路径(ExcelSheetModel.csvPath)的SHEET保存至各自的CSV,其他SHEET按批次写入共用的写入器(滚动CSV/EXCEL/Parquet等)</p>
+   * <p>某个SHEET转换失败时不影响其他SHEET,转换结果中记录异常消息;失败前已写入的批次保留在写入器中,转换结果的数据行数为已写入的行数</p>
+   *
+   * @param sheetList         转换对象列表(EXCEL文件 + SHEET)
+   * @param headRowNo         EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim      EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt       EXCEL读取时每批量写入的数据行数(小于1 -> 每行写入)
+   * @param sharedWriter      共用的写入器(由调用方关闭;所有SHEET都有各自的CSV时可以为null)
+   * @param csvColumnList     各自的CSV的列名列表
+   * @param unicodeColumnList 各自的CSV中需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param parallelism       并行数(同时转换的SHEET数)
+   * @return 转换结果列表(与转换对象列表顺序一致;写入共用的写入器的SHEET的CSV文件路径为null)
+   */
+  public static List<ExcelResultModel> excel2DataBatch(final List<ExcelSheetModel> sheetList,
+                                                       final Integer headRowNo,
+                                                       final boolean cellAutoTrim,
+                                                       final int batchRowCnt,
+                                                       final RowWriter sharedWriter,
+                                                       final List<String> csvColumnList,
+                                                       final List<String> unicodeColumnList,
+                                                       final int parallelism) {
+    return excel2DataBatch(sheetList, headRowNo, cellAutoTrim, batchRowCnt, sharedWriter, null, csvColumnList, unicodeColumnList, parallelism);
+  }
+
+  /**
+   * 批量EXCEL数据写入共用的写入器(多文件,多SHEET并行转换)
+   *
+   * @param sheetList         转换对象列表(EXCEL文件 + SHEET)
+   * @param headRowNo         EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim      EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt       EXCEL读取时每批量写入的数据行数
+   * @param sharedWriter      共用的写入器
+   * @param sharedPath        共用的写入器的文件路径(记录至转换结果)
+   * @param csvColumnList     各自的CSV的列名列表
+   * @param unicodeColumnList 各自的CSV中需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param parallelism       并行数(同时转换的SHEET数)
+   * @return 转换结果列表(与转换对象列表顺序一致)
+   */
+  private static List<ExcelResultModel> excel2DataBatch(final List<ExcelSheetModel> sheetList,
+                                                        final Integer headRowNo,
+                                                        final boolean cellAutoTrim,
+                                                        final int batchRowCnt,
+                                                        final RowWriter sharedWriter,
+                                                        final String sharedPath,
+                                                        final List<String> csvColumnList,
+                                                        final List<String> unicodeColumnList,
+                                                        final int parallelism) {
+    List<ExcelResultModel> resultList = new ArrayList<>(ListUtil.size(sheetList));
+    if (ListUtil.isEmpty(sheetList)) return resultList;
+    if (sharedWriter == null && sheetList.stream().anyMatch(sheet -> sheet.getCsvPath() == null)) {
+      throw new YuuException("存在未设置CSV文件存储路径的SHEET,共用的写入器不能为空");
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, sheetList.size())));
+    try {
+      List<Future<ExcelResultModel>> futureList = new ArrayList<>(sheetList.size());
+      for (ExcelSheetModel sheet : sheetList) {
+        futureList.add(pool.submit(() -> excel2Csv(sheet, headRowNo, cellAutoTrim, batchRowCnt, csvColumnList, unicodeColumnList, sharedWriter, sharedPath)));
+      }
+      for (Future<ExcelResultModel> future : futureList) {
+        resultList.add(future.get());
       }
+
+      log.info(String.format("批量EXCEL数据保存至CSV完成(SHEET数:%s,失败数:%s,数据行数:%s)", resultList.size(),
+          resultList.stream().filter(result -> !result.isSuccess()).count(), resultList.stream().mapToLong(ExcelResultModel::getRowCount).sum()));
+      return resultList;
+    } catch (Exception ex) {
+      throw new YuuException("批量EXCEL数据保存至CSV失败", ex);
+    } finally {
+      pool.shutdownNow();
     }
-    return stdCsvDataList;
   }
 
   /**
-   * 获取CSV的存储数据
+   * EXCEL的SHEET数据保存至CSV(批量转换的单个SHEET)
    *
+   * @param sheet             转换对象(EXCEL文件 + SHEET)
+   * @param headRowNo         EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim      EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt       EXCEL读取时每批量写入CSV的数据行数
    * @param csvColumnList     CSV列名列表
-   * @param data              数据
    * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
-   * @return CSV的存储数据
-   */
-  private static Map<String, String> getCsvData(final List<String> csvColumnList,
-                                                final Map<String, Object> data,
-                                                final List<String> unicodeColumnList) {
-    Map<String, String> stdCsvData = new HashMap<>(csvColumnList.size());
-    for (String column : csvColumnList) {
-      if (StringUtil.isContains(column, unicodeColumnList, true) && data.get(column) != null) {
-        stdCsvData.put(column, JsonUtil.writeValueAsString(StringUtil.cleanUnicode(data.get(column).toString())));
-      } else if (data.get(column) != null) {
-        stdCsvData.put(column, JsonUtil.writeValueAsString(data.get(column)));
+   * @param sharedWriter      共用的写入器
+   * @param sharedPath        共用的写入器的文件路径
+   * @return 转换结果
+   */
+  private static ExcelResultModel excel2Csv(final ExcelSheetModel sheet,
+                                            final Integer headRowNo,
+                                            final boolean cellAutoTrim,
+                                            final int batchRowCnt,
+                                            final List<String> csvColumnList,
+                                            final List<String> unicodeColumnList,
+                                            final RowWriter sharedWriter,
+                                            final String sharedPath) {
+    ExcelResultModel result = new ExcelResultModel(sheet, sheet.getCsvPath() != null ? sheet.getCsvPath() : sharedPath);
+    long startMillis = TimeUtil.getNowTimeStampMillis();
+    try {
+      // 数据行数按已写入的批次累加(转换失败时与CSV中已写入的行数一致)
+      if (sheet.getCsvPath() != null) {
+        // 各自的CSV
+        try (CsvWriter csvWriter = new CsvWriter(sheet.getCsvPath(), csvColumnList, unicodeColumnList)) {
+          readExcel(sheet, headRowNo, cellAutoTrim, batchRowCnt, csvWriter.getSchema(), rowList -> {
+            csvWriter.writeRows(rowList);
+            result.setRowCount(result.getRowCount() + rowList.size());
+          });
+        }
       } else {
-        stdCsvData.put(column, StringUtil.EMPTY);
+        // 共用的写入器(按批次互斥写入)
+        readExcel(sheet, headRowNo, cellAutoTrim, batchRowCnt, sharedWriter.getSchema(), rowList -> {
+          synchronized (sharedWriter) {
+            sharedWriter.writeRows(rowList);
+          }
+          result.setRowCount(result.getRowCount() + rowList.size());
+        });
+      }
+    } catch (Exception ex) {
+      result.setErrorMessage(ex.getMessage());
+      log.error(String.format("EXCEL[%s]的SHEET[%s]数据保存至CSV[%s]失败", sheet.getExcelPath(), sheet.getSheetName() != null ? sheet.getSheetName() : sheet.getSheetNo(), result.getCsvPath()), ex);
+    }
+    result.setCostMillis(TimeUtil.getNowTimeStampMillis() - startMillis);
+    return result;
+  }
+
+  /**
+   * 按批次读取EXCEL的SHEET数据
+   *
+   * @param sheet        EXCEL文件 + SHEET
+   * @param headRowNo    EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param cellAutoTrim EXCEL的单元格数据是否去除前后空格
+   * @param batchRowCnt  每批量处理的数据行数(小于1 -> 每行处理)
+   * @param schema       数据结构
+   * @param consumer     批量数据处理
+   */
+  private static void readExcel(final ExcelSheetModel sheet,
+                                final Integer headRowNo,
+                                final boolean cellAutoTrim,
+                                final int batchRowCnt,
+                                final SchemaModel schema,
+                                final Consumer<List<RowModel>> consumer) {
+    int consumeRowCnt = Math.max(1, batchRowCnt);
+    EasyExcel.read(sheet.getExcelPath(), new ReadListener<Map<Integer, String>>() {
+      // EXCEL临时数据缓存
+      private final List<RowModel> cacheRowList = new ArrayList<>(consumeRowCnt);
+
+      @Override
+      public void invoke(Map<Integer, String> rowDataMap, AnalysisContext context) {
+        // 每行解析的数据(按照索引[0~]对应列的Map类型) -> 按照列索引转换为行数据并存储至EXCEL临时数据缓存
+        cacheRowList.add(fillRow(schema.newRow(), rowDataMap));
+        // 如果EXCEL临时数据缓存已满 -> 批量处理并清空
+        if (cacheRowList.size() >= consumeRowCnt) {
+          consumer.accept(cacheRowList);
+          cacheRowList.clear();
+        }
+      }
+
+      @Override
+      public void doAfterAllAnalysed(AnalysisContext context) {
+        // 所有行解析完成后,如EXCEL临时数据缓存不为空 -> 批量处理
+        if (ListUtil.notEmpty(cacheRowList)) consumer.accept(cacheRowList);
+      }
+    }).sheet(sheet.getSheetNo(), sheet.getSheetName()).autoTrim(cellAutoTrim).headRowNumber(headRowNo).useScientificFormat(false).doRead();
+  }
+
+  /**
+   * 读取CSV数据
+   * <p>逐行读取并只解码需要的列,行数据对象在每次回调时复用(需要保留时请使用RowModel.copy())</p>
+   *
+   * @param csvPath    CSV文件路径
+   * @param columnList 读取的列名列表(null -> 全部列)
+   * @param consumer   行数据处理
+   * @return 读取的数据行数
+   */
+  public static long csv2Data(final String csvPath,
+                              final List<String> columnList,
+                              final Consumer<RowModel> consumer) {
+    try (CsvReader csvReader = new CsvReader(csvPath, columnList)) {
+      while (csvReader.hasNext()) {
+        consumer.accept(csvReader.next());
+      }
+
+      log.info(String.format("读取CSV[%s]数据[%s]行成功", csvPath, csvReader.getRowCount()));
+      return csvReader.getRowCount();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 读取CSV中指定范围的数据行
+   * <p>存在行位置索引(CsvIndex)时直接定位到所在区间,最多跳过[索引间隔]行;不存在时从文件开头逐行跳过</p>
+   *
+   * @param csvPath    CSV文件路径
+   * @param columnList 读取的列名列表(null -> 全部列)
+   * @param startRowNo 开始的数据行号(0开始)
+   * @param rowCnt     读取的数据行数
+   * @param consumer   行数据处理
+   * @return 读取的数据行数
+   */
+  public static long csv2Data(final String csvPath,
+                              final List<String> columnList,
+                              final long startRowNo,
+                              final long rowCnt,
+                              final Consumer<RowModel> consumer) {
+    CsvIndex csvIndex = CsvIndex.load(csvPath);
+    CsvReader csvReader = null;
+    try {
+      long skipCnt = startRowNo;
+      if (csvIndex == null) {
+        csvReader = new CsvReader(csvPath, columnList);
+      } else {
+        // 数据行所在区间 ~ 结束行所在区间的结束位置
+        long[] location = csvIndex.locate(startRowNo);
+        SchemaModel fileSchema;
+        try (CsvReader headReader = new CsvReader(csvPath, null)) {
+          fileSchema = headReader.getFileSchema();
+        }
+        csvReader = new CsvReader(csvPath, fileSchema, columnList, location[0], csvIndex.locateEnd(rowCnt > Long.MAX_VALUE - startRowNo ? Long.MAX_VALUE : startRowNo + rowCnt));
+        skipCnt = location[1];
+      }
+
+      for (long i = 0; i < skipCnt && csvReader.skip(); i++) {
+        // 跳过区间开始至指定行之间的数据行
+      }
+      while (csvReader.getRowCount() < rowCnt && csvReader.hasNext()) {
+        consumer.accept(csvReader.next());
+      }
+
+      log.info(String.format("读取CSV[%s]数据[%s]行成功(开始行号:%s,使用索引:%s)", csvPath, csvReader.getRowCount(), startRowNo, csvIndex != null));
+      return csvReader.getRowCount();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取CSV[%s]失败", csvPath), ex);
+    } finally {
+      if (csvReader != null) csvReader.close();
+    }
+  }
+
+  /**
+   * 并行读取CSV数据
+   * <p>CSV文件按行边界拆分为多个字节范围(分片),在ForkJoin线程池中并行解析</p>
+   * <p>行数据处理(consumer)只在调用线程中执行,不需要线程安全;行数据对象不复用,可以直接保留</p>
+   * <p>背压:同时解析的分片数不超过并行数,每个分片最多缓存[PARALLEL_QUEUE_BATCH_CNT]批数据,处理慢时解析线程等待</p>
+   * <p>GZIP压缩文件不能按字节范围拆分 -> 逐行读取</p>
+   * <p>存在行位置索引(CsvIndex)时按索引位置拆分,各分片的数据行数相同</p>
+   *
+   * @param csvPath     CSV文件路径
+   * @param columnList  读取的列名列表(null -> 全部列)
+   * @param parallelism 并行数(解析线程数)
+   * @param ordered     是否按文件中的行顺序处理(false -> 按解析完成顺序处理,吞吐量更高)
+   * @param consumer    行数据处理
+   * @return 读取的数据行数
+   */
+  public static long csv2Data(final String csvPath,
+                              final List<String> columnList,
+                              final int parallelism,
+                              final boolean ordered,
+                              final Consumer<RowModel> consumer) {
+    // GZIP压缩文件 -> 逐行读取
+    if (FileUtil.isGzip(csvPath)) return csv2Data(csvPath, columnList, consumer);
+
+    // CSV文件的数据结构 + 数据行开始位置
+    SchemaModel fileSchema;
+    long dataStart;
+    try (CsvReader csvReader = new CsvReader(csvPath, columnList)) {
+      fileSchema = csvReader.getFileSchema();
+      dataStart = csvReader.getOffset();
+    }
+
+    // 按行边界拆分的分片(存在行位置索引 -> 按数据行数均分)
+    CsvIndex csvIndex = CsvIndex.load(csvPath);
+    List<long[]> chunkList = csvIndex != null
+        ? csvIndex.split(Math.max(1, parallelism) * PARALLEL_CHUNKS_PER_THREAD)
+        : splitCsv(csvPath, dataStart, new File(csvPath).length(), Math.max(1, parallelism));
+    if (chunkList.isEmpty()) return 0;
+    int parallel = Math.max(1, Math.min(parallelism, chunkList.size()));
+
+    // 分片的解析结果队列(按顺序:每个分片一个队列 / 不按顺序:共用一个队列)
+    List<BlockingQueue<CsvChunk>> queueList = new ArrayList<>(chunkList.size());
+    BlockingQueue<CsvChunk> sharedQueue = ordered ? null : new ArrayBlockingQueue<>(parallel * PARALLEL_QUEUE_BATCH_CNT);
+    for (int i = 0; i < chunkList.size(); i++) {
+      queueList.add(ordered ? new ArrayBlockingQueue<>(PARALLEL_QUEUE_BATCH_CNT) : sharedQueue);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallel);
+    long rowCount = 0;
+    try {
+      // 先提交[并行数]个分片,每处理完成一个分片再提交下一个(保证已提交的分片都有线程解析,且内存有上限)
+      int submitted = 0;
+      for (; submitted < parallel; submitted++) {
+        submitChunk(pool, csvPath, fileSchema, columnList, chunkList, submitted, queueList.get(submitted));
       }
+
+      int completed = 0;
+      while (completed < chunkList.size()) {
+        CsvChunk chunk = queueList.get(ordered ? completed : 0).take();
+        if (chunk.error != null) throw chunk.error;
+        for (RowModel row : chunk.rowList) {
+          consumer.accept(row);
+        }
+        rowCount += chunk.rowList.size();
+        if (chunk.last) {
+          completed++;
+          if (submitted < chunkList.size()) {
+            submitChunk(pool, csvPath, fileSchema, columnList, chunkList, submitted, queueList.get(submitted));
+            submitted++;
+          }
+        }
+      }
+
+      log.info(String.format("并行读取CSV[%s]数据[%s]行成功(分片数:%s,并行数:%s)", csvPath, rowCount, chunkList.size(), parallel));
+      return rowCount;
+    } catch (Throwable ex) {
+      throw new YuuException(String.format("并行读取CSV[%s]失败", csvPath), ex);
+    } finally {
+      // 异常时中断仍在解析的分片
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * 提交分片解析任务
+   *
+   * @param pool       线程池
+   * @param csvPath    CSV文件路径
+   * @param fileSchema CSV文件的数据结构
+   * @param columnList 读取的列名列表
+   * @param chunkList  分片列表
+   * @param index      分片索引
+   * @param queue      解析结果队列
+   */
+  private static void submitChunk(final ForkJoinPool pool,
+                                  final String csvPath,
+                                  final SchemaModel fileSchema,
+                                  final List<String> columnList,
+                                  final List<long[]> chunkList,
+                                  final int index,
+                                  final BlockingQueue<CsvChunk> queue) {
+    long[] range = chunkList.get(index);
+    pool.execute(() -> {
+      try (CsvReader csvReader = new CsvReader(csvPath, fileSchema, columnList, range[0], range[1])) {
+        List<RowModel> rowList = new ArrayList<>(PARALLEL_BATCH_ROW_CNT);
+        while (csvReader.hasNext()) {
+          rowList.add(csvReader.next().copy());
+          if (rowList.size() >= PARALLEL_BATCH_ROW_CNT) {
+            queue.put(new CsvChunk(rowList, false, null));
+            rowList = new ArrayList<>(PARALLEL_BATCH_ROW_CNT);
+          }
+        }
+        queue.put(new CsvChunk(rowList, true, null));
+      } catch (InterruptedException ex) {
+        // 处理方已停止(线程池关闭)
+        Thread.currentThread().interrupt();
+      } catch (Throwable ex) {
+        // 解析失败 -> 通知处理方
+        try {
+          queue.put(new CsvChunk(new ArrayList<>(), true, ex));
+        } catch (InterruptedException iex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+  }
+
+  /**
+   * 将CSV文件的数据行按行边界拆分为多个字节范围
+   *
+   * @param csvPath  CSV文件路径
+   * @param start    数据行开始位置
+   * @param end      文件大小
+   * @param parallel 并行数
+   * @return 字节范围列表([开始位置, 结束位置))
+   */
+  private static List<long[]> splitCsv(final String csvPath, final long start, final long end, final int parallel) {
+    long chunkCnt = Math.max(1, Math.min((long) parallel * PARALLEL_CHUNKS_PER_THREAD, (end - start) / PARALLEL_MIN_CHUNK_SIZE));
+    long chunkSize = (end - start + chunkCnt - 1) / chunkCnt;
+
+    List<long[]> chunkList = new ArrayList<>();
+    try (RandomAccessFile file = new RandomAccessFile(csvPath, "r")) {
+      long chunkStart = start;
+      while (chunkStart < end) {
+        long chunkEnd = nextLineStart(file, Math.min(end, chunkStart + chunkSize), end);
+        chunkList.add(new long[]{chunkStart, chunkEnd});
+        chunkStart = chunkEnd;
+      }
+    } catch (Exception ex) {
+      throw new YuuException(String.format("拆分CSV[%s]失败", csvPath), ex);
+    }
+    return chunkList;
+  }
+
+  /**
+   * 获取指定位置之后(包含)的下一个行首位置
+   *
+   * @param file     CSV文件
+   * @param position 指定位置
+   * @param end      文件大小
+   * @return 行首位置(不存在 -> 文件大小)
+   */
+  static long nextLineStart(final RandomAccessFile file, final long position, final long end) throws Exception {
+    if (position >= end) return end;
+    // 指定位置的前一个字节是行分隔符 -> 指定位置就是行首
+    file.seek(position - 1);
+    byte[] bytes = new byte[8192];
+    long offset = position - 1;
+    int len;
+    while ((len = file.read(bytes)) > 0) {
+      for (int i = 0; i < len; i++) {
+        if (bytes[i] == LINE_SEPARATOR.charAt(0)) return offset + i + 1;
+      }
+      offset += len;
+    }
+    return end;
+  }
+
+  /**
+   * 并行读取时的分片解析结果
+   */
+  private static class CsvChunk {
+    // 行数据列表
+    private final List<RowModel> rowList;
+    // 是否为分片的最后一批
+    private final boolean last;
+    // 解析异常
+    private final Throwable error;
+
+    private CsvChunk(final List<RowModel> rowList, final boolean last, final Throwable error) {
+      this.rowList = rowList;
+      this.last = last;
+      this.error = error;
+    }
+  }
+
+  /**
+   * EXCEL行数据填充至行数据(按照列索引[0~]对应)
+   *
+   * @param row        行数据(复用)
+   * @param rowDataMap EXCEL行数据
+   * @return 行数据
+   */
+  static RowModel fillRow(final RowModel row, final Map<Integer, String> rowDataMap) {
+    for (int i = 0; i < row.size(); i++) {
+      row.set(i, rowDataMap.get(i));
     }
-    return stdCsvData;
+    return row;
   }
 
 }
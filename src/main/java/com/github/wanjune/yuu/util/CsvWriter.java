@@ -0,0 +1,404 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV写入器
+ * <p>每个CSV文件只打开一次:复用写入缓存,按批次刷新缓存,关闭时释放文件句柄</p>
+ * <p>CSV文件已存在 -> 追加;CSV文件不存在 -> 创建(写入标题行)</p>
+ * <p>单元格直接编码(UTF-8)至写入缓存:String/Number/Boolean/日时 不经过Jackson,只有嵌套的Map/List等使用Jackson转换</p>
+ * <p>行数据(RowModel)按列索引写入,Map数据按数据结构(SchemaModel)的列名顺序写入</p>
+ * <p>CSV文件路径的扩展名为[gz](例:data.csv.gz) -> 写入时GZIP压缩(不需要写入后再压缩)</p>
+ * <p>指定去重器时,按键列判断为重复的数据行不写入(丢弃)</p>
+ * <p>指定索引间隔时,写入时同时生成行位置索引(CsvIndex),读取时可以直接定位到指定行;新建CSV时删除已有的索引文件</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class CsvWriter implements RowWriter {
+
+  // 写入缓存大小(1MB)
+  private static final int BUF_SIZE = 1 << 20;
+  // 十六进制字符(Unicode转义用)
+  private static final byte[] HEX_CHARS = "0123456789ABCDEF".getBytes();
+  // 日时格式
+  private static final DateTimeFormatter FMT_DT_STD = DateTimeFormatter.ofPattern(TimeUtil.FMT_DT_STD);
+  private static final DateTimeFormatter FMT_DT_FULL_STD = DateTimeFormatter.ofPattern(TimeUtil.FMT_DT_FULL_STD);
+  private static final DateTimeFormatter FMT_D_STD = DateTimeFormatter.ofPattern(TimeUtil.FMT_D_STD);
+
+  // CSV文件存储路径
+  @Getter
+  private final String csvPath;
+  // CSV文件是否已经存在(true:追加 / false:创建)
+  @Getter
+  private final boolean append;
+  // 已写入数据行数
+  @Getter
+  private long rowCount;
+
+  // 已写入文件的字节数(本次打开后)
+  private long flushedByteCount;
+
+  // 数据结构
+  @Getter
+  private final SchemaModel schema;
+  // 列是否需要清理Unicode(按列索引)
+  private final boolean[] unicodeColumns;
+  // 去重器(null -> 不去重)
+  private final RowDeduplicator deduplicator;
+  // 行位置索引(null -> 不生成)
+  private final CsvIndex csvIndex;
+  // 本次打开前的文件大小(追加时数据行位置的基准)
+  private final long baseOffset;
+  // 文件输出流
+  private final OutputStream outputStream;
+  // 写入缓存
+  private final byte[] buf = new byte[BUF_SIZE];
+  private int pos;
+
+  /**
+   * 打开CSV写入器
+   *
+   * @param csvPath           CSV文件存储路径
+   * @param csvColumnList     CSV列名列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public CsvWriter(final String csvPath, final List<String> csvColumnList, final List<String> unicodeColumnList) {
+    this(csvPath, new SchemaModel(csvColumnList == null ? Collections.emptyList() : csvColumnList), unicodeColumnList);
+  }
+
+  /**
+   * 打开CSV写入器
+   *
+   * @param csvPath           CSV文件存储路径
+   * @param schema            CSV数据结构
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public CsvWriter(final String csvPath, final SchemaModel schema, final List<String> unicodeColumnList) {
+    this(csvPath, schema, unicodeColumnList, null);
+  }
+
+  /**
+   * 打开CSV写入器(写入时去重)
+   *
+   * @param csvPath           CSV文件存储路径
+   * @param schema            CSV数据结构
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param deduplicator      去重器(null -> 不去重;由调用方关闭,可以在多个写入器之间共用)
+   */
+  public CsvWriter(final String csvPath, final SchemaModel schema, final List<String> unicodeColumnList, final RowDeduplicator deduplicator) {
+    this(csvPath, schema, unicodeColumnList, deduplicator, 0);
+  }
+
+  /**
+   * 打开CSV写入器(写入时生成行位置索引)
+   *
+   * @param csvPath           CSV文件存储路径(GZIP压缩文件不支持索引)
+   * @param schema            CSV数据结构
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param deduplicator      去重器(null -> 不去重;由调用方关闭,可以在多个写入器之间共用)
+   * @param indexInterval     索引间隔(每隔多少数据行记录一次位置;0 -> 不生成索引)
+   */
+  public CsvWriter(final String csvPath, final SchemaModel schema, final List<String> unicodeColumnList, final RowDeduplicator deduplicator, final int indexInterval) {
+    this.csvPath = csvPath;
+    this.schema = schema;
+    this.deduplicator = deduplicator;
+    // 去重的键列不在CSV的列中 -> 创建CSV文件前失败
+    if (deduplicator != null && schema.size() > 0) deduplicator.checkSchema(schema);
+    this.unicodeColumns = new boolean[schema.size()];
+    for (int i = 0; i < unicodeColumns.length; i++) {
+      unicodeColumns[i] = StringUtil.isContains(schema.getColumn(i), unicodeColumnList, true);
+    }
+
+    // CSV文件(不支持索引时不创建)
+    if (indexInterval > 0) CsvIndex.checkIndexable(csvPath, indexInterval);
+    File csvFile = FileUtil.create(csvPath);
+    this.append = csvFile.exists();
+    this.baseOffset = append ? csvFile.length() : 0;
+    // 新建CSV -> 删除已有的索引文件(与新的CSV不一致)
+    if (!append) FileUtil.delete(CsvIndex.getIndexPath(csvPath));
+
+    try {
+      this.outputStream = FileUtil.newOutputStream(csvPath, append);
+      // 新建CSV -> 写入标题行
+      if (!append && schema.size() > 0) {
+        for (int i = 0; i < schema.size(); i++) {
+          if (i > 0) writeByte(CsvUtil.COLUMN_SEPARATOR);
+          writeRaw(schema.getColumn(i));
+        }
+        writeByte(CsvUtil.LINE_SEPARATOR.charAt(0));
+      }
+    } catch (Exception ex) {
+      throw new YuuException(String.format("打开CSV[%s]失败", csvPath), ex);
+    }
+
+    try {
+      this.csvIndex = indexInterval > 0 ? CsvIndex.open(csvPath, indexInterval, append, getByteCount()) : null;
+    } catch (Exception ex) {
+      close();
+      throw ex;
+    }
+  }
+
+  /**
+   * 批量写入数据并刷新至文件
+   *
+   * @param dataList 数据列表
+   */
+  public void write(final List<Map<String, Object>> dataList) {
+    if (ListUtil.isEmpty(dataList)) return;
+    for (Map<String, Object> data : dataList) {
+      write(data);
+    }
+    flush();
+  }
+
+  /**
+   * 写入数据(写入缓存,缓存已满时才写入文件)
+   *
+   * @param data 数据(按数据结构的列名取值)
+   */
+  public void write(final Map<String, Object> data) {
+    if (schema.size() == 0 || deduplicator != null && deduplicator.isDuplicate(data)) return;
+    if (csvIndex != null) csvIndex.mark(baseOffset + getByteCount());
+    try {
+      for (int i = 0; i < schema.size(); i++) {
+        if (i > 0) writeByte(CsvUtil.COLUMN_SEPARATOR);
+        writeCell(data.get(schema.getColumn(i)), unicodeColumns[i]);
+      }
+      writeByte(CsvUtil.LINE_SEPARATOR.charAt(0));
+      rowCount++;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据写入CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 批量写入行数据并刷新至文件
+   *
+   * @param rowList 行数据列表
+   */
+  @Override
+  public void writeRows(final List<RowModel> rowList) {
+    if (ListUtil.isEmpty(rowList)) return;
+    for (RowModel row : rowList) {
+      write(row);
+    }
+    flush();
+  }
+
+  /**
+   * 写入行数据(写入缓存,缓存已满时才写入文件)
+   *
+   * @param row 行数据(列数与数据结构一致)
+   */
+  @Override
+  public void write(final RowModel row) {
+    if (schema.size() == 0 || deduplicator != null && deduplicator.isDuplicate(row)) return;
+    if (csvIndex != null) csvIndex.mark(baseOffset + getByteCount());
+    try {
+      for (int i = 0; i < schema.size(); i++) {
+        if (i > 0) writeByte(CsvUtil.COLUMN_SEPARATOR);
+        writeCell(row.get(i), unicodeColumns[i]);
+      }
+      writeByte(CsvUtil.LINE_SEPARATOR.charAt(0));
+      rowCount++;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据写入CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 获取已丢弃的重复数据行数(所有使用同一去重器的写入)
+   *
+   * @return 数据行数
+   */
+  public long getDroppedCount() {
+    return deduplicator == null ? 0 : deduplicator.getDroppedCount();
+  }
+
+  /**
+   * 获取已写入的字节数(本次打开后写入的标题行和数据行,包含写入缓存中的数据;GZIP压缩文件为压缩前的字节数)
+   *
+   * @return 字节数
+   */
+  public long getByteCount() {
+    return flushedByteCount + pos;
+  }
+
+  /**
+   * 刷新缓存至文件
+   */
+  @Override
+  public void flush() {
+    try {
+      flushBuffer();
+      outputStream.flush();
+      if (csvIndex != null) csvIndex.flush();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("刷新CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 关闭CSV写入器(刷新缓存并释放文件句柄)
+   */
+  @Override
+  @SuppressWarnings("try")
+  public void close() {
+    // 写入失败时也关闭输出流和索引(按声明的逆序关闭:先CSV数据,后索引 -> 索引中的位置不超过CSV文件大小)
+    try (CsvIndex index = csvIndex; OutputStream stream = outputStream) {
+      flushBuffer();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("关闭CSV[%s]失败", csvPath), ex);
+    }
+  }
+
+  /**
+   * 写入单元格
+   * <p>null -> 空字符串;字符串按JSON规则转义(不带首尾双引号),保证单元格中不出现行/列分隔符</p>
+   * <p>嵌套的Map/List等转换为JSON字符串后同样转义(与字符串单元格规则相同,读取时统一反转义)</p>
+   *
+   * @param value        单元格值
+   * @param cleanUnicode 是否清理Unicode([emoji]等)
+   */
+  private void writeCell(final Object value, final boolean cleanUnicode) throws IOException {
+    if (value == null) return;
+    if (cleanUnicode) {
+      writeEscaped(StringUtil.cleanUnicode(value.toString()));
+    } else if (value instanceof String) {
+      writeEscaped((String) value);
+    } else if (value instanceof Number || value instanceof Boolean) {
+      writeRaw(value.toString());
+    } else if (value instanceof LocalDateTime) {
+      LocalDateTime dateTime = (LocalDateTime) value;
+      writeRaw(dateTime.format(dateTime.getNano() == 0 ? FMT_DT_STD : FMT_DT_FULL_STD));
+    } else if (value instanceof LocalDate) {
+      writeRaw(((LocalDate) value).format(FMT_D_STD));
+    } else {
+      // 嵌套的Map/List等 -> JSON字符串(转义)
+      writeEscaped(JsonUtil.writeValueAsString(value));
+    }
+  }
+
+  /**
+   * 写入字符串(JSON规则转义:双引号,反斜杠,控制字符)
+   *
+   * @param string 字符串
+   */
+  private void writeEscaped(final String string) throws IOException {
+    for (int i = 0; i < string.length(); i++) {
+      char c = string.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        i = writeChar(string, i, c);
+        continue;
+      }
+      writeByte('\\');
+      switch (c) {
+        case '"':
+        case '\\':
+          writeByte(c);
+          break;
+        case '\b':
+          writeByte('b');
+          break;
+        case '\t':
+          writeByte('t');
+          break;
+        case '\n':
+          writeByte('n');
+          break;
+        case '\f':
+          writeByte('f');
+          break;
+        case '\r':
+          writeByte('r');
+          break;
+        default:
+          writeByte('u');
+          writeByte('0');
+          writeByte('0');
+          writeByte(HEX_CHARS[c >> 4]);
+          writeByte(HEX_CHARS[c & 0xF]);
+      }
+    }
+  }
+
+  /**
+   * 写入字符串(不转义)
+   *
+   * @param string 字符串
+   */
+  private void writeRaw(final String string) throws IOException {
+    for (int i = 0; i < string.length(); i++) {
+      i = writeChar(string, i, string.charAt(i));
+    }
+  }
+
+  /**
+   * 写入字符(UTF-8编码)
+   *
+   * @param string 字符串
+   * @param i      字符索引
+   * @param c      字符
+   * @return 最后处理的字符索引(代理对时为下一个字符)
+   */
+  private int writeChar(final String string, final int i, final char c) throws IOException {
+    if (c < 0x80) {
+      writeByte(c);
+    } else if (c < 0x800) {
+      writeByte(0xC0 | (c >> 6));
+      writeByte(0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c) && i + 1 < string.length() && Character.isLowSurrogate(string.charAt(i + 1))) {
+      int cp = Character.toCodePoint(c, string.charAt(i + 1));
+      writeByte(0xF0 | (cp >> 18));
+      writeByte(0x80 | ((cp >> 12) & 0x3F));
+      writeByte(0x80 | ((cp >> 6) & 0x3F));
+      writeByte(0x80 | (cp & 0x3F));
+      return i + 1;
+    } else if (Character.isSurrogate(c)) {
+      // 不成对的代理字符
+      writeByte('?');
+    } else {
+      writeByte(0xE0 | (c >> 12));
+      writeByte(0x80 | ((c >> 6) & 0x3F));
+      writeByte(0x80 | (c & 0x3F));
+    }
+    return i;
+  }
+
+  /**
+   * 写入字节至缓存(缓存已满 -> 刷新至文件)
+   *
+   * @param b 字节
+   */
+  private void writeByte(final int b) throws IOException {
+    if (pos == buf.length) flushBuffer();
+    buf[pos++] = (byte) b;
+  }
+
+  /**
+   * 缓存写入文件流
+   */
+  private void flushBuffer() throws IOException {
+    if (pos > 0) {
+      outputStream.write(buf, 0, pos);
+      flushedByteCount += pos;
+      pos = 0;
+    }
+  }
+
+}
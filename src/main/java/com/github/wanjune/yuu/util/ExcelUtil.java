@@ -0,0 +1,101 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EXCEL工具类
+ * <p>EXCEL读取(转换为CSV)参照CsvUtil.excel2Csv</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Slf4j
+public class ExcelUtil {
+
+  /**
+   * 数据保存至EXCEL(xlsx)
+   * <p>EXCEL文件已存在 -> 覆盖;数据行数超过SHEET上限时自动新建SHEET</p>
+   *
+   * @param xlsxPath          EXCEL文件存储路径
+   * @param sheetName         SHEET名
+   * @param columnList        列名列表(标题行)
+   * @param dataList          数据列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public static void data2Excel(final String xlsxPath,
+                                final String sheetName,
+                                final List<String> columnList,
+                                final List<Map<String, Object>> dataList,
+                                final List<String> unicodeColumnList) {
+    // EXCEL写入器(写入完成后关闭文件)
+    try (XlsxWriter xlsxWriter = new XlsxWriter(xlsxPath, sheetName, columnList, unicodeColumnList)) {
+      xlsxWriter.write(dataList);
+
+      log.info(String.format("数据存储至EXCEL[%s](SHEET数:%s)成功", xlsxPath, xlsxWriter.getSheetCount()));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据存储至EXCEL[%s]失败", xlsxPath), ex);
+    }
+  }
+
+  /**
+   * 行数据保存至EXCEL(xlsx)
+   * <p>EXCEL文件已存在 -> 覆盖;数据行数超过SHEET上限时自动新建SHEET</p>
+   *
+   * @param xlsxPath          EXCEL文件存储路径
+   * @param sheetName         SHEET名
+   * @param schema            数据结构(标题行)
+   * @param rowList           行数据列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public static void data2Excel(final String xlsxPath,
+                                final String sheetName,
+                                final SchemaModel schema,
+                                final List<RowModel> rowList,
+                                final List<String> unicodeColumnList) {
+    // EXCEL写入器(写入完成后关闭文件)
+    try (XlsxWriter xlsxWriter = new XlsxWriter(xlsxPath, sheetName, schema, unicodeColumnList, XlsxWriter.MAX_SHEET_ROW_CNT, XlsxWriter.DEFAULT_BATCH_ROW_CNT)) {
+      xlsxWriter.writeRows(rowList);
+
+      log.info(String.format("数据存储至EXCEL[%s](SHEET数:%s)成功", xlsxPath, xlsxWriter.getSheetCount()));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据存储至EXCEL[%s]失败", xlsxPath), ex);
+    }
+  }
+
+  /**
+   * CSV数据保存至EXCEL(xlsx)
+   * <p>逐行读取CSV并按批次写入EXCEL(不加载整个文件);EXCEL文件已存在 -> 覆盖;数据行数超过SHEET上限时自动新建SHEET</p>
+   *
+   * @param csvPath     CSV文件路径
+   * @param columnList  读取的列名列表(null -> 全部列)
+   * @param xlsxPath    EXCEL文件存储路径
+   * @param sheetName   SHEET名
+   * @param batchRowCnt 每批量写入EXCEL的数据行数
+   * @return 写入的数据行数
+   */
+  public static long csv2Excel(final String csvPath,
+                               final List<String> columnList,
+                               final String xlsxPath,
+                               final String sheetName,
+                               final int batchRowCnt) {
+    try (CsvReader csvReader = new CsvReader(csvPath, columnList);
+         XlsxWriter xlsxWriter = new XlsxWriter(xlsxPath, sheetName, csvReader.getSchema(), null, XlsxWriter.MAX_SHEET_ROW_CNT, batchRowCnt)) {
+      while (csvReader.hasNext()) {
+        xlsxWriter.write(csvReader.next());
+      }
+      xlsxWriter.flush();
+
+      log.info(String.format("CSV[%s]数据存储至EXCEL[%s](数据行数:%s,SHEET数:%s)成功", csvPath, xlsxPath, xlsxWriter.getRowCount(), xlsxWriter.getSheetCount()));
+      return xlsxWriter.getRowCount();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("CSV[%s]数据存储至EXCEL[%s]失败", csvPath, xlsxPath), ex);
+    }
+  }
+
+}
@@ -6,10 +6,16 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * File工具类
@@ -40,6 +46,8 @@ public class FileUtil {
 
   // 文件读写缓存大小
   private static final int BUF_SIZE = 4096;
+  // GZIP压缩/解压缓存大小
+  private static final int GZIP_BUF_SIZE = 1 << 16;
 
   /**
    * 文件/目录是否存在
@@ -88,6 +96,63 @@ public class FileUtil {
     }
   }
 
+  /**
+   * 是否是GZIP压缩文件(按扩展名[gz]判断)
+   *
+   * @param path 文件路径
+   * @return 判断结果
+   */
+  public static boolean isGzip(final String path) {
+    return EXT_GZ.equalsIgnoreCase(getExtension(path));
+  }
+
+  /**
+   * 打开文件输出流
+   * <p>如果上级目录不存在,创建上级目录;GZIP压缩文件(扩展名[gz]) -> 写入时压缩(追加时新增一个GZIP成员,解压时与原内容连续)</p>
+   *
+   * @param path   文件路径
+   * @param append 是否追加
+   * @return 文件输出流
+   */
+  public static OutputStream newOutputStream(final String path, final boolean append) {
+    OutputStream outputStream = null;
+    try {
+      outputStream = new FileOutputStream(create(path), append);
+      return isGzip(path) ? new GZIPOutputStream(outputStream, GZIP_BUF_SIZE) : outputStream;
+    } catch (Exception ex) {
+      // GZIP头写入失败 -> 关闭已打开的文件输出流
+      if (outputStream != null) {
+        try {
+          outputStream.close();
+        } catch (Exception closeEx) {
+          ex.addSuppressed(closeEx);
+        }
+      }
+      throw new YuuException(String.format("打开文件[%s]的输出流失败", path), ex);
+    }
+  }
+
+  /**
+   * 打开文件输入流
+   * <p>GZIP压缩文件(扩展名[gz]) -> 读取时解压</p>
+   *
+   * @param path 文件路径
+   * @return 文件输入流
+   */
+  public static InputStream newInputStream(final String path) {
+    InputStream inputStream = null;
+    try {
+      inputStream = new FileInputStream(path);
+      return isGzip(path) ? new GZIPInputStream(inputStream, GZIP_BUF_SIZE) : inputStream;
+    } catch (Exception ex) {
+      try {
+        if (inputStream != null) inputStream.close();
+      } catch (Exception ignored) {
+      }
+      throw new YuuException(String.format("打开文件[%s]的输入流失败", path), ex);
+    }
+  }
+
   /**
    * 删除文件/目录
    *
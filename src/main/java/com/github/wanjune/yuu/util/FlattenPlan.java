@@ -0,0 +1,312 @@
+package com.github.wanjune.yuu.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 嵌套数据的展开计划(列路径[a.b.c] -> 行数据)
+ * <p>列路径只在编译时解析一次(路径树),每行只访问路径树上的键,不遍历整个嵌套结构</p>
+ * <p>直接解析JSON字符串时,路径树之外的子结构跳过(不创建Map/List);路径指向对象/数组时,该子结构作为Map/List保存(写入CSV时为JSON字符串)</p>
+ * <p>路径以[.]分隔;数字段对应数组的下标(例:items.0.id);键本身包含[.]时不能作为路径</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class FlattenPlan {
+
+  // 行数据结构(列名为列路径)
+  @Getter
+  private final SchemaModel schema;
+  // 路径树的根
+  private final Node root;
+
+  private FlattenPlan(final SchemaModel schema, final Node root) {
+    this.schema = schema;
+    this.root = root;
+  }
+
+  /**
+   * 编译展开计划
+   *
+   * @param columnList 列路径列表(例:[id, user.name, items.0.sku])
+   * @return 展开计划
+   */
+  public static FlattenPlan compile(final List<String> columnList) {
+    SchemaModel schema = new SchemaModel(columnList);
+    Node root = new Node(null);
+    for (int i = 0; i < schema.size(); i++) {
+      String column = schema.getColumn(i);
+      Node node = root;
+      for (String segment : column.split("\\.", -1)) {
+        if (segment.isEmpty()) throw new YuuException(String.format("列路径[%s]不正确", column));
+        node = node.child(segment);
+      }
+      node.columnIndex = i;
+    }
+    root.seal();
+    return new FlattenPlan(schema, root);
+  }
+
+  /**
+   * 展开嵌套的Map(JsonUtil.getMap的结果等)
+   *
+   * @param data 嵌套的Map
+   * @return 行数据(路径不存在 -> null)
+   */
+  public RowModel apply(final Map<String, Object> data) {
+    return apply(data, schema.newRow());
+  }
+
+  /**
+   * 展开嵌套的Map(复用行数据)
+   *
+   * @param data 嵌套的Map
+   * @param row  行数据(先清空)
+   * @return 行数据
+   */
+  public RowModel apply(final Map<String, Object> data, final RowModel row) {
+    row.clear();
+    if (data != null) extract(data, root, row);
+    return row;
+  }
+
+  /**
+   * 展开嵌套的Map列表
+   *
+   * @param dataList 嵌套的Map列表
+   * @return 行数据列表
+   */
+  public List<RowModel> applyAll(final List<Map<String, Object>> dataList) {
+    List<RowModel> rowList = new ArrayList<>(dataList == null ? 0 : dataList.size());
+    if (dataList != null) dataList.forEach(data -> rowList.add(apply(data)));
+    return rowList;
+  }
+
+  /**
+   * 解析JSON字符串并展开(不生成中间的Map)
+   *
+   * @param jsonString JSON对象字符串
+   * @return 行数据(空字符串 -> 全部为null)
+   */
+  public RowModel parse(final String jsonString) {
+    return parse(jsonString, schema.newRow());
+  }
+
+  /**
+   * 解析JSON字符串并展开(复用行数据)
+   *
+   * @param jsonString JSON对象字符串
+   * @param row        行数据(先清空)
+   * @return 行数据
+   */
+  public RowModel parse(final String jsonString, final RowModel row) {
+    row.clear();
+    if (StringUtil.isBlank(jsonString)) return row;
+    try (JsonParser parser = JsonUtil.MAPPER.getFactory().createParser(jsonString)) {
+      parse(parser, row);
+    } catch (YuuException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("字符串[%s]展开失败", jsonString), ex);
+    }
+    return row;
+  }
+
+  /**
+   * 解析JSON字节数组(UTF-8)并展开(Kafka消息等;不生成中间的字符串和Map)
+   *
+   * @param json JSON对象的字节数组
+   * @param row  行数据(先清空)
+   * @return 行数据
+   */
+  public RowModel parse(final byte[] json, final RowModel row) {
+    row.clear();
+    if (json == null || json.length == 0) return row;
+    try (JsonParser parser = JsonUtil.MAPPER.getFactory().createParser(json)) {
+      parse(parser, row);
+    } catch (YuuException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("JSON字节数组(%s字节)展开失败", json.length), ex);
+    }
+    return row;
+  }
+
+  /**
+   * 解析JSON(根节点必须为对象)
+   *
+   * @param parser JSON解析器
+   * @param row    行数据
+   */
+  private void parse(final JsonParser parser, final RowModel row) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == JsonToken.VALUE_NULL) return;
+    if (token != JsonToken.START_OBJECT) throw new YuuException(String.format("JSON的根节点[%s]不是对象", token));
+    parseObject(parser, root, row);
+  }
+
+  /**
+   * 解析JSON对象(当前为START_OBJECT;路径树之外的字段跳过)
+   *
+   * @param parser JSON解析器
+   * @param node   路径节点
+   * @param row    行数据
+   */
+  private void parseObject(final JsonParser parser, final Node node, final RowModel row) throws IOException {
+    String field;
+    while ((field = parser.nextFieldName()) != null) {
+      JsonToken token = parser.nextToken();
+      Node child = node.children.get(field);
+      if (child == null) {
+        parser.skipChildren();
+      } else {
+        parseValue(parser, token, child, row);
+      }
+    }
+  }
+
+  /**
+   * 解析JSON数组(当前为START_ARRAY;路径树之外的元素跳过)
+   *
+   * @param parser JSON解析器
+   * @param node   路径节点
+   * @param row    行数据
+   */
+  private void parseArray(final JsonParser parser, final Node node, final RowModel row) throws IOException {
+    int index = 0;
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      Node child = index < node.elements.length ? node.elements[index] : null;
+      if (child == null) {
+        parser.skipChildren();
+      } else {
+        parseValue(parser, token, child, row);
+      }
+      index++;
+    }
+  }
+
+  /**
+   * 解析JSON值
+   *
+   * @param parser JSON解析器
+   * @param token  当前的值
+   * @param node   路径节点
+   * @param row    行数据
+   */
+  private void parseValue(final JsonParser parser, final JsonToken token, final Node node, final RowModel row) throws IOException {
+    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+      if (node.columnIndex >= 0) {
+        // 路径指向对象/数组 -> 生成子结构(与JsonUtil.getMap相同的类型),再提取更深的路径
+        Object value = JsonUtil.MAPPER.readValue(parser, Object.class);
+        row.set(node.columnIndex, value);
+        extract(value, node, row);
+      } else if (token == JsonToken.START_OBJECT) {
+        parseObject(parser, node, row);
+      } else {
+        parseArray(parser, node, row);
+      }
+      return;
+    }
+    if (node.columnIndex < 0) return;
+    switch (token) {
+      case VALUE_STRING:
+        row.set(node.columnIndex, parser.getText());
+        break;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        row.set(node.columnIndex, parser.getNumberValue());
+        break;
+      case VALUE_TRUE:
+        row.set(node.columnIndex, Boolean.TRUE);
+        break;
+      case VALUE_FALSE:
+        row.set(node.columnIndex, Boolean.FALSE);
+        break;
+      default:
+        row.set(node.columnIndex, null);
+    }
+  }
+
+  /**
+   * 按路径树提取嵌套的Map/List
+   *
+   * @param value 嵌套的值
+   * @param node  路径节点
+   * @param row   行数据
+   */
+  private static void extract(final Object value, final Node node, final RowModel row) {
+    for (Node child : node.childList) {
+      Object childValue = null;
+      if (value instanceof Map) {
+        childValue = ((Map<?, ?>) value).get(child.name);
+      } else if (value instanceof List && child.index >= 0 && child.index < ((List<?>) value).size()) {
+        childValue = ((List<?>) value).get(child.index);
+      }
+      if (childValue == null) continue;
+      if (child.columnIndex >= 0) row.set(child.columnIndex, childValue);
+      if (!child.childList.isEmpty()) extract(childValue, child, row);
+    }
+  }
+
+  /**
+   * 路径节点
+   */
+  private static class Node {
+    // 空的数组下标节点
+    private static final Node[] NO_ELEMENTS = new Node[0];
+
+    // 键
+    private final String name;
+    // 数组下标(非数字 -> -1)
+    private final int index;
+    // 列索引(中间节点 -> -1)
+    private int columnIndex = -1;
+    // 子节点(键 -> 节点)
+    private final Map<String, Node> children = new HashMap<>();
+    // 子节点列表
+    private final List<Node> childList = new ArrayList<>();
+    // 子节点(数组下标 -> 节点)
+    private Node[] elements = NO_ELEMENTS;
+
+    private Node(final String name) {
+      this.name = name;
+      this.index = name != null && name.matches("\\d{1,6}") ? Integer.parseInt(name) : -1;
+    }
+
+    private Node child(final String segment) {
+      return children.computeIfAbsent(segment, key -> {
+        Node child = new Node(key);
+        childList.add(child);
+        return child;
+      });
+    }
+
+    /**
+     * 编译完成(生成数组下标节点)
+     */
+    private void seal() {
+      int maxIndex = -1;
+      for (Node child : childList) {
+        maxIndex = Math.max(maxIndex, child.index);
+        child.seal();
+      }
+      if (maxIndex < 0) return;
+      elements = new Node[maxIndex + 1];
+      for (Node child : childList) {
+        if (child.index >= 0) elements[child.index] = child;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,328 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * int列表(基本类型,不装箱)
+ * <p>元素保存在int数组中(每个元素4字节),代替List&lt;Integer&gt;(每个元素16~20字节,且增加GC负担)保存编码列等大量数值</p>
+ * <p>提供与ListUtil相同风格的分割/排序/去重/拼接</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class IntList {
+
+  // 默认初始容量
+  private static final int DEFAULT_CAPACITY = 16;
+
+  // 元素数组
+  private int[] elements;
+  // 元素数
+  private int size;
+
+  /**
+   * 创建int列表
+   */
+  public IntList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * 创建int列表
+   *
+   * @param capacity 初始容量
+   */
+  public IntList(final int capacity) {
+    this.elements = new int[Math.max(capacity, 1)];
+  }
+
+  /**
+   * 数组转换为int列表(复制数组)
+   *
+   * @param array 数组
+   * @return int列表
+   */
+  public static IntList of(final int... array) {
+    IntList list = new IntList(array == null ? 0 : array.length);
+    if (array != null) list.addAll(array);
+    return list;
+  }
+
+  /**
+   * 数值集合转换为int列表(null元素 -> 错误)
+   *
+   * @param collection 数值集合(List&lt;Integer&gt;等)
+   * @return int列表
+   */
+  public static IntList of(final Collection<? extends Number> collection) {
+    IntList list = new IntList(collection == null ? 0 : collection.size());
+    if (collection != null) {
+      for (Number number : collection) {
+        if (number == null) throw new YuuException("int列表不能包含空元素");
+        list.add(number.intValue());
+      }
+    }
+    return list;
+  }
+
+  /**
+   * 元素数
+   *
+   * @return 元素数
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 是否为空
+   *
+   * @return 判断结果
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * 获取元素
+   *
+   * @param index 索引
+   * @return 元素
+   */
+  public int get(final int index) {
+    checkIndex(index);
+    return elements[index];
+  }
+
+  /**
+   * 设置元素
+   *
+   * @param index 索引
+   * @param value 元素
+   */
+  public void set(final int index, final int value) {
+    checkIndex(index);
+    elements[index] = value;
+  }
+
+  /**
+   * 追加元素
+   *
+   * @param value 元素
+   */
+  public void add(final int value) {
+    if (size == elements.length) grow(size + 1);
+    elements[size++] = value;
+  }
+
+  /**
+   * 追加数组的全部元素
+   *
+   * @param array 数组
+   */
+  public void addAll(final int... array) {
+    grow(size + array.length);
+    System.arraycopy(array, 0, elements, size, array.length);
+    size += array.length;
+  }
+
+  /**
+   * 追加列表的全部元素
+   *
+   * @param list int列表
+   */
+  public void addAll(final IntList list) {
+    grow(size + list.size);
+    System.arraycopy(list.elements, 0, elements, size, list.size);
+    size += list.size;
+  }
+
+  /**
+   * 是否包含元素(顺序查找;大量查找时请排序后使用binarySearch)
+   *
+   * @param value 元素
+   * @return 判断结果
+   */
+  public boolean contains(final int value) {
+    return indexOf(value) >= 0;
+  }
+
+  /**
+   * 元素的索引(顺序查找)
+   *
+   * @param value 元素
+   * @return 索引(不存在 -> -1)
+   */
+  public int indexOf(final int value) {
+    for (int i = 0; i < size; i++) {
+      if (elements[i] == value) return i;
+    }
+    return -1;
+  }
+
+  /**
+   * 二分查找(已排序时)
+   *
+   * @param value 元素
+   * @return 索引(不存在 -> 负数)
+   */
+  public int binarySearch(final int value) {
+    return Arrays.binarySearch(elements, 0, size, value);
+  }
+
+  /**
+   * 清空列表(保留容量)
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * 升序排序
+   */
+  public void sort() {
+    Arrays.sort(elements, 0, size);
+  }
+
+  /**
+   * 去重(排序后删除重复元素,结果为升序)
+   */
+  public void dedupe() {
+    if (size < 2) return;
+    sort();
+    int n = 1;
+    for (int i = 1; i < size; i++) {
+      if (elements[i] != elements[n - 1]) elements[n++] = elements[i];
+    }
+    size = n;
+  }
+
+  /**
+   * 按照每部分大小进行分割(每部分复制为新的列表)
+   *
+   * @param len 每部分列表长度
+   * @return 分割的列表(len小于1 -> null)
+   */
+  public List<IntList> partition(final int len) {
+    if (len < 1) return null;
+    List<IntList> partList = new ArrayList<>((size + len - 1) / len);
+    for (int start = 0; start < size; start += len) {
+      IntList part = new IntList(0);
+      part.elements = Arrays.copyOfRange(elements, start, Math.min(start + len, size));
+      part.size = part.elements.length;
+      partList.add(part);
+    }
+    return partList;
+  }
+
+  /**
+   * 根据分割符将列表转换为字符串(与StringUtil.splitList相同)
+   *
+   * @param split 分割符号(空对象/空字符串 -> 逗号[,])
+   * @return 字符串
+   */
+  public String join(final String split) {
+    String reSplit = StringUtil.isEmpty(split) ? CstUtil.COMMA : split;
+    StringBuilder sb = new StringBuilder(size * 8);
+    for (int i = 0; i < size; i++) {
+      if (i > 0) sb.append(reSplit);
+      sb.append(elements[i]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 遍历元素(不装箱)
+   *
+   * @param action 元素处理
+   */
+  public void forEach(final IntConsumer action) {
+    for (int i = 0; i < size; i++) {
+      action.accept(elements[i]);
+    }
+  }
+
+  /**
+   * 元素流(不装箱)
+   *
+   * @return 元素流
+   */
+  public IntStream stream() {
+    return Arrays.stream(elements, 0, size);
+  }
+
+  /**
+   * 转换为数组(复制)
+   *
+   * @return 数组
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * 转换为List&lt;Integer&gt;(装箱;与其他接口交互时使用)
+   *
+   * @return 对象列表
+   */
+  public List<Integer> toList() {
+    List<Integer> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(elements[i]);
+    }
+    return list;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) return true;
+    if (!(obj instanceof IntList)) return false;
+    IntList other = (IntList) obj;
+    if (size != other.size) return false;
+    for (int i = 0; i < size; i++) {
+      if (elements[i] != other.elements[i]) return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + elements[i];
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("[%s]", join(CstUtil.COMMA));
+  }
+
+  /**
+   * 扩容(1.5倍)
+   *
+   * @param minCapacity 最小容量
+   */
+  private void grow(final int minCapacity) {
+    if (minCapacity <= elements.length) return;
+    elements = Arrays.copyOf(elements, Math.max(minCapacity, elements.length + (elements.length >> 1)));
+  }
+
+  /**
+   * 校验索引
+   *
+   * @param index 索引
+   */
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException(String.format("索引[%s]超出范围(元素数:%s)", index, size));
+  }
+
+}
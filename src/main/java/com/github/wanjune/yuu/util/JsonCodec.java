@@ -0,0 +1,134 @@
+package com.github.wanjune.yuu.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.wanjune.yuu.exception.YuuException;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 指定类型的JSON转换器(通过JsonUtil.codec获取)
+ * <p>创建时解析一次类型,持有预先生成的ObjectReader/ObjectWriter;每次转换不再解析TypeReference(线程安全,可复用)</p>
+ *
+ * @param <T> 对象类型
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class JsonCodec<T> {
+
+  // 对象类型
+  private final JavaType type;
+  // 读取器
+  private final ObjectReader reader;
+  // 输入流的读取器(读取后不关闭输入流)
+  private final ObjectReader streamReader;
+  // 写入器
+  private final ObjectWriter writer;
+
+  JsonCodec(final ObjectMapper mapper, final JavaType type) {
+    this.type = type;
+    this.reader = mapper.readerFor(type);
+    this.streamReader = reader.without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    this.writer = mapper.writerFor(type);
+  }
+
+  /**
+   * JSON字符串转换为对象
+   *
+   * @param jsonString JSON字符串
+   * @return 对象(空字符串 -> null)
+   */
+  public T read(final String jsonString) {
+    try {
+      return StringUtil.isBlank(jsonString) ? null : reader.readValue(jsonString);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("字符串[%s]转换类型[%s]失败", jsonString, type), ex);
+    }
+  }
+
+  /**
+   * JSON字节数组(UTF-8)转换为对象(Kafka消息等;不生成中间的字符串)
+   *
+   * @param json JSON字节数组
+   * @return 对象(空数组 -> null)
+   */
+  public T read(final byte[] json) {
+    try {
+      return json == null || json.length == 0 ? null : reader.readValue(json);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("字符串[%s]转换类型[%s]失败", new String(json, StandardCharsets.UTF_8), type), ex);
+    }
+  }
+
+  /**
+   * JSON输入流转换为对象(不关闭输入流)
+   *
+   * @param inputStream JSON输入流
+   * @return 对象
+   */
+  public T read(final InputStream inputStream) {
+    try {
+      return streamReader.readValue(inputStream);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("输入流转换类型[%s]失败", type), ex);
+    }
+  }
+
+  /**
+   * 是否可以转换为对象
+   *
+   * @param jsonString JSON字符串
+   * @return 判断结果(空字符串 -> false)
+   */
+  public boolean isValid(final String jsonString) {
+    if (StringUtil.isBlank(jsonString)) return false;
+    try {
+      reader.readValue(jsonString);
+      return true;
+    } catch (Exception ex) {
+      return false;
+    }
+  }
+
+  /**
+   * 对象转换为JSON字符串
+   *
+   * @param value 对象
+   * @return JSON字符串
+   */
+  public String write(final T value) {
+    try {
+      return writer.writeValueAsString(value);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("[%s]转换JSON字符串失败", value), ex);
+    }
+  }
+
+  /**
+   * 对象转换为JSON字节数组(UTF-8)
+   *
+   * @param value 对象
+   * @return JSON字节数组
+   */
+  public byte[] writeBytes(final T value) {
+    try {
+      return writer.writeValueAsBytes(value);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("[%s]转换JSON字节数组失败", value), ex);
+    }
+  }
+
+  /**
+   * 获取对象类型
+   *
+   * @return 对象类型
+   */
+  public JavaType getType() {
+    return type;
+  }
+
+}
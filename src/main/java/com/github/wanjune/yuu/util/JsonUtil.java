@@ -4,9 +4,11 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.wanjune.yuu.exception.YuuException;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JSON工具类
@@ -24,22 +26,61 @@ public class JsonUtil {
   public static final TypeReference<ArrayList<Map<String, Object>>> TYPE_REF_LIST_MAP = new TypeReference<ArrayList<Map<String, Object>>>() {
   };
 
+  // 类型引用 - Object(类型被擦除时)
+  private static final TypeReference<Object> TYPE_REF_OBJECT = new TypeReference<Object>() {
+  };
+
   // Jackson对象
-  private static final ObjectMapper MAPPER = new ObjectMapper();
+  static final ObjectMapper MAPPER = new ObjectMapper();
+
+  // 类型 -> JSON转换器
+  private static final Map<Type, JsonCodec<?>> CODEC_CACHE = new ConcurrentHashMap<>();
+
+  // JSON转换器 - Map
+  public static final JsonCodec<Map<String, Object>> CODEC_MAP = codec(TYPE_REF_MAP);
+
+  // JSON转换器 - List<Map>
+  public static final JsonCodec<ArrayList<Map<String, Object>>> CODEC_LIST_MAP = codec(TYPE_REF_LIST_MAP);
+
+  /**
+   * 获取指定类的JSON转换器(按类缓存)
+   *
+   * @param clazz 类
+   * @param <T>   对象类型
+   * @return JSON转换器
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> JsonCodec<T> codec(final Class<T> clazz) {
+    return (JsonCodec<T>) CODEC_CACHE.computeIfAbsent(clazz, type -> new JsonCodec<>(MAPPER, MAPPER.constructType(type)));
+  }
+
+  /**
+   * 获取指定类型引用的JSON转换器(按类型缓存;泛型类型等)
+   * <p>请在初始化时获取并保存转换器,热点路径中直接使用转换器,不再解析类型</p>
+   *
+   * @param typeRef 类型引用
+   * @param <T>     对象类型
+   * @return JSON转换器
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> JsonCodec<T> codec(final TypeReference<T> typeRef) {
+    return (JsonCodec<T>) CODEC_CACHE.computeIfAbsent(typeRef.getType(), type -> new JsonCodec<>(MAPPER, MAPPER.constructType(type)));
+  }
 
   /**
    * 获取对象类型的引用
    * <p>目的:避免引用JsonUtil代码的import中,出现Jackson的TypeReference</p>
    * <p>参数:[new HashMap<String, Object>()] -> 返回等同:[new TypeReference<Map<String, Object>>() {}]</p>
    * <p>参数:[new ArrayList<Map<String, Object>>()] -> 返回等同:[new TypeReference<ArrayList<Map<String, Object>>>() {}]</p>
+   * <p>泛型参数在运行时被擦除,实际按Object转换(对象 -> LinkedHashMap,数组 -> ArrayList);需要具体类型时请使用codec</p>
    *
    * @param type 对象类型
    * @param <T>  对象类型
    * @return 类型引用
    */
+  @SuppressWarnings("unchecked")
   public static <T> TypeReference<T> getTypeRef(T type) {
-    return new TypeReference<T>() {
-    };
+    return (TypeReference<T>) (TypeReference<?>) TYPE_REF_OBJECT;
   }
 
   /**
@@ -51,7 +92,7 @@ public class JsonUtil {
    */
   public static <T> T getType(final String jsonString, final TypeReference<T> typeRef) {
     try {
-      return StringUtil.isBlank(jsonString) ? null : MAPPER.readValue(jsonString, typeRef);
+      return codec(typeRef).read(jsonString);
     } catch (Exception ex) {
       throw new YuuException(String.format("字符串[%S]转换类型失败", jsonString), ex);
     }
@@ -65,7 +106,7 @@ public class JsonUtil {
    */
   public static Map<String, Object> getMap(final String jsonString) {
     try {
-      return getType(jsonString, TYPE_REF_MAP);
+      return CODEC_MAP.read(jsonString);
     } catch (Exception ex) {
       throw new YuuException(String.format("字符串[%S]转换Map失败", jsonString), ex);
     }
@@ -79,7 +120,7 @@ public class JsonUtil {
    */
   public static List<Map<String, Object>> getMapList(final String jsonString) {
     try {
-      return getType(jsonString, TYPE_REF_LIST_MAP);
+      return CODEC_LIST_MAP.read(jsonString);
     } catch (Exception ex) {
       throw new YuuException(String.format("字符串[%S]转换Map列表失败", jsonString), ex);
     }
@@ -106,12 +147,7 @@ public class JsonUtil {
    * @return 判断结果
    */
   public static boolean isJsonString(final String jsonString) {
-    try {
-      MAPPER.readValue(jsonString, TYPE_REF_MAP);
-      return true;
-    } catch (Exception ex) {
-      return false;
-    }
+    return CODEC_MAP.isValid(jsonString);
   }
 
   /**
@@ -121,12 +157,7 @@ public class JsonUtil {
    * @return 判断结果
    */
   public static boolean isJsonArray(final String jsonString) {
-    try {
-      MAPPER.readValue(jsonString, TYPE_REF_LIST_MAP);
-      return true;
-    } catch (Exception ex) {
-      return false;
-    }
+    return CODEC_LIST_MAP.isValid(jsonString);
   }
 
 }
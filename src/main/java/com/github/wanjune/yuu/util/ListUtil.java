@@ -1,11 +1,29 @@
 package com.github.wanjune.yuu.util;
 
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.BatchMetricsModel;
+
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * List工具类
@@ -15,6 +33,11 @@ import java.util.stream.Stream;
  */
 public class ListUtil {
 
+  // 集合运算:并行计数/去重的元素数阈值
+  static final int PARALLEL_THRESHOLD = 1 << 17;
+  // 并行计数时null元素的键(ConcurrentHashMap不支持null)
+  private static final Object NULL_KEY = new Object();
+
   /**
    * 获取对象List的大小
    *
@@ -27,15 +50,144 @@ public class ListUtil {
   }
 
   /**
-   * 验证2个列表中内容是否一致
+   * 验证2个列表中内容是否一致(不考虑顺序,按元素出现次数比较:[a,a,b]与[a,b,b]不一致)
+   * <p>元素数超过[PARALLEL_THRESHOLD]时并行计数</p>
    *
    * @param list1 列表1
    * @param list2 列表2
    * @return 验证结果
    */
   public static <T> boolean equal(final List<T> list1, final List<T> list2) {
-    return (list1 == null && list2 == null)
-        || ((list1 != null && list2 != null) && list1.size() == list2.size() && new HashSet<>(list1).containsAll(list2) && new HashSet<>(list2).containsAll(list1));
+    if (list1 == null || list2 == null) return list1 == list2;
+    if (list1.size() != list2.size()) return false;
+    if (list1.size() > PARALLEL_THRESHOLD) return countParallel(list1).equals(countParallel(list2));
+
+    // 列表1计数 -> 列表2逐个抵消(不足时不一致)
+    Map<T, int[]> countMap = count(list1);
+    for (T element : list2) {
+      int[] count = countMap.get(element);
+      if (count == null || count[0] == 0) return false;
+      count[0]--;
+    }
+    return true;
+  }
+
+  /**
+   * 列表的差集(列表1中抵消列表2的元素后剩余的元素,按元素出现次数,保持列表1的顺序)
+   * <p>例:[a,a,b,c] - [a,c,d] = [a,b]</p>
+   *
+   * @param list1 列表1
+   * @param list2 列表2
+   * @return 差集
+   */
+  public static <T> List<T> diff(final List<T> list1, final List<T> list2) {
+    return match(list1, list2, false);
+  }
+
+  /**
+   * 列表的交集(列表1中与列表2抵消的元素,按元素出现次数,保持列表1的顺序)
+   * <p>例:[a,a,b,c] ∩ [a,c,c,d] = [a,c]</p>
+   *
+   * @param list1 列表1
+   * @param list2 列表2
+   * @return 交集
+   */
+  public static <T> List<T> intersect(final List<T> list1, final List<T> list2) {
+    return match(list1, list2, true);
+  }
+
+  /**
+   * 列表去重(保留第一次出现的元素,保持顺序)
+   * <p>元素数超过[PARALLEL_THRESHOLD]时并行去重</p>
+   *
+   * @param list 列表
+   * @return 去重后的列表
+   */
+  public static <T> List<T> dedupe(final List<T> list) {
+    if (isEmpty(list)) return new ArrayList<>();
+    if (list.size() > PARALLEL_THRESHOLD) return list.parallelStream().distinct().collect(Collectors.toList());
+
+    Set<T> elementSet = new HashSet<>(hashCapacity(list.size()));
+    List<T> result = new ArrayList<>(list.size());
+    for (T element : list) {
+      if (elementSet.add(element)) result.add(element);
+    }
+    return result;
+  }
+
+  /**
+   * 按元素出现次数抵消列表2后,返回列表1中抵消/剩余的元素
+   * <p>列表2的元素数超过[PARALLEL_THRESHOLD]时并行计数</p>
+   *
+   * @param list1   列表1
+   * @param list2   列表2
+   * @param matched true:抵消的元素(交集) / false:剩余的元素(差集)
+   * @return 元素列表
+   */
+  private static <T> List<T> match(final List<T> list1, final List<T> list2, final boolean matched) {
+    if (isEmpty(list1)) return new ArrayList<>();
+    if (isEmpty(list2)) return matched ? new ArrayList<>() : new ArrayList<>(list1);
+
+    List<T> result = new ArrayList<>(matched ? Math.min(list1.size(), list2.size()) : list1.size());
+    if (list2.size() > PARALLEL_THRESHOLD) {
+      Map<Object, Long> countMap = countParallel(list2);
+      Map<Object, long[]> remainMap = new HashMap<>(hashCapacity(countMap.size()));
+      countMap.forEach((key, count) -> remainMap.put(key, new long[]{count}));
+      for (T element : list1) {
+        long[] remain = remainMap.get(element == null ? NULL_KEY : element);
+        boolean hit = remain != null && remain[0] > 0;
+        if (hit) remain[0]--;
+        if (hit == matched) result.add(element);
+      }
+    } else {
+      Map<T, int[]> countMap = count(list2);
+      for (T element : list1) {
+        int[] remain = countMap.get(element);
+        boolean hit = remain != null && remain[0] > 0;
+        if (hit) remain[0]--;
+        if (hit == matched) result.add(element);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 元素计数(预分配容量)
+   *
+   * @param list 列表
+   * @return 元素 -> 出现次数
+   */
+  private static <T> Map<T, int[]> count(final List<T> list) {
+    Map<T, int[]> countMap = new HashMap<>(hashCapacity(list.size()));
+    for (T element : list) {
+      int[] count = countMap.get(element);
+      if (count == null) {
+        countMap.put(element, new int[]{1});
+      } else {
+        count[0]++;
+      }
+    }
+    return countMap;
+  }
+
+  /**
+   * 元素并行计数(null元素 -> NULL_KEY)
+   *
+   * @param list 列表
+   * @return 元素 -> 出现次数
+   */
+  private static <T> Map<Object, Long> countParallel(final List<T> list) {
+    return list.parallelStream().collect(Collectors.groupingByConcurrent(element -> element == null ? NULL_KEY : element, Collectors.counting()));
+  }
+
+  /**
+   * 哈希集合的初始容量(元素数不超过时不扩容)
+   *
+   * @param size 元素数
+   * @return 初始容量
+   */
+  private static int hashCapacity(final int size) {
+    return (int) Math.min((long) size * 4 / 3 + 1, Integer.MAX_VALUE);
   }
 
   /**
@@ -51,18 +203,135 @@ public class ListUtil {
 
   /**
    * 字符串形式的数组转换为列表
+   * <p>例:["a", "b"] / [1, 2] / a,b -> [a, b];元素的前后空白去除,双引号中的内容原样保留(支持转义)</p>
    *
    * @param arraysString 字符串形式的数组
-   * @return 字符串列表
+   * @return 字符串列表(无元素 -> null)
    */
   public static List<String> asList(final String arraysString) {
-    if (StringUtil.isBlank(arraysString)) return null;
-    String stdArraysString = StringUtil.trimFirstAndLastChar(arraysString, CstUtil.BRACKET)
-        .replaceAll(CstUtil.COMMA + StringUtil.SPACE, CstUtil.COMMA)
-        .replaceAll(CstUtil.DOUBLE_QUOTE, StringUtil.EMPTY);
-    return StringUtil.isBlank(stdArraysString) ? null : new ArrayList<>((Arrays.asList(stdArraysString.split(CstUtil.COMMA))));
+    List<String> list = new ArrayList<>();
+    forEachToken(arraysString, list::add);
+    return list.isEmpty() ? null : list;
   }
 
+  /**
+   * 逐个处理字符串形式的数组的元素(不创建列表,一次遍历)
+   * <ul>
+   *   <li>首尾的方括号([])去除,元素按逗号(,)分割,元素的前后空白去除</li>
+   *   <li>双引号中的逗号和空白作为元素内容;双引号中支持JSON转义(双引号,反斜杠,换行,制表符,Unicode等)</li>
+   *   <li>末尾的空元素忽略(与String.split一致)</li>
+   * </ul>
+   *
+   * @param arraysString 字符串形式的数组
+   * @param visitor      元素处理
+   * @return 元素数
+   */
+  public static int forEachToken(final String arraysString, final Consumer<String> visitor) {
+    if (StringUtil.isBlank(arraysString)) return 0;
+    int start = 0;
+    int end = arraysString.length();
+    while (start < end && Character.isWhitespace(arraysString.charAt(start))) start++;
+    while (end > start && Character.isWhitespace(arraysString.charAt(end - 1))) end--;
+    if (end - start >= 2 && arraysString.charAt(start) == CstUtil.BRACKET.charAt(0) && arraysString.charAt(end - 1) == CstUtil.BRACKET.charAt(1)) {
+      start++;
+      end--;
+    }
+
+    StringBuilder token = new StringBuilder();
+    int tokenCnt = 0;
+    // 待处理的空元素数(之后出现非空元素时才处理)
+    int emptyCnt = 0;
+    int i = start;
+    while (i <= end) {
+      // 元素:去除前部空白 -> 读取至逗号(双引号外)
+      token.setLength(0);
+      int keepLen = 0;
+      boolean quoted = false;
+      while (i < end && Character.isWhitespace(arraysString.charAt(i))) i++;
+      for (; i < end; i++) {
+        char c = arraysString.charAt(i);
+        if (c == '"') {
+          quoted = true;
+          i = readQuoted(arraysString, i + 1, end, token);
+          keepLen = token.length();
+        } else if (c == ',') {
+          break;
+        } else {
+          token.append(c);
+          if (!Character.isWhitespace(c)) keepLen = token.length();
+        }
+      }
+      // 去除后部空白(双引号外)
+      token.setLength(keepLen);
+
+      if (token.length() == 0 && !quoted) {
+        emptyCnt++;
+      } else {
+        for (; emptyCnt > 0; emptyCnt--, tokenCnt++) {
+          visitor.accept(StringUtil.EMPTY);
+        }
+        visitor.accept(token.toString());
+        tokenCnt++;
+      }
+      // 跳过逗号
+      i++;
+    }
+    return tokenCnt;
+  }
+
+  /**
+   * 读取双引号中的内容(JSON转义)
+   *
+   * @param string 字符串
+   * @param start  开始位置(开始双引号之后)
+   * @param end    结束位置
+   * @param token  元素内容
+   * @return 结束双引号的位置(没有结束双引号 -> end)
+   */
+  private static int readQuoted(final String string, final int start, final int end, final StringBuilder token) {
+    int i = start;
+    for (; i < end; i++) {
+      char c = string.charAt(i);
+      if (c == '"') return i;
+      if (c != '\\' || i + 1 == end) {
+        token.append(c);
+        continue;
+      }
+      char e = string.charAt(++i);
+      switch (e) {
+        case 'b':
+          token.append('\b');
+          break;
+        case 'f':
+          token.append('\f');
+          break;
+        case 'n':
+          token.append('\n');
+          break;
+        case 'r':
+          token.append('\r');
+          break;
+        case 't':
+          token.append('\t');
+          break;
+        case 'u':
+          if (i + 4 < end) {
+            try {
+              token.append((char) Integer.parseInt(string.substring(i + 1, i + 5), 16));
+              i += 4;
+              break;
+            } catch (NumberFormatException ex) {
+              // 不是Unicode转义 -> 原样保留
+            }
+          }
+          token.append(e);
+          break;
+        default:
+          token.append(e);
+      }
+    }
+    return i;
+  }
 
   /**
    * 列表对象是否为空
@@ -120,15 +389,226 @@ public class ListUtil {
 
   /**
    * 将列表按照每部分大小进行分割
+   * <p>每部分为原列表的视图(subList),不复制元素;修改原列表的结构(增删元素)后,分割结果不能再使用</p>
+   * <p>原列表不支持随机访问(LinkedList等)时,先复制为ArrayList再分割</p>
    *
    * @param list 被分割的列表对象
    * @param len  每部分列表长度
    * @return 分割的列表
    */
-  public static <T> List<List<T>> partition(final List<T> list, int len) {
-    if (ListUtil.notEmpty(list) && len < 1) return null;
-    int limit = (list.size() + len - 1) / len;
-    return Stream.iterate(0, n -> n + 1).limit(limit).parallel().map(a -> list.stream().skip((long) a * len).limit(len).parallel().collect(Collectors.toList())).collect(Collectors.toList());
+  public static <T> List<List<T>> partition(final List<T> list, final int len) {
+    if (isEmpty(list)) return new ArrayList<>();
+    if (len < 1) return null;
+    List<T> src = list instanceof RandomAccess ? list : new ArrayList<>(list);
+    List<List<T>> partList = new ArrayList<>((src.size() + len - 1) / len);
+    for (int start = 0; start < src.size(); start += len) {
+      partList.add(src.subList(start, Math.min(start + len, src.size())));
+    }
+    return partList;
+  }
+
+  /**
+   * 将元素按照每部分大小延迟分割(不需要预先知道元素数量)
+   * <p>按需读取元素,内存中只保留当前部分;适用于大小未知的集合或需要逐批处理的数据</p>
+   *
+   * @param iterable 被分割的元素
+   * @param len      每部分列表长度
+   * @return 分割的列表流
+   */
+  public static <T> Stream<List<T>> partitionStream(final Iterable<T> iterable, final int len) {
+    return iterable == null ? Stream.empty() : partitionStream(iterable.spliterator(), len);
+  }
+
+  /**
+   * 将元素流按照每部分大小延迟分割
+   *
+   * @param stream 被分割的元素流
+   * @param len    每部分列表长度
+   * @return 分割的列表流
+   */
+  public static <T> Stream<List<T>> partitionStream(final Stream<T> stream, final int len) {
+    return stream == null ? Stream.empty() : partitionStream(stream.spliterator(), len);
+  }
+
+  /**
+   * 将元素按照每部分大小延迟分割
+   *
+   * @param spliterator 元素的Spliterator
+   * @param len         每部分列表长度
+   * @return 分割的列表流
+   */
+  private static <T> Stream<List<T>> partitionStream(final Spliterator<T> spliterator, final int len) {
+    if (len < 1) throw new YuuException(String.format("每部分列表长度[%s]必须大于0", len));
+    long estimateSize = spliterator.estimateSize() == Long.MAX_VALUE ? Long.MAX_VALUE : (spliterator.estimateSize() + len - 1) / len;
+    return StreamSupport.stream(new Spliterators.AbstractSpliterator<List<T>>(estimateSize, Spliterator.ORDERED | Spliterator.NONNULL) {
+      @Override
+      public boolean tryAdvance(final Consumer<? super List<T>> action) {
+        List<T> part = new ArrayList<>(Math.min(len, 1024));
+        while (part.size() < len && spliterator.tryAdvance(part::add)) {
+          // 读取至部分已满或元素结束
+        }
+        if (part.isEmpty()) return false;
+        action.accept(part);
+        return true;
+      }
+    }, false);
+  }
+
+  /**
+   * 分批处理(按批次大小分割后并行处理,等待全部批次完成)
+   * <p>同时执行的批次数不超过并行数;任意批次失败时,取消其他批次并抛出第一个失败</p>
+   *
+   * @param list        元素列表
+   * @param batchSize   批次大小
+   * @param parallelism 并行数(1 -> 在调用线程中顺序处理)
+   * @param fn          批次处理
+   * @return 耗时统计
+   */
+  public static <T> BatchMetricsModel forEachBatch(final List<T> list, final int batchSize, final int parallelism, final Consumer<List<T>> fn) {
+    BatchMetricsModel metrics = new BatchMetricsModel();
+    runBatches(list, batchSize, parallelism, batch -> {
+      fn.accept(batch);
+      return null;
+    }, metrics);
+    return metrics;
+  }
+
+  /**
+   * 分批处理并收集结果(结果按批次顺序)
+   *
+   * @param list        元素列表
+   * @param batchSize   批次大小
+   * @param parallelism 并行数(1 -> 在调用线程中顺序处理)
+   * @param fn          批次处理(批次 -> 结果)
+   * @return 各批次的结果列表
+   */
+  public static <T, R> List<R> mapBatch(final List<T> list, final int batchSize, final int parallelism, final Function<List<T>, R> fn) {
+    return mapBatch(list, batchSize, parallelism, fn, null);
+  }
+
+  /**
+   * 分批处理并收集结果(结果按批次顺序)
+   *
+   * @param list        元素列表
+   * @param batchSize   批次大小
+   * @param parallelism 并行数(1 -> 在调用线程中顺序处理)
+   * @param fn          批次处理(批次 -> 结果)
+   * @param metrics     耗时统计(null -> 不需要)
+   * @return 各批次的结果列表
+   */
+  public static <T, R> List<R> mapBatch(final List<T> list, final int batchSize, final int parallelism, final Function<List<T>, R> fn, final BatchMetricsModel metrics) {
+    return runBatches(list, batchSize, parallelism, fn, metrics == null ? new BatchMetricsModel() : metrics);
+  }
+
+  /**
+   * 执行分批处理
+   *
+   * @param list        元素列表
+   * @param batchSize   批次大小
+   * @param parallelism 并行数
+   * @param fn          批次处理
+   * @param metrics     耗时统计
+   * @return 各批次的结果列表
+   */
+  @SuppressWarnings("unchecked")
+  private static <T, R> List<R> runBatches(final List<T> list, final int batchSize, final int parallelism, final Function<List<T>, R> fn, final BatchMetricsModel metrics) {
+    List<List<T>> batchList = partition(list, batchSize);
+    if (batchList == null) throw new YuuException(String.format("批次大小[%s]必须大于0", batchSize));
+    int parallel = Math.max(1, Math.min(parallelism, batchList.size()));
+    Object[] results = new Object[batchList.size()];
+    long[] costNanos = new long[batchList.size()];
+    long start = System.nanoTime();
+
+    if (parallel == 1) {
+      for (int i = 0; i < batchList.size(); i++) {
+        runBatch(batchList, i, fn, results, costNanos);
+      }
+    } else {
+      // 先提交[并行数]个批次,每完成一个批次再提交下一个
+      ExecutorService pool = Executors.newFixedThreadPool(parallel);
+      CompletionService<Object> completionService = new ExecutorCompletionService<>(pool);
+      List<Future<Object>> futureList = new ArrayList<>(batchList.size());
+      try {
+        int submitted = 0;
+        for (; submitted < parallel; submitted++) {
+          futureList.add(submitBatch(completionService, batchList, submitted, fn, results, costNanos));
+        }
+        for (int completed = 0; completed < batchList.size(); completed++) {
+          try {
+            completionService.take().get();
+          } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof YuuException ? (YuuException) ex.getCause() : new YuuException("分批处理失败", ex.getCause());
+          }
+          if (submitted < batchList.size()) {
+            futureList.add(submitBatch(completionService, batchList, submitted, fn, results, costNanos));
+            submitted++;
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new YuuException("分批处理被中断", ex);
+      } finally {
+        // 失败时取消仍在执行的批次
+        for (Future<Object> future : futureList) {
+          future.cancel(true);
+        }
+        pool.shutdownNow();
+      }
+    }
+
+    metrics.setBatchCount(batchList.size());
+    metrics.setElementCount(size(list));
+    metrics.setParallelism(parallel);
+    metrics.setCostMillis((System.nanoTime() - start) / 1000000);
+    List<Long> batchCostMillisList = new ArrayList<>(costNanos.length);
+    for (long costNano : costNanos) {
+      batchCostMillisList.add(costNano / 1000000);
+    }
+    metrics.setBatchCostMillisList(batchCostMillisList);
+    return (List<R>) Arrays.asList(results);
+  }
+
+  /**
+   * 提交批次
+   *
+   * @param completionService 线程池
+   * @param batchList         批次列表
+   * @param index             批次索引
+   * @param fn                批次处理
+   * @param results           结果数组
+   * @param costNanos         耗时数组
+   * @return 批次任务
+   */
+  private static <T, R> Future<Object> submitBatch(final CompletionService<Object> completionService,
+                                                   final List<List<T>> batchList,
+                                                   final int index,
+                                                   final Function<List<T>, R> fn,
+                                                   final Object[] results,
+                                                   final long[] costNanos) {
+    return completionService.submit(() -> {
+      runBatch(batchList, index, fn, results, costNanos);
+      return null;
+    });
+  }
+
+  /**
+   * 处理批次(记录结果和耗时)
+   *
+   * @param batchList 批次列表
+   * @param index     批次索引
+   * @param fn        批次处理
+   * @param results   结果数组
+   * @param costNanos 耗时数组
+   */
+  private static <T, R> void runBatch(final List<List<T>> batchList, final int index, final Function<List<T>, R> fn, final Object[] results, final long[] costNanos) {
+    long start = System.nanoTime();
+    try {
+      results[index] = fn.apply(batchList.get(index));
+    } catch (Exception ex) {
+      throw new YuuException(String.format("第[%s]批(元素数:%s)处理失败", index + 1, batchList.get(index).size()), ex);
+    } finally {
+      costNanos[index] = System.nanoTime() - start;
+    }
   }
 
 }
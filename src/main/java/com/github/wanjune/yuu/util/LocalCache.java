@@ -0,0 +1,636 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.CacheStatsModel;
+import com.github.wanjune.yuu.value.CacheEvictionEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * 本地缓存(有界,线程安全)
+ * <p>按条目数或权重限制容量,超过时按LRU或W-TinyLFU淘汰;支持条目单独的过期时间,加载函数(同一键的并发未命中只加载一次)和命中/未命中/淘汰统计</p>
+ * <p>读取不加锁(ConcurrentHashMap);访问顺序/频率的更新在锁竞争时跳过(只影响淘汰的精度);写入和淘汰在锁内进行</p>
+ * <p>键和值不能为null(加载函数返回null时不缓存)</p>
+ *
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class LocalCache<K, V> {
+
+  // 队列:窗口(LRU时为全部条目)
+  private static final int WINDOW = 0;
+  // 队列:试用段
+  private static final int PROBATION = 1;
+  // 队列:保护段
+  private static final int PROTECTED = 2;
+  // 队列:已删除
+  private static final int REMOVED = -1;
+  // 窗口的权重占比(%,W-TinyLFU)
+  private static final int WINDOW_PERCENT = 1;
+  // 保护段的权重占比(%,主区域中)
+  private static final int PROTECTED_PERCENT = 80;
+
+  // 条目
+  private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  // 加载中的键(同一键只加载一次)
+  private final ConcurrentHashMap<K, CompletableFuture<V>> loadings = new ConcurrentHashMap<>();
+  // 淘汰策略的锁
+  private final ReentrantLock lock = new ReentrantLock();
+  // 最大权重
+  private final long maximumWeight;
+  // 默认的过期时间(毫秒,小于1 -> 不过期)
+  private final long expireMillis;
+  // 权重计算
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  // 淘汰策略
+  private final CacheEvictionEnum eviction;
+  // 队列:窗口(LRU时为全部条目)
+  private final NodeQueue<K, V> window = new NodeQueue<>();
+  // 队列:试用段
+  private final NodeQueue<K, V> probation = new NodeQueue<>();
+  // 队列:保护段
+  private final NodeQueue<K, V> protectedQueue = new NodeQueue<>();
+  // 窗口的最大权重
+  private final long windowMaximum;
+  // 保护段的最大权重
+  private final long protectedMaximum;
+  // 访问频率(W-TinyLFU)
+  private final FrequencySketch sketch;
+
+  // 命中数
+  private final LongAdder hitCount = new LongAdder();
+  // 未命中数
+  private final LongAdder missCount = new LongAdder();
+  // 加载成功数
+  private final LongAdder loadSuccessCount = new LongAdder();
+  // 加载失败数
+  private final LongAdder loadFailureCount = new LongAdder();
+  // 加载总耗时(纳秒)
+  private final LongAdder totalLoadNanos = new LongAdder();
+  // 淘汰数
+  private final LongAdder evictionCount = new LongAdder();
+
+  // 总权重(锁内更新)
+  private volatile long totalWeight;
+
+  /**
+   * 创建本地缓存(按条目数限制,LRU淘汰)
+   *
+   * @param maximumSize  最大条目数
+   * @param expireMillis 默认的过期时间(写入后,毫秒;小于1 -> 不过期)
+   */
+  public LocalCache(final long maximumSize, final long expireMillis) {
+    this(maximumSize, expireMillis, null, CacheEvictionEnum.LRU);
+  }
+
+  /**
+   * 创建本地缓存
+   *
+   * @param maximumWeight 最大权重(weigher为null时为最大条目数)
+   * @param expireMillis  默认的过期时间(写入后,毫秒;小于1 -> 不过期)
+   * @param weigher       权重计算(null -> 每个条目为1;结果不能为负数)
+   * @param eviction      淘汰策略(null -> LRU)
+   */
+  public LocalCache(final long maximumWeight, final long expireMillis, final ToIntBiFunction<? super K, ? super V> weigher, final CacheEvictionEnum eviction) {
+    if (maximumWeight < 1) throw new YuuException(String.format("本地缓存的最大权重[%s]不正确", maximumWeight));
+    this.maximumWeight = maximumWeight;
+    this.expireMillis = expireMillis;
+    this.weigher = weigher;
+    this.eviction = eviction == null ? CacheEvictionEnum.LRU : eviction;
+    if (this.eviction == CacheEvictionEnum.TINY_LFU) {
+      this.windowMaximum = Math.max(1, maximumWeight * WINDOW_PERCENT / 100);
+      this.protectedMaximum = (maximumWeight - windowMaximum) * PROTECTED_PERCENT / 100;
+      this.sketch = new FrequencySketch(maximumWeight);
+    } else {
+      this.windowMaximum = maximumWeight;
+      this.protectedMaximum = 0;
+      this.sketch = null;
+    }
+  }
+
+  /**
+   * 获取值
+   *
+   * @param key 键
+   * @return 值(不存在/已过期 -> null)
+   */
+  public V get(final K key) {
+    checkKey(key);
+    Node<K, V> node = data.get(key);
+    long now = System.nanoTime();
+    if (node == null || node.isExpired(now)) {
+      if (node != null) expire(node);
+      missCount.increment();
+      if (sketch != null) tryRecord(null, key);
+      return null;
+    }
+    hitCount.increment();
+    tryRecord(node, key);
+    return node.value;
+  }
+
+  /**
+   * 获取值(不存在时加载;使用默认的过期时间)
+   *
+   * @param key    键
+   * @param loader 加载函数(返回null -> 不缓存)
+   * @return 值
+   */
+  public V get(final K key, final Function<? super K, ? extends V> loader) {
+    return get(key, loader, expireMillis);
+  }
+
+  /**
+   * 获取值(不存在时加载)
+   * <p>同一键的并发未命中只调用一次加载函数,其他线程等待其结果;加载失败时所有等待的线程抛出相同的异常</p>
+   *
+   * @param key          键
+   * @param loader       加载函数(返回null -> 不缓存)
+   * @param expireMillis 加载的值的过期时间(毫秒;小于1 -> 不过期)
+   * @return 值
+   */
+  public V get(final K key, final Function<? super K, ? extends V> loader, final long expireMillis) {
+    V value = get(key);
+    if (value != null) return value;
+
+    CompletableFuture<V> loading = new CompletableFuture<>();
+    CompletableFuture<V> existing = loadings.putIfAbsent(key, loading);
+    if (existing != null) return await(key, existing);
+
+    long start = System.nanoTime();
+    try {
+      // 未命中到登记加载之间,其他线程可能已完成加载
+      Node<K, V> node = data.get(key);
+      if (node != null && !node.isExpired(System.nanoTime())) {
+        value = node.value;
+      } else {
+        value = loader.apply(key);
+        loadSuccessCount.increment();
+        totalLoadNanos.add(System.nanoTime() - start);
+        if (value != null) put(key, value, expireMillis);
+      }
+      loading.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      loadFailureCount.increment();
+      totalLoadNanos.add(System.nanoTime() - start);
+      loading.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      loadings.remove(key, loading);
+    }
+  }
+
+  /**
+   * 设置值(使用默认的过期时间)
+   *
+   * @param key   键
+   * @param value 值
+   */
+  public void put(final K key, final V value) {
+    put(key, value, expireMillis);
+  }
+
+  /**
+   * 设置值
+   * <p>权重超过最大权重的条目不缓存(已有的旧值删除,计为淘汰),不淘汰其他条目</p>
+   *
+   * @param key          键
+   * @param value        值
+   * @param expireMillis 过期时间(毫秒;小于1 -> 不过期)
+   */
+  public void put(final K key, final V value, final long expireMillis) {
+    checkKey(key);
+    if (value == null) throw new YuuException(String.format("本地缓存的键[%s]的值不能为空", key));
+    int weight = weigher == null ? 1 : weigher.applyAsInt(key, value);
+    if (weight < 0) throw new YuuException(String.format("本地缓存的键[%s]的权重[%s]不正确", key, weight));
+    long expireAt = expireMillis < 1 ? 0 : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(expireMillis);
+
+    lock.lock();
+    try {
+      if (sketch != null) sketch.increment(key);
+      Node<K, V> node = data.get(key);
+      if (weight > maximumWeight) {
+        if (node != null) unlink(node);
+        evictionCount.increment();
+        return;
+      }
+      if (node == null) {
+        node = new Node<>(key, value, weight, expireAt);
+        data.put(key, node);
+        window.addLast(node, WINDOW);
+        totalWeight += weight;
+      } else {
+        node.value = value;
+        node.expireAt = expireAt;
+        queueOf(node.queue).weight += weight - node.weight;
+        totalWeight += weight - node.weight;
+        node.weight = weight;
+        onAccess(node);
+      }
+      evict();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 删除键
+   *
+   * @param key 键
+   * @return 删除前的值(不存在 -> null)
+   */
+  public V remove(final K key) {
+    checkKey(key);
+    lock.lock();
+    try {
+      Node<K, V> node = data.get(key);
+      if (node == null) return null;
+      unlink(node);
+      return node.value;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 清空缓存(不计入淘汰数)
+   */
+  public void clear() {
+    lock.lock();
+    try {
+      for (Node<K, V> node : new ArrayList<>(data.values())) {
+        unlink(node);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 删除全部已过期的条目(遍历全部条目;未调用时过期的条目在访问或按容量淘汰时删除)
+   *
+   * @return 删除的条目数
+   */
+  public int cleanUp() {
+    long now = System.nanoTime();
+    List<Node<K, V>> expiredList = new ArrayList<>();
+    for (Node<K, V> node : data.values()) {
+      if (node.isExpired(now)) expiredList.add(node);
+    }
+    for (Node<K, V> node : expiredList) {
+      expire(node);
+    }
+    return expiredList.size();
+  }
+
+  /**
+   * 条目数(包括未删除的已过期条目)
+   *
+   * @return 条目数
+   */
+  public int size() {
+    return data.size();
+  }
+
+  /**
+   * 总权重
+   *
+   * @return 总权重
+   */
+  public long weight() {
+    return totalWeight;
+  }
+
+  /**
+   * 统计
+   *
+   * @return 统计
+   */
+  public CacheStatsModel stats() {
+    CacheStatsModel stats = new CacheStatsModel();
+    stats.setHitCount(hitCount.sum());
+    stats.setMissCount(missCount.sum());
+    stats.setLoadSuccessCount(loadSuccessCount.sum());
+    stats.setLoadFailureCount(loadFailureCount.sum());
+    stats.setTotalLoadMillis(TimeUnit.NANOSECONDS.toMillis(totalLoadNanos.sum()));
+    stats.setEvictionCount(evictionCount.sum());
+    stats.setSize(data.size());
+    stats.setWeight(totalWeight);
+    return stats;
+  }
+
+  /**
+   * 等待其他线程的加载结果
+   *
+   * @param key     键
+   * @param loading 加载结果
+   * @return 值
+   */
+  private V await(final K key, final CompletableFuture<V> loading) {
+    try {
+      return loading.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new YuuException(String.format("等待本地缓存的键[%s]加载被中断", key), ex);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new YuuException(String.format("本地缓存的键[%s]加载失败", key), cause);
+    }
+  }
+
+  /**
+   * 记录访问(锁竞争时跳过)
+   *
+   * @param node 条目(未命中 -> null)
+   * @param key  键
+   */
+  private void tryRecord(final Node<K, V> node, final K key) {
+    if (!lock.tryLock()) return;
+    try {
+      if (sketch != null) sketch.increment(key);
+      if (node != null && node.queue != REMOVED) onAccess(node);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 访问后调整队列(锁内)
+   * <p>窗口/保护段 -> 移到队尾;试用段 -> 升级到保护段(超过保护段的最大权重时,保护段队头降级到试用段)</p>
+   *
+   * @param node 条目
+   */
+  private void onAccess(final Node<K, V> node) {
+    if (node.queue != PROBATION) {
+      queueOf(node.queue).moveToLast(node);
+      return;
+    }
+    probation.remove(node);
+    protectedQueue.addLast(node, PROTECTED);
+    while (protectedQueue.weight > protectedMaximum && protectedQueue.head != null) {
+      Node<K, V> demoted = protectedQueue.head;
+      protectedQueue.remove(demoted);
+      probation.addLast(demoted, PROBATION);
+    }
+  }
+
+  /**
+   * 按容量淘汰(锁内)
+   * <p>LRU:淘汰窗口队头</p>
+   * <p>W-TinyLFU:超过窗口最大权重的条目移到试用段队尾作为候选;超过最大权重时比较候选(试用段队尾)和牺牲者(试用段队头)的访问频率,淘汰频率低的一方</p>
+   */
+  private void evict() {
+    if (sketch == null) {
+      while (totalWeight > maximumWeight) {
+        evict(window.head);
+      }
+      return;
+    }
+
+    while (window.weight > windowMaximum && window.head != null) {
+      Node<K, V> candidate = window.head;
+      window.remove(candidate);
+      probation.addLast(candidate, PROBATION);
+    }
+    while (totalWeight > maximumWeight) {
+      Node<K, V> victim = probation.head;
+      Node<K, V> candidate = probation.tail;
+      if (victim == null) {
+        victim = protectedQueue.head != null ? protectedQueue.head : window.head;
+        candidate = victim;
+      }
+      evict(victim == candidate || sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate);
+    }
+  }
+
+  /**
+   * 淘汰条目(锁内)
+   *
+   * @param node 条目
+   */
+  private void evict(final Node<K, V> node) {
+    unlink(node);
+    evictionCount.increment();
+  }
+
+  /**
+   * 删除已过期的条目
+   *
+   * @param node 条目
+   */
+  private void expire(final Node<K, V> node) {
+    lock.lock();
+    try {
+      // 加锁前可能已被删除或更新
+      if (node.queue != REMOVED && node.isExpired(System.nanoTime())) evict(node);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 获取条目所在的队列
+   *
+   * @param queue 队列(窗口/试用段/保护段)
+   * @return 队列
+   */
+  private NodeQueue<K, V> queueOf(final int queue) {
+    switch (queue) {
+      case WINDOW:
+        return window;
+      case PROBATION:
+        return probation;
+      case PROTECTED:
+        return protectedQueue;
+      default:
+        throw new YuuException(String.format("本地缓存的队列[%s]不正确", queue));
+    }
+  }
+
+  /**
+   * 从条目和队列中删除(锁内)
+   *
+   * @param node 条目
+   */
+  private void unlink(final Node<K, V> node) {
+    data.remove(node.key, node);
+    queueOf(node.queue).remove(node);
+    node.queue = REMOVED;
+    totalWeight -= node.weight;
+  }
+
+  /**
+   * 校验键
+   *
+   * @param key 键
+   */
+  private static void checkKey(final Object key) {
+    if (key == null) throw new YuuException("本地缓存的键不能为空");
+  }
+
+  /**
+   * 条目(双向链表节点)
+   */
+  private static class Node<K, V> {
+    // 键
+    private final K key;
+    // 值
+    private volatile V value;
+    // 过期时刻(System.nanoTime;0 -> 不过期)
+    private volatile long expireAt;
+    // 权重
+    private int weight;
+    // 所在队列
+    private int queue;
+    // 前一个条目
+    private Node<K, V> prev;
+    // 后一个条目
+    private Node<K, V> next;
+
+    private Node(final K key, final V value, final int weight, final long expireAt) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+      this.expireAt = expireAt;
+    }
+
+    private boolean isExpired(final long now) {
+      long at = expireAt;
+      return at != 0 && now - at >= 0;
+    }
+  }
+
+  /**
+   * 条目队列(队头 -> 最久未访问)
+   */
+  private static class NodeQueue<K, V> {
+    // 队头
+    private Node<K, V> head;
+    // 队尾
+    private Node<K, V> tail;
+    // 权重合计
+    private long weight;
+
+    private void addLast(final Node<K, V> node, final int queue) {
+      node.queue = queue;
+      node.prev = tail;
+      node.next = null;
+      if (tail == null) {
+        head = node;
+      } else {
+        tail.next = node;
+      }
+      tail = node;
+      weight += node.weight;
+    }
+
+    private void remove(final Node<K, V> node) {
+      if (node.prev == null) {
+        head = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        tail = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+      weight -= node.weight;
+    }
+
+    private void moveToLast(final Node<K, V> node) {
+      if (node == tail) return;
+      int queue = node.queue;
+      remove(node);
+      addLast(node, queue);
+    }
+  }
+
+  /**
+   * 访问频率(Count-Min Sketch,4位计数器;增加次数达到样本数时全部减半,使旧的热点逐渐冷却)
+   */
+  private static class FrequencySketch {
+    // 哈希种子
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+    // 计数器上限
+    private static final int MAX_COUNT = 15;
+    // 跟踪的最大条目数
+    private static final long MAX_TRACKED = 1 << 22;
+
+    // 计数器(每个long保存16个4位计数器)
+    private final long[] table;
+    // 计数器数 - 1
+    private final int counterMask;
+    // 样本数(增加次数达到时减半)
+    private final int sampleSize;
+    // 增加次数
+    private int additions;
+
+    private FrequencySketch(final long maximumSize) {
+      int tracked = (int) Math.min(Math.max(maximumSize, 16), MAX_TRACKED);
+      int counters = Integer.highestOneBit(tracked - 1) << 3;
+      this.table = new long[counters >>> 4];
+      this.counterMask = counters - 1;
+      this.sampleSize = tracked * 10;
+    }
+
+    private int frequency(final Object key) {
+      int hash = spread(key.hashCode());
+      int frequency = MAX_COUNT;
+      for (int i = 0; i < SEEDS.length; i++) {
+        int index = index(hash, i);
+        frequency = Math.min(frequency, (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & MAX_COUNT));
+      }
+      return frequency;
+    }
+
+    private void increment(final Object key) {
+      int hash = spread(key.hashCode());
+      boolean added = false;
+      for (int i = 0; i < SEEDS.length; i++) {
+        int index = index(hash, i);
+        int shift = (index & 15) << 2;
+        if (((table[index >>> 4] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+          table[index >>> 4] += 1L << shift;
+          added = true;
+        }
+      }
+      if (added && ++additions >= sampleSize) reset();
+    }
+
+    private void reset() {
+      for (int i = 0; i < table.length; i++) {
+        table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+      }
+      additions >>>= 1;
+    }
+
+    private int index(final int hash, final int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return (int) h & counterMask;
+    }
+
+    private static int spread(final int hashCode) {
+      int h = hashCode * 0x9E3779B9;
+      return h ^ (h >>> 16);
+    }
+  }
+
+}
@@ -0,0 +1,259 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * long集合(基本类型,开放寻址,不装箱)
+ * <p>元素保存在long数组中(线性探测,负载率不超过0.75),代替Set&lt;Long&gt;(每个元素约50字节)保存大量ID</p>
+ * <p>0作为空槽的标记,元素0单独记录</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class LongHashSet {
+
+  // 最大负载率
+  static final double LOAD_FACTOR = 0.75;
+  // 最大数组长度
+  private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+  // 元素数组(0 -> 空槽)
+  private long[] table;
+  // 数组长度 - 1
+  private int mask;
+  // 非0元素数
+  private int size;
+  // 是否包含元素0
+  private boolean hasZero;
+
+  /**
+   * 创建long集合
+   */
+  public LongHashSet() {
+    this(16);
+  }
+
+  /**
+   * 创建long集合
+   *
+   * @param expectedSize 预计元素数(不超过时不扩容)
+   */
+  public LongHashSet(final int expectedSize) {
+    this.table = new long[tableLength(expectedSize)];
+    this.mask = table.length - 1;
+  }
+
+  /**
+   * 数组转换为long集合
+   *
+   * @param array 数组
+   * @return long集合
+   */
+  public static LongHashSet of(final long... array) {
+    LongHashSet set = new LongHashSet(array == null ? 0 : array.length);
+    if (array != null) {
+      for (long value : array) {
+        set.add(value);
+      }
+    }
+    return set;
+  }
+
+  /**
+   * 元素数
+   *
+   * @return 元素数
+   */
+  public int size() {
+    return hasZero ? size + 1 : size;
+  }
+
+  /**
+   * 是否为空
+   *
+   * @return 判断结果
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * 追加元素
+   *
+   * @param value 元素
+   * @return 是否追加(已存在 -> false)
+   */
+  public boolean add(final long value) {
+    if (value == 0) {
+      if (hasZero) return false;
+      hasZero = true;
+      return true;
+    }
+
+    int i = slot(value, mask);
+    for (; table[i] != 0; i = (i + 1) & mask) {
+      if (table[i] == value) return false;
+    }
+    table[i] = value;
+    if (++size > table.length * LOAD_FACTOR) rehash(table.length << 1);
+    return true;
+  }
+
+  /**
+   * 是否包含元素
+   *
+   * @param value 元素
+   * @return 判断结果
+   */
+  public boolean contains(final long value) {
+    if (value == 0) return hasZero;
+    for (int i = slot(value, mask); table[i] != 0; i = (i + 1) & mask) {
+      if (table[i] == value) return true;
+    }
+    return false;
+  }
+
+  /**
+   * 删除元素(之后的连续元素前移,不留删除标记)
+   *
+   * @param value 元素
+   * @return 是否删除(不存在 -> false)
+   */
+  public boolean remove(final long value) {
+    if (value == 0) {
+      boolean removed = hasZero;
+      hasZero = false;
+      return removed;
+    }
+
+    int i = slot(value, mask);
+    for (; table[i] != value; i = (i + 1) & mask) {
+      if (table[i] == 0) return false;
+    }
+    table[i] = 0;
+    size--;
+    shiftBack(table, null, i, mask);
+    return true;
+  }
+
+  /**
+   * 清空集合(保留容量)
+   */
+  public void clear() {
+    Arrays.fill(table, 0);
+    size = 0;
+    hasZero = false;
+  }
+
+  /**
+   * 遍历元素(不装箱,无顺序)
+   *
+   * @param action 元素处理
+   */
+  public void forEach(final LongConsumer action) {
+    if (hasZero) action.accept(0);
+    for (long value : table) {
+      if (value != 0) action.accept(value);
+    }
+  }
+
+  /**
+   * 转换为数组(无顺序)
+   *
+   * @return 数组
+   */
+  public long[] toArray() {
+    long[] array = new long[size()];
+    int n = 0;
+    if (hasZero) n++;
+    for (long value : table) {
+      if (value != 0) array[n++] = value;
+    }
+    return array;
+  }
+
+  /**
+   * 转换为long列表(无顺序)
+   *
+   * @return long列表
+   */
+  public LongList toList() {
+    return LongList.of(toArray());
+  }
+
+  /**
+   * 扩容(重新分配全部元素)
+   *
+   * @param length 新的数组长度
+   */
+  private void rehash(final int length) {
+    if (length > MAX_TABLE_LENGTH) throw new YuuException(String.format("long集合的元素数[%s]过多", size));
+    long[] oldTable = table;
+    table = new long[length];
+    mask = length - 1;
+    for (long value : oldTable) {
+      if (value == 0) continue;
+      int i = slot(value, mask);
+      while (table[i] != 0) i = (i + 1) & mask;
+      table[i] = value;
+    }
+  }
+
+  /**
+   * 元素的槽位(MurmurHash3 fmix64混合,连续ID也能均匀分布)
+   *
+   * @param value 元素
+   * @param mask  数组长度 - 1
+   * @return 槽位
+   */
+  static int slot(final long value, final int mask) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB93FE53FE34FL;
+    h ^= h >>> 33;
+    return (int) h & mask;
+  }
+
+  /**
+   * 数组长度(2的幂,负载率不超过LOAD_FACTOR)
+   *
+   * @param expectedSize 预计元素数
+   * @return 数组长度
+   */
+  static int tableLength(final int expectedSize) {
+    long length = Long.highestOneBit((long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR)) << 1;
+    if (length > MAX_TABLE_LENGTH) throw new YuuException(String.format("预计元素数[%s]过多", expectedSize));
+    return (int) Math.max(4, length);
+  }
+
+  /**
+   * 删除后前移之后的连续元素(保证线性探测的查找不中断)
+   *
+   * @param keys   键数组
+   * @param values 值数组(集合 -> null)
+   * @param hole   被删除的槽位
+   * @param mask   数组长度 - 1
+   */
+  static void shiftBack(final long[] keys, final long[] values, final int hole, final int mask) {
+    int gap = hole;
+    for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+      int home = slot(keys[i], mask);
+      // 原位置在[gap+1, i]之外(循环) -> 可以前移到gap
+      if (((i - home) & mask) >= ((i - gap) & mask)) {
+        keys[gap] = keys[i];
+        keys[i] = 0;
+        if (values != null) {
+          values[gap] = values[i];
+          values[i] = 0;
+        }
+        gap = i;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,247 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+
+import java.util.Arrays;
+
+/**
+ * long-long映射(基本类型,开放寻址,不装箱)
+ * <p>键和值分别保存在long数组中(线性探测,负载率不超过0.75),代替Map&lt;Long, Long&gt;保存ID映射,按ID计数等</p>
+ * <p>0作为空槽的标记,键0单独记录</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class LongLongMap {
+
+  // 最大数组长度
+  private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+  // 键数组(0 -> 空槽)
+  private long[] keys;
+  // 值数组
+  private long[] values;
+  // 数组长度 - 1
+  private int mask;
+  // 非0键数
+  private int size;
+  // 是否包含键0
+  private boolean hasZeroKey;
+  // 键0的值
+  private long zeroValue;
+
+  /**
+   * 键值处理
+   */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    /**
+     * 处理键值
+     *
+     * @param key   键
+     * @param value 值
+     */
+    void accept(long key, long value);
+  }
+
+  /**
+   * 创建long-long映射
+   */
+  public LongLongMap() {
+    this(16);
+  }
+
+  /**
+   * 创建long-long映射
+   *
+   * @param expectedSize 预计键数(不超过时不扩容)
+   */
+  public LongLongMap(final int expectedSize) {
+    int length = LongHashSet.tableLength(expectedSize);
+    this.keys = new long[length];
+    this.values = new long[length];
+    this.mask = length - 1;
+  }
+
+  /**
+   * 键数
+   *
+   * @return 键数
+   */
+  public int size() {
+    return hasZeroKey ? size + 1 : size;
+  }
+
+  /**
+   * 是否为空
+   *
+   * @return 判断结果
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * 是否包含键
+   *
+   * @param key 键
+   * @return 判断结果
+   */
+  public boolean containsKey(final long key) {
+    return key == 0 ? hasZeroKey : find(key) >= 0;
+  }
+
+  /**
+   * 获取值
+   *
+   * @param key          键
+   * @param defaultValue 默认值(键不存在时)
+   * @return 值
+   */
+  public long get(final long key, final long defaultValue) {
+    if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+    int i = find(key);
+    return i >= 0 ? values[i] : defaultValue;
+  }
+
+  /**
+   * 设置值
+   *
+   * @param key   键
+   * @param value 值
+   */
+  public void put(final long key, final long value) {
+    if (key == 0) {
+      hasZeroKey = true;
+      zeroValue = value;
+      return;
+    }
+    values[insert(key)] = value;
+  }
+
+  /**
+   * 值累加(键不存在时从0开始;计数等)
+   *
+   * @param key   键
+   * @param delta 增量
+   * @return 累加后的值
+   */
+  public long addTo(final long key, final long delta) {
+    if (key == 0) {
+      zeroValue = hasZeroKey ? zeroValue + delta : delta;
+      hasZeroKey = true;
+      return zeroValue;
+    }
+    int i = insert(key);
+    values[i] += delta;
+    return values[i];
+  }
+
+  /**
+   * 删除键
+   *
+   * @param key 键
+   * @return 是否删除(不存在 -> false)
+   */
+  public boolean remove(final long key) {
+    if (key == 0) {
+      boolean removed = hasZeroKey;
+      hasZeroKey = false;
+      zeroValue = 0;
+      return removed;
+    }
+    int i = find(key);
+    if (i < 0) return false;
+    keys[i] = 0;
+    values[i] = 0;
+    size--;
+    LongHashSet.shiftBack(keys, values, i, mask);
+    return true;
+  }
+
+  /**
+   * 清空映射(保留容量)
+   */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, 0);
+    size = 0;
+    hasZeroKey = false;
+    zeroValue = 0;
+  }
+
+  /**
+   * 遍历键值(不装箱,无顺序)
+   *
+   * @param action 键值处理
+   */
+  public void forEach(final EntryConsumer action) {
+    if (hasZeroKey) action.accept(0, zeroValue);
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) action.accept(keys[i], values[i]);
+    }
+  }
+
+  /**
+   * 键列表(无顺序)
+   *
+   * @return long列表
+   */
+  public LongList keys() {
+    LongList keyList = new LongList(size());
+    forEach((key, value) -> keyList.add(key));
+    return keyList;
+  }
+
+  /**
+   * 查找键的槽位
+   *
+   * @param key 键(非0)
+   * @return 槽位(不存在 -> -1)
+   */
+  private int find(final long key) {
+    for (int i = LongHashSet.slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) return i;
+    }
+    return -1;
+  }
+
+  /**
+   * 查找或插入键(值为0)的槽位
+   *
+   * @param key 键(非0)
+   * @return 槽位
+   */
+  private int insert(final long key) {
+    int i = LongHashSet.slot(key, mask);
+    for (; keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) return i;
+    }
+    keys[i] = key;
+    if (++size <= keys.length * LongHashSet.LOAD_FACTOR) return i;
+    rehash(keys.length << 1);
+    return find(key);
+  }
+
+  /**
+   * 扩容(重新分配全部键值)
+   *
+   * @param length 新的数组长度
+   */
+  private void rehash(final int length) {
+    if (length > MAX_TABLE_LENGTH) throw new YuuException(String.format("long-long映射的键数[%s]过多", size));
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    keys = new long[length];
+    values = new long[length];
+    mask = length - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      if (oldKeys[j] == 0) continue;
+      int i = LongHashSet.slot(oldKeys[j], mask);
+      while (keys[i] != 0) i = (i + 1) & mask;
+      keys[i] = oldKeys[j];
+      values[i] = oldValues[j];
+    }
+  }
+
+}
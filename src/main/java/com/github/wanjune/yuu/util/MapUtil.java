@@ -1,7 +1,18 @@
 package com.github.wanjune.yuu.util;
 
+import com.github.wanjune.yuu.value.CacheEvictionEnum;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntBiFunction;
 
 /**
  * Map工具类
@@ -71,8 +82,63 @@ public class MapUtil {
     return isEmpty(src) ? src : new HashMap<>(src);
   }
 
+  /**
+   * 创建本地缓存(按条目数限制,LRU淘汰)
+   * <p>代替无上限的ConcurrentHashMap缓存Redis/HTTP/OSS等的查询结果</p>
+   *
+   * @param maximumSize  最大条目数
+   * @param expireMillis 默认的过期时间(写入后,毫秒;小于1 -> 不过期)
+   * @param <K>          键的类型
+   * @param <V>          值的类型
+   * @return 本地缓存
+   */
+  public static <K, V> LocalCache<K, V> newCache(final long maximumSize, final long expireMillis) {
+    return new LocalCache<>(maximumSize, expireMillis);
+  }
+
+  /**
+   * 创建本地缓存
+   *
+   * @param maximumWeight 最大权重(weigher为null时为最大条目数)
+   * @param expireMillis  默认的过期时间(写入后,毫秒;小于1 -> 不过期)
+   * @param weigher       权重计算(null -> 每个条目为1)
+   * @param eviction      淘汰策略(null -> LRU)
+   * @param <K>           键的类型
+   * @param <V>           值的类型
+   * @return 本地缓存
+   */
+  public static <K, V> LocalCache<K, V> newCache(final long maximumWeight, final long expireMillis,
+                                                 final ToIntBiFunction<? super K, ? super V> weigher, final CacheEvictionEnum eviction) {
+    return new LocalCache<>(maximumWeight, expireMillis, weigher, eviction);
+  }
+
+  /**
+   * 创建计数Map(精确模式)
+   * <p>代替加锁的HashMap&lt;String, Long&gt;按键统计吞吐量</p>
+   *
+   * @param <K> 键的类型
+   * @return 计数Map
+   */
+  public static <K> CounterMap<K> newCounter() {
+    return new CounterMap<>();
+  }
+
+  /**
+   * 创建计数Map(近似模式;键数很多时内存固定)
+   *
+   * @param width          计数器的列数(误差不超过总计数的e/列数)
+   * @param candidateCount 跟踪的候选键数
+   * @param <K>            键的类型
+   * @return 计数Map
+   */
+  public static <K> CounterMap<K> newCounter(final int width, final int candidateCount) {
+    return new CounterMap<>(width, candidateCount);
+  }
+
   /**
    * 快速生成Map对象
+   * <p>返回不可修改的Map(键值保存在数组中,按顺序查找,没有哈希表和每个键值的节点对象);需要修改时请使用copy()复制</p>
+   * <p>键重复时后面的值覆盖前面的值;支持null键/值;遍历顺序为参数顺序</p>
    *
    * @param k1  键1
    * @param v1  值1
@@ -100,112 +166,142 @@ public class MapUtil {
    */
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4, final K k5, final V v5,
                                     final K k6, final V v6, final K k7, final V v7, final K k8, final V v8, final K k9, final V v9, final K k10, final V v10) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-      put(k5, v5);
-      put(k6, v6);
-      put(k7, v7);
-      put(k8, v8);
-      put(k9, v9);
-      put(k10, v10);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8, k9, v9, k10, v10);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4, final K k5, final V v5,
                                     final K k6, final V v6, final K k7, final V v7, final K k8, final V v8, final K k9, final V v9) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-      put(k5, v5);
-      put(k6, v6);
-      put(k7, v7);
-      put(k8, v8);
-      put(k9, v9);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8, k9, v9);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4, final K k5,
                                     final V v5, final K k6, final V v6, final K k7, final V v7, final K k8, final V v8) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-      put(k5, v5);
-      put(k6, v6);
-      put(k7, v7);
-      put(k8, v8);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4, final K k5, final V v5,
                                     final K k6, final V v6, final K k7, final V v7) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-      put(k5, v5);
-      put(k6, v6);
-      put(k7, v7);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4, final K k5, final V v5,
                                     final K k6, final V v6) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-      put(k5, v5);
-      put(k6, v6);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4, final K k5, final V v5) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-      put(k5, v5);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4, final V v4) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-      put(k4, v4);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3, k4, v4);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2, final K k3, final V v3) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-      put(k3, v3);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2, k3, v3);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1, final K k2, final V v2) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-      put(k2, v2);
-    }};
+    return new ArrayMap<>(k1, v1, k2, v2);
   }
 
   public static <K, V> Map<K, V> of(final K k1, final V v1) {
-    return new HashMap<K, V>() {{
-      put(k1, v1);
-    }};
+    return new ArrayMap<>(k1, v1);
+  }
+
+  /**
+   * 不可修改的小型Map(键值交替保存在数组中,按顺序查找)
+   * <p>10个以内的键值时,顺序查找比哈希查找更快,且占用内存只有HashMap的几分之一</p>
+   */
+  private static class ArrayMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // 键值数组([键1, 值1, 键2, 值2, ...])
+    private final Object[] table;
+    // 键值数
+    private final int size;
+
+    private ArrayMap(final Object... keyValues) {
+      Object[] entries = new Object[keyValues.length];
+      int n = 0;
+      for (int i = 0; i < keyValues.length; i += 2) {
+        // 键重复 -> 覆盖值
+        int index = indexOf(entries, n, keyValues[i]);
+        if (index >= 0) {
+          entries[index + 1] = keyValues[i + 1];
+        } else {
+          entries[n * 2] = keyValues[i];
+          entries[n * 2 + 1] = keyValues[i + 1];
+          n++;
+        }
+      }
+      this.table = n * 2 == entries.length ? entries : Arrays.copyOf(entries, n * 2);
+      this.size = n;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return indexOf(table, size, key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+      int index = indexOf(table, size, key);
+      return index >= 0 ? (V) table[index + 1] : null;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<Entry<K, V>>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new Iterator<Entry<K, V>>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+              return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Entry<K, V> next() {
+              if (index >= size) throw new NoSuchElementException();
+              Entry<K, V> entry = new SimpleImmutableEntry<>((K) table[index * 2], (V) table[index * 2 + 1]);
+              index++;
+              return entry;
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+
+    /**
+     * 查找键的位置
+     *
+     * @param entries 键值数组
+     * @param size    键值数
+     * @param key     键
+     * @return 键在数组中的位置(不存在 -> -1)
+     */
+    private static int indexOf(final Object[] entries, final int size, final Object key) {
+      for (int i = 0; i < size * 2; i += 2) {
+        if (Objects.equals(entries[i], key)) return i;
+      }
+      return -1;
+    }
   }
 
 }
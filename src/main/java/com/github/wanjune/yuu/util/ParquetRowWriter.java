@@ -0,0 +1,348 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import com.github.wanjune.yuu.value.ColumnTypeEnum;
+import lombok.Getter;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parquet写入器
+ * <p>输入与CsvWriter一致(列名列表 + Map数据/行数据),可以作为EXCEL转换的输出格式(CsvUtil.excel2Data)</p>
+ * <p>列类型按类型指定,未指定时使用数据结构的列类型(SchemaUtil推断的类型等;未指定 -> STRING);字符串的值按类型转换(日期/日时按TimeUtil的格式列表解析;DATETIME列的日期 -> 当天0点;BOOLEAN列为true/false/1/0);INT/LONG列的数值不截断(超过范围/有小数部分 -> 不能转换);不能转换时抛出异常(包含行号和列名),空字符串 -> null</p>
+ * <p>INT -> INT32;DECIMAL -> FIXED_LEN_BYTE_ARRAY(decimal(38,18));DATE -> INT32(date);DATETIME -> INT64(timestamp毫秒,不调整时区)</p>
+ * <p>字典编码和行组大小可以指定,压缩格式为SNAPPY</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class ParquetRowWriter implements RowWriter {
+
+  // 默认行组大小(128MB)
+  public static final int DEFAULT_ROW_GROUP_SIZE = ParquetWriter.DEFAULT_BLOCK_SIZE;
+  // Parquet的Schema名
+  private static final String SCHEMA_NAME = "yuu";
+  // 定点小数的字节数(精度38)
+  private static final int DECIMAL_BYTES = 16;
+
+  // Parquet文件存储路径
+  @Getter
+  private final String parquetPath;
+  // 已写入数据行数
+  @Getter
+  private long rowCount;
+  // 数据结构
+  @Getter
+  private final SchemaModel schema;
+
+  // 列类型(按列索引)
+  private final ColumnTypeEnum[] columnTypes;
+  // 列是否需要清理Unicode(按列索引)
+  private final boolean[] unicodeColumns;
+  // 行数据(Parquet)生成
+  private final SimpleGroupFactory groupFactory;
+  // Parquet写入器
+  private final ParquetWriter<Group> parquetWriter;
+
+  /**
+   * 打开Parquet写入器(所有列为STRING,默认行组大小,字典编码)
+   *
+   * @param parquetPath       Parquet文件存储路径(已存在 -> 覆盖)
+   * @param columnList        列名列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public ParquetRowWriter(final String parquetPath, final List<String> columnList, final List<String> unicodeColumnList) {
+    this(parquetPath, new SchemaModel(columnList == null ? Collections.emptyList() : columnList), null, unicodeColumnList, DEFAULT_ROW_GROUP_SIZE, true);
+  }
+
+  /**
+   * 打开Parquet写入器
+   *
+   * @param parquetPath        Parquet文件存储路径(已存在 -> 覆盖)
+   * @param schema             数据结构
+   * @param columnTypeMap      列类型(列名 -> 类型;null/未指定的列 -> 数据结构的列类型)
+   * @param unicodeColumnList  需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param rowGroupSize       行组大小(字节)
+   * @param dictionaryEncoding 是否使用字典编码
+   */
+  public ParquetRowWriter(final String parquetPath,
+                          final SchemaModel schema,
+                          final Map<String, ColumnTypeEnum> columnTypeMap,
+                          final List<String> unicodeColumnList,
+                          final int rowGroupSize,
+                          final boolean dictionaryEncoding) {
+    this.parquetPath = parquetPath;
+    this.schema = schema;
+    this.columnTypes = new ColumnTypeEnum[schema.size()];
+    this.unicodeColumns = new boolean[schema.size()];
+
+    // 列类型 -> Parquet的Schema
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (int i = 0; i < schema.size(); i++) {
+      String column = schema.getColumn(i);
+      ColumnTypeEnum columnType = columnTypeMap == null ? null : columnTypeMap.get(column);
+      columnTypes[i] = columnType == null ? schema.getType(i) : columnType;
+      unicodeColumns[i] = StringUtil.isContains(column, unicodeColumnList, true);
+      switch (columnTypes[i]) {
+        case INT:
+          builder.optional(PrimitiveTypeName.INT32).named(column);
+          break;
+        case LONG:
+          builder.optional(PrimitiveTypeName.INT64).named(column);
+          break;
+        case DECIMAL:
+          builder.optional(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY).length(DECIMAL_BYTES)
+              .as(LogicalTypeAnnotation.decimalType(ColumnTypeEnum.DECIMAL_SCALE, ColumnTypeEnum.DECIMAL_PRECISION)).named(column);
+          break;
+        case DOUBLE:
+          builder.optional(PrimitiveTypeName.DOUBLE).named(column);
+          break;
+        case BOOLEAN:
+          builder.optional(PrimitiveTypeName.BOOLEAN).named(column);
+          break;
+        case DATE:
+          builder.optional(PrimitiveTypeName.INT32).as(LogicalTypeAnnotation.dateType()).named(column);
+          break;
+        case DATETIME:
+          builder.optional(PrimitiveTypeName.INT64).as(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MILLIS)).named(column);
+          break;
+        default:
+          builder.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(column);
+      }
+    }
+    MessageType messageType = builder.named(SCHEMA_NAME);
+    this.groupFactory = new SimpleGroupFactory(messageType);
+
+    try {
+      FileUtil.create(parquetPath);
+      this.parquetWriter = ExampleParquetWriter.builder(new Path(parquetPath))
+          .withConf(new Configuration())
+          .withType(messageType)
+          .withRowGroupSize((long) rowGroupSize)
+          .withDictionaryEncoding(dictionaryEncoding)
+          .withCompressionCodec(CompressionCodecName.SNAPPY)
+          .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+          .build();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("打开Parquet[%s]失败", parquetPath), ex);
+    }
+  }
+
+  /**
+   * 批量写入数据
+   *
+   * @param dataList 数据列表
+   */
+  public void write(final List<Map<String, Object>> dataList) {
+    if (ListUtil.isEmpty(dataList)) return;
+    for (Map<String, Object> data : dataList) {
+      write(data);
+    }
+  }
+
+  /**
+   * 写入数据
+   *
+   * @param data 数据(按数据结构的列名取值)
+   */
+  public void write(final Map<String, Object> data) {
+    Group group = groupFactory.newGroup();
+    for (int i = 0; i < schema.size(); i++) {
+      addValue(group, i, data.get(schema.getColumn(i)));
+    }
+    writeGroup(group);
+  }
+
+  /**
+   * 批量写入行数据
+   *
+   * @param rowList 行数据列表
+   */
+  @Override
+  public void writeRows(final List<RowModel> rowList) {
+    if (ListUtil.isEmpty(rowList)) return;
+    for (RowModel row : rowList) {
+      write(row);
+    }
+  }
+
+  /**
+   * 写入行数据
+   *
+   * @param row 行数据(列数与数据结构一致)
+   */
+  @Override
+  public void write(final RowModel row) {
+    Group group = groupFactory.newGroup();
+    for (int i = 0; i < schema.size(); i++) {
+      addValue(group, i, row.get(i));
+    }
+    writeGroup(group);
+  }
+
+  /**
+   * 刷新缓存(Parquet按行组写入文件,行组未满时不写入 -> 不处理)
+   */
+  @Override
+  public void flush() {
+    // NOTHING
+  }
+
+  /**
+   * 关闭Parquet写入器(写入最后的行组和文件尾)
+   */
+  @Override
+  public void close() {
+    try {
+      parquetWriter.close();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("关闭Parquet[%s]失败", parquetPath), ex);
+    }
+  }
+
+  /**
+   * 写入行数据(Parquet)
+   *
+   * @param group 行数据(Parquet)
+   */
+  private void writeGroup(final Group group) {
+    try {
+      parquetWriter.write(group);
+      rowCount++;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据写入Parquet[%s]失败", parquetPath), ex);
+    }
+  }
+
+  /**
+   * 定点小数 -> 定长字节数组(decimal(38,18)的非标度值,大端补码)
+   *
+   * @param decimal 定点小数
+   * @return 定长字节数组
+   */
+  private static Binary toDecimalBinary(final BigDecimal decimal) {
+    byte[] unscaled = decimal.setScale(ColumnTypeEnum.DECIMAL_SCALE, RoundingMode.HALF_UP).unscaledValue().toByteArray();
+    if (unscaled.length > DECIMAL_BYTES) throw new YuuException(String.format("定点小数[%s]超过精度[%s]", decimal, ColumnTypeEnum.DECIMAL_PRECISION));
+    byte[] bytes = new byte[DECIMAL_BYTES];
+    byte sign = unscaled[0] < 0 ? (byte) -1 : 0;
+    int padding = DECIMAL_BYTES - unscaled.length;
+    for (int i = 0; i < padding; i++) {
+      bytes[i] = sign;
+    }
+    System.arraycopy(unscaled, 0, bytes, padding, unscaled.length);
+    return Binary.fromConstantByteArray(bytes);
+  }
+
+  /**
+   * 日时字符串 -> 日时(日期字符串 -> 当天0点;SchemaUtil将日期和日时混合的列推断为DATETIME)
+   *
+   * @param text 日时/日期字符串
+   * @return 日时
+   */
+  private static LocalDateTime parseDateTime(final String text) {
+    try {
+      return TimeUtil.parseDateTime(text);
+    } catch (YuuException ex) {
+      return TimeUtil.parseDate(text).atStartOfDay();
+    }
+  }
+
+  /**
+   * 数值 -> 整数(有小数部分或超过long范围 -> 异常;不截断)
+   *
+   * @param number 数值
+   * @return 整数
+   */
+  private static long toLongExact(final Number number) {
+    if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) return number.longValue();
+    if (number instanceof BigInteger) return ((BigInteger) number).longValueExact();
+    return (number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString())).longValueExact();
+  }
+
+  /**
+   * 布尔字符串 -> 布尔(true/1 -> true;false/0 -> false;不区分大小写)
+   *
+   * @param text 布尔字符串
+   * @return 布尔
+   */
+  private static boolean parseBoolean(final String text) {
+    if ("true".equalsIgnoreCase(text) || "1".equals(text)) return true;
+    if ("false".equalsIgnoreCase(text) || "0".equals(text)) return false;
+    throw new YuuException(String.format("[%s]转换为布尔失败", text));
+  }
+
+  /**
+   * 按列类型转换并设置列值(null/非字符串列的空字符串 -> 不设置)
+   *
+   * @param group 行数据(Parquet)
+   * @param i     列索引
+   * @param value 列值
+   */
+  private void addValue(final Group group, final int i, final Object value) {
+    if (value == null) return;
+    String text = value instanceof String ? ((String) value).trim() : value.toString();
+    if (columnTypes[i] != ColumnTypeEnum.STRING && text.isEmpty()) return;
+    try {
+      switch (columnTypes[i]) {
+        case INT:
+          group.add(i, value instanceof Number ? Math.toIntExact(toLongExact((Number) value)) : Integer.parseInt(text));
+          break;
+        case LONG:
+          group.add(i, value instanceof Number ? toLongExact((Number) value) : Long.parseLong(text));
+          break;
+        case DECIMAL:
+          group.add(i, toDecimalBinary(value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(text)));
+          break;
+        case DOUBLE:
+          group.add(i, value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(text));
+          break;
+        case BOOLEAN:
+          group.add(i, value instanceof Boolean ? (Boolean) value : parseBoolean(text));
+          break;
+        case DATE:
+          LocalDate date = value instanceof LocalDate ? (LocalDate) value : value instanceof LocalDateTime ? ((LocalDateTime) value).toLocalDate() : TimeUtil.parseDate(text);
+          group.add(i, (int) date.toEpochDay());
+          break;
+        case DATETIME:
+          LocalDateTime dateTime = value instanceof LocalDateTime ? (LocalDateTime) value : value instanceof LocalDate ? ((LocalDate) value).atStartOfDay() : parseDateTime(text);
+          group.add(i, dateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+          break;
+        default:
+          if (unicodeColumns[i]) {
+            group.add(i, StringUtil.cleanUnicode(value.toString()));
+          } else if (value instanceof Map || value instanceof Collection) {
+            group.add(i, JsonUtil.writeValueAsString(value));
+          } else {
+            group.add(i, value.toString());
+          }
+      }
+    } catch (Exception ex) {
+      throw new YuuException(String.format("第[%s]行的列[%s]的值[%s]转换为[%s]失败", rowCount + 1, schema.getColumn(i), value, columnTypes[i]), ex);
+    }
+  }
+
+}
@@ -0,0 +1,243 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 滚动CSV写入器
+ * <p>写入的数据行数/字节数达到上限,或者时间窗口结束时,关闭当前CSV并新建下一个CSV(每个CSV都写入标题行)</p>
+ * <p>CSV文件名为[基础文件名_序号.扩展名](例:/tmp/csv/data.csv -> /tmp/csv/data_00001.csv, /tmp/csv/data_00002.csv ...;data.csv.gz -> data_00001.csv.gz ...);同名文件已存在 -> 覆盖</p>
+ * <p>每个CSV完成(关闭)时回调,可以立即上传已完成的CSV(不必等待全部数据写入完成)</p>
+ * <p>滚动只发生在行之间(单个CSV的字节数最多超过上限一行);时间窗口在写入数据和刷新时判断;CSV在写入第一行数据时才创建(不产生空文件)</p>
+ * <p>数据稀疏时(长时间无数据写入),需要定期调用flush,时间窗口结束的CSV才会完成并回调</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class RollingCsvWriter implements RowWriter {
+
+  // 文件序号格式
+  private static final String FMT_SEQ_PATH = "%s_%05d%s";
+
+  // CSV文件存储路径(基础路径)
+  @Getter
+  private final String csvPath;
+  // 已写入数据行数(所有CSV)
+  @Getter
+  private long rowCount;
+  // 已完成的CSV文件路径列表
+  @Getter
+  private final List<String> csvPathList = new ArrayList<>();
+
+  // 数据结构
+  @Getter
+  private final SchemaModel schema;
+  // 需要清理Unicode列的列表
+  private final List<String> unicodeColumnList;
+  // 每个CSV的最大数据行数(0 -> 不限制)
+  private final long maxRowCnt;
+  // 每个CSV的最大字节数(0 -> 不限制)
+  private final long maxByteCnt;
+  // 每个CSV的时间窗口(毫秒;0 -> 不限制)
+  private final long rollMillis;
+  // CSV完成时的回调(参数为已关闭的CSV写入器;null -> 不回调)
+  private final Consumer<CsvWriter> rollCallback;
+  // 基础文件路径(不包含扩展名)
+  private final String basePath;
+  // 扩展名(包含分隔符)
+  private final String extension;
+
+  // 当前CSV写入器(未创建 -> null)
+  private CsvWriter csvWriter;
+  // 当前CSV序号
+  private int seq;
+  // 当前CSV的创建时间(毫秒)
+  private long openMillis;
+
+  /**
+   * 打开滚动CSV写入器
+   *
+   * @param csvPath           CSV文件存储路径(基础路径,实际路径追加序号)
+   * @param csvColumnList     CSV列名列表
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param maxRowCnt         每个CSV的最大数据行数(0 -> 不限制)
+   * @param maxByteCnt        每个CSV的最大字节数(0 -> 不限制)
+   * @param rollMillis        每个CSV的时间窗口(毫秒;0 -> 不限制)
+   * @param rollCallback      CSV完成时的回调(参数为已关闭的CSV写入器;null -> 不回调)
+   */
+  public RollingCsvWriter(final String csvPath,
+                          final List<String> csvColumnList,
+                          final List<String> unicodeColumnList,
+                          final long maxRowCnt,
+                          final long maxByteCnt,
+                          final long rollMillis,
+                          final Consumer<CsvWriter> rollCallback) {
+    this(csvPath, new SchemaModel(csvColumnList == null ? Collections.emptyList() : csvColumnList), unicodeColumnList, maxRowCnt, maxByteCnt, rollMillis, rollCallback);
+  }
+
+  /**
+   * 打开滚动CSV写入器
+   *
+   * @param csvPath           CSV文件存储路径(基础路径,实际路径追加序号)
+   * @param schema            CSV数据结构
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param maxRowCnt         每个CSV的最大数据行数(0 -> 不限制)
+   * @param maxByteCnt        每个CSV的最大字节数(0 -> 不限制)
+   * @param rollMillis        每个CSV的时间窗口(毫秒;0 -> 不限制)
+   * @param rollCallback      CSV完成时的回调(参数为已关闭的CSV写入器;null -> 不回调)
+   */
+  public RollingCsvWriter(final String csvPath,
+                          final SchemaModel schema,
+                          final List<String> unicodeColumnList,
+                          final long maxRowCnt,
+                          final long maxByteCnt,
+                          final long rollMillis,
+                          final Consumer<CsvWriter> rollCallback) {
+    if (maxRowCnt < 0 || maxByteCnt < 0 || rollMillis < 0) {
+      throw new YuuException(String.format("滚动条件[行数:%s,字节数:%s,时间窗口:%s]不能小于0", maxRowCnt, maxByteCnt, rollMillis));
+    }
+    this.csvPath = csvPath;
+    this.schema = schema;
+    this.unicodeColumnList = unicodeColumnList;
+    this.maxRowCnt = maxRowCnt;
+    this.maxByteCnt = maxByteCnt;
+    this.rollMillis = rollMillis;
+    this.rollCallback = rollCallback;
+
+    // 基础文件路径 + 扩展名(GZIP压缩文件包含两级扩展名:data.csv.gz -> data + .csv.gz)
+    String fileName = new File(csvPath).getName();
+    String ext = FileUtil.getExtension(fileName);
+    if (FileUtil.isGzip(fileName)) {
+      String innerExt = FileUtil.getExtension(fileName.substring(0, fileName.length() - ext.length() - 1));
+      if (StringUtil.notEmpty(innerExt)) ext = innerExt + (char) FileUtil.NAME_EXT_SEPARATOR + ext;
+    }
+    this.extension = StringUtil.isEmpty(ext) ? StringUtil.EMPTY : (char) FileUtil.NAME_EXT_SEPARATOR + ext;
+    this.basePath = csvPath.substring(0, csvPath.length() - extension.length());
+  }
+
+  /**
+   * 批量写入数据并刷新至文件
+   *
+   * @param dataList 数据列表
+   */
+  public void write(final List<Map<String, Object>> dataList) {
+    if (ListUtil.isEmpty(dataList)) return;
+    for (Map<String, Object> data : dataList) {
+      write(data);
+    }
+    flush();
+  }
+
+  /**
+   * 批量写入行数据并刷新至文件
+   *
+   * @param rowList 行数据列表
+   */
+  @Override
+  public void writeRows(final List<RowModel> rowList) {
+    if (ListUtil.isEmpty(rowList)) return;
+    for (RowModel row : rowList) {
+      write(row);
+    }
+    flush();
+  }
+
+  /**
+   * 写入数据(满足滚动条件时先新建CSV)
+   *
+   * @param data 数据
+   */
+  public void write(final Map<String, Object> data) {
+    current().write(data);
+    rowCount++;
+  }
+
+  /**
+   * 写入行数据(满足滚动条件时先新建CSV)
+   *
+   * @param row 行数据(列数与数据结构一致)
+   */
+  @Override
+  public void write(final RowModel row) {
+    current().write(row);
+    rowCount++;
+  }
+
+  /**
+   * 刷新缓存至文件(当前CSV的时间窗口已结束 -> 完成当前CSV)
+   */
+  @Override
+  public void flush() {
+    if (csvWriter == null) return;
+    if (isExpired()) {
+      roll();
+    } else {
+      csvWriter.flush();
+    }
+  }
+
+  /**
+   * 完成当前CSV(关闭并回调),之后的数据写入下一个CSV
+   */
+  public void roll() {
+    if (csvWriter == null) return;
+    CsvWriter finishedWriter = csvWriter;
+    csvWriter = null;
+    finishedWriter.close();
+    csvPathList.add(finishedWriter.getCsvPath());
+    if (rollCallback != null) {
+      try {
+        rollCallback.accept(finishedWriter);
+      } catch (Exception ex) {
+        throw new YuuException(String.format("CSV[%s]完成时的回调处理失败", finishedWriter.getCsvPath()), ex);
+      }
+    }
+  }
+
+  /**
+   * 关闭滚动CSV写入器(完成当前CSV)
+   */
+  @Override
+  public void close() {
+    roll();
+  }
+
+  /**
+   * 获取当前CSV写入器(满足滚动条件 -> 完成当前CSV;未创建 -> 创建下一个CSV)
+   *
+   * @return CSV写入器
+   */
+  private CsvWriter current() {
+    if (csvWriter != null && (maxRowCnt > 0 && csvWriter.getRowCount() >= maxRowCnt
+        || maxByteCnt > 0 && csvWriter.getByteCount() >= maxByteCnt
+        || isExpired())) {
+      roll();
+    }
+    if (csvWriter == null) {
+      String seqPath = String.format(FMT_SEQ_PATH, basePath, ++seq, extension);
+      FileUtil.delete(seqPath);
+      csvWriter = new CsvWriter(seqPath, schema, unicodeColumnList);
+      openMillis = TimeUtil.getNowTimeStampMillis();
+    }
+    return csvWriter;
+  }
+
+  /**
+   * 当前CSV的时间窗口是否已结束
+   *
+   * @return 判断结果
+   */
+  private boolean isExpired() {
+    return rollMillis > 0 && TimeUtil.getNowTimeStampMillis() - openMillis >= rollMillis;
+  }
+
+}
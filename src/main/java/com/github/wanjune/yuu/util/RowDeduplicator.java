@@ -0,0 +1,348 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 行数据去重器
+ * <p>按键列(列的子集)判断数据行是否重复:键列的值 -> 64位指纹,第一次出现的指纹记录下来,之后出现 -> 重复(丢弃)</p>
+ * <p>精确模式:内存中的指纹集合达到容量时,排序后写入磁盘(溢出文件,每个溢出文件附带一个Bloom过滤器),之后按Bloom过滤器 -> 二分查找确认;内存占用有上限</p>
+ * <p>近似模式:只使用一个Bloom过滤器(按容量和误判率分配),不溢出至磁盘;误判的数据行会被当作重复丢弃,超过容量后误判率上升</p>
+ * <p>指纹为64位哈希,不同的键发生冲突的概率约为 键数² / 2^65(1亿个键约为0.03%);非线程安全</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Slf4j
+public class RowDeduplicator implements Closeable {
+
+  // 空值的哈希(区分null与空字符串)
+  private static final long HASH_NULL = 0x9E3779B97F4A7C15L;
+  // 列之间的分隔字符
+  private static final char KEY_SEPARATOR = '\u001F';
+  // 溢出文件名
+  private static final String FMT_SPILL_FILE = "yuu-dedup-%s-%05d.bin";
+
+  // 键列名列表
+  @Getter
+  private final List<String> keyColumnList;
+  // 已记录的键数(不重复的数据行数)
+  @Getter
+  private long keyCount;
+  // 已丢弃的重复数据行数
+  @Getter
+  private long droppedCount;
+
+  // 是否是精确模式(false -> 近似模式)
+  private final boolean exact;
+  // 内存中的最大键数
+  private final int capacity;
+  // Bloom过滤器的误判率
+  private final double fpp;
+  // 溢出文件的目录
+  private final String spillDirPath;
+  // 溢出文件名的标识
+  private final String spillId = Long.toHexString(System.nanoTime());
+
+  // 键列索引对应的数据结构(数据结构变化时重新获取键列索引)
+  private SchemaModel keySchema;
+  // 键列索引(按键列名列表的顺序)
+  private int[] keyIndexes;
+
+  // 内存指纹集合
+  private LongHashSet keySet;
+  // Bloom过滤器(近似模式:全部键;精确模式:每个溢出文件一个)
+  private BloomFilter bloomFilter;
+  private final List<BloomFilter> spillFilterList = new ArrayList<>();
+  // 溢出文件(已排序的指纹)
+  private final List<File> spillFileList = new ArrayList<>();
+  private final List<LongBuffer> spillBufferList = new ArrayList<>();
+
+  /**
+   * 创建行数据去重器(精确模式,溢出文件保存至临时目录,误判率1%)
+   *
+   * @param keyColumnList 键列名列表
+   * @param capacity      内存中的最大键数
+   */
+  public RowDeduplicator(final List<String> keyColumnList, final int capacity) {
+    this(keyColumnList, capacity, 0.01, true, System.getProperty("java.io.tmpdir"));
+  }
+
+  /**
+   * 创建行数据去重器
+   *
+   * @param keyColumnList 键列名列表
+   * @param capacity      内存中的最大键数(精确模式:达到时溢出至磁盘;近似模式:Bloom过滤器的预计键数)
+   * @param fpp           Bloom过滤器的误判率(精确模式:需要查找溢出文件的比率;近似模式:误判为重复的比率)
+   * @param exact         是否是精确模式(false -> 近似模式)
+   * @param spillDirPath  溢出文件的目录(精确模式)
+   */
+  public RowDeduplicator(final List<String> keyColumnList, final int capacity, final double fpp, final boolean exact, final String spillDirPath) {
+    if (ListUtil.isEmpty(keyColumnList)) throw new YuuException("去重的键列不能为空");
+    if (capacity < 1 || fpp <= 0 || fpp >= 1) throw new YuuException(String.format("去重的容量[%s]必须大于0,误判率[%s]必须在0~1之间", capacity, fpp));
+    this.keyColumnList = keyColumnList;
+    this.capacity = capacity;
+    this.fpp = fpp;
+    this.exact = exact;
+    this.spillDirPath = spillDirPath;
+    if (exact) {
+      this.keySet = new LongHashSet(capacity);
+    } else {
+      this.bloomFilter = new BloomFilter(capacity, fpp);
+    }
+  }
+
+  /**
+   * 判断数据是否重复(不重复 -> 记录键;重复 -> 丢弃数加1)
+   *
+   * @param data 数据
+   * @return 判断结果
+   */
+  public boolean isDuplicate(final Map<String, Object> data) {
+    long hash = 0;
+    for (String keyColumn : keyColumnList) {
+      hash = hashValue(hash, data.get(keyColumn));
+    }
+    return isDuplicate(hash);
+  }
+
+  /**
+   * 判断行数据是否重复(不重复 -> 记录键;重复 -> 丢弃数加1)
+   *
+   * @param row 行数据
+   * @return 判断结果
+   */
+  public boolean isDuplicate(final RowModel row) {
+    if (row.getSchema() != keySchema) checkSchema(row.getSchema());
+    long hash = 0;
+    for (int keyIndex : keyIndexes) {
+      hash = hashValue(hash, row.get(keyIndex));
+    }
+    return isDuplicate(hash);
+  }
+
+  /**
+   * 检查键列是否都在数据结构中,并记录键列索引
+   * <p>键列不存在时,所有数据行的该列均为null(键相同),除第一行以外都会被当作重复丢弃;因此不存在时抛出异常</p>
+   *
+   * @param schema 数据结构
+   */
+  public void checkSchema(final SchemaModel schema) {
+    int[] indexes = new int[keyColumnList.size()];
+    List<String> missingColumnList = new ArrayList<>();
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = schema.indexOf(keyColumnList.get(i));
+      if (indexes[i] < 0) missingColumnList.add(keyColumnList.get(i));
+    }
+    if (!missingColumnList.isEmpty()) {
+      throw new YuuException(String.format("去重的键列%s不在数据结构%s中", missingColumnList, schema.getColumnList()));
+    }
+    this.keySchema = schema;
+    this.keyIndexes = indexes;
+  }
+
+  /**
+   * 获取溢出文件数
+   *
+   * @return 溢出文件数
+   */
+  public int getSpillCount() {
+    return spillFileList.size();
+  }
+
+  /**
+   * 关闭去重器(删除溢出文件)
+   */
+  @Override
+  public void close() {
+    spillBufferList.clear();
+    spillFilterList.clear();
+    for (File spillFile : spillFileList) {
+      FileUtil.delete(spillFile);
+    }
+    spillFileList.clear();
+    keySet = null;
+    bloomFilter = null;
+  }
+
+  /**
+   * 判断指纹是否重复
+   *
+   * @param hash 键的哈希
+   * @return 判断结果
+   */
+  private boolean isDuplicate(final long hash) {
+    long fingerprint = fmix64(hash);
+
+    boolean duplicate;
+    if (exact) {
+      duplicate = keySet.contains(fingerprint) || containsInSpill(fingerprint);
+      if (!duplicate) {
+        keySet.add(fingerprint);
+        if (keySet.size() >= capacity) spill();
+      }
+    } else {
+      duplicate = bloomFilter.mightContain(fingerprint);
+      if (!duplicate) bloomFilter.put(fingerprint);
+    }
+
+    if (duplicate) {
+      droppedCount++;
+    } else {
+      keyCount++;
+    }
+    return duplicate;
+  }
+
+  /**
+   * 溢出文件中是否存在(Bloom过滤器 -> 二分查找)
+   *
+   * @param fingerprint 指纹
+   * @return 判断结果
+   */
+  private boolean containsInSpill(final long fingerprint) {
+    for (int i = 0; i < spillFilterList.size(); i++) {
+      if (spillFilterList.get(i).mightContain(fingerprint) && binarySearch(spillBufferList.get(i), fingerprint)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * 内存指纹集合排序后写入溢出文件,并清空内存指纹集合
+   */
+  private void spill() {
+    long[] sortedKeys = keySet.toArray();
+    BloomFilter spillFilter = new BloomFilter(sortedKeys.length, fpp);
+    for (long fingerprint : sortedKeys) {
+      spillFilter.put(fingerprint);
+    }
+    Arrays.sort(sortedKeys);
+
+    File spillFile = FileUtil.create(FileUtil.getChildPath(spillDirPath, String.format(FMT_SPILL_FILE, spillId, spillFileList.size() + 1)));
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(spillFile, "rw");
+         FileChannel channel = randomAccessFile.getChannel()) {
+      spillFileList.add(spillFile);
+      ByteBuffer byteBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sortedKeys.length * Long.BYTES);
+      LongBuffer longBuffer = byteBuffer.asLongBuffer();
+      longBuffer.put(sortedKeys);
+      spillBufferList.add(longBuffer);
+      spillFilterList.add(spillFilter);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("去重的键写入溢出文件[%s]失败", spillFile.getAbsolutePath()), ex);
+    }
+
+    keySet.clear();
+    log.info(String.format("去重的键溢出至文件[%s](键数:%s)", spillFile.getAbsolutePath(), sortedKeys.length));
+  }
+
+  /**
+   * 二分查找(已排序的指纹)
+   *
+   * @param buffer      已排序的指纹
+   * @param fingerprint 指纹
+   * @return 是否存在
+   */
+  private static boolean binarySearch(final LongBuffer buffer, final long fingerprint) {
+    int low = 0;
+    int high = buffer.limit() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long value = buffer.get(mid);
+      if (value < fingerprint) {
+        low = mid + 1;
+      } else if (value > fingerprint) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 累加列值的哈希(FNV-1a,按字符)
+   *
+   * @param hash  已累加的哈希
+   * @param value 列值
+   * @return 哈希
+   */
+  private static long hashValue(final long hash, final Object value) {
+    long h = (hash ^ KEY_SEPARATOR) * 0x100000001B3L;
+    if (value == null) return (h ^ HASH_NULL) * 0x100000001B3L;
+    String string = value instanceof String ? (String) value : value.toString();
+    for (int i = 0; i < string.length(); i++) {
+      h = (h ^ string.charAt(i)) * 0x100000001B3L;
+    }
+    return h;
+  }
+
+  /**
+   * 哈希的最终混合(MurmurHash3 fmix64)
+   *
+   * @param hash 哈希
+   * @return 混合后的哈希
+   */
+  private static long fmix64(final long hash) {
+    long h = hash;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB93FE53FE34FL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Bloom过滤器(按预计键数和误判率分配位数组)
+   */
+  private static class BloomFilter {
+    // 位数组
+    private final long[] bits;
+    // 位数
+    private final long bitSize;
+    // 哈希函数个数
+    private final int hashCount;
+
+    BloomFilter(final long expectedCount, final double fpp) {
+      long m = (long) Math.ceil(-expectedCount * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+      int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+      this.bits = new long[words];
+      this.bitSize = (long) words << 6;
+      this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedCount * Math.log(2)));
+    }
+
+    void put(final long fingerprint) {
+      int h1 = (int) fingerprint;
+      int h2 = (int) (fingerprint >>> 32);
+      for (int i = 1; i <= hashCount; i++) {
+        long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitSize;
+        bits[(int) (index >>> 6)] |= 1L << index;
+      }
+    }
+
+    boolean mightContain(final long fingerprint) {
+      int h1 = (int) fingerprint;
+      int h2 = (int) (fingerprint >>> 32);
+      for (int i = 1; i <= hashCount; i++) {
+        long index = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitSize;
+        if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) return false;
+      }
+      return true;
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * 行数据写入器
+ * <p>EXCEL转换等处理的输出格式(CSV/滚动CSV/EXCEL/Parquet)的共通接口</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public interface RowWriter extends Closeable {
+
+  /**
+   * 获取数据结构
+   *
+   * @return 数据结构
+   */
+  SchemaModel getSchema();
+
+  /**
+   * 获取已写入数据行数
+   *
+   * @return 数据行数
+   */
+  long getRowCount();
+
+  /**
+   * 写入行数据(行数据对象可以在写入后复用)
+   *
+   * @param row 行数据(列数与数据结构一致)
+   */
+  void write(RowModel row);
+
+  /**
+   * 批量写入行数据并刷新
+   *
+   * @param rowList 行数据列表
+   */
+  void writeRows(List<RowModel> rowList);
+
+  /**
+   * 刷新缓存
+   */
+  void flush();
+
+  /**
+   * 关闭写入器(不抛出检查异常)
+   */
+  @Override
+  void close();
+
+}
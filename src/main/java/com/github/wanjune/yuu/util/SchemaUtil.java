@@ -0,0 +1,428 @@
+package com.github.wanjune.yuu.util;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.exception.ExcelAnalysisStopException;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import com.github.wanjune.yuu.value.ColumnTypeEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 数据结构工具类
+ * <p>列类型推断:读取有限的样本行(不读取整个文件),按列判断值能否转换为INT/LONG/DECIMAL/DOUBLE/BOOLEAN/DATE/DATETIME,取所有样本都满足的最窄类型(都不满足 -> STRING)</p>
+ * <p>日期/日时按TimeUtil的格式列表判断;前导0的数字(编码等)按字符串处理;空值不参与判断</p>
+ * <p>推断的数据结构(带列类型)可以用于Parquet写入器和建表DDL</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@Slf4j
+public class SchemaUtil {
+
+  // 类型候选(位)
+  private static final int CANDIDATE_INT = 1;
+  private static final int CANDIDATE_LONG = 1 << 1;
+  private static final int CANDIDATE_DECIMAL = 1 << 2;
+  private static final int CANDIDATE_DOUBLE = 1 << 3;
+  private static final int CANDIDATE_BOOLEAN = 1 << 4;
+  private static final int CANDIDATE_DATE = 1 << 5;
+  private static final int CANDIDATE_DATETIME = 1 << 6;
+  // 日期或日时(混合时 -> DATETIME)
+  private static final int CANDIDATE_TEMPORAL = 1 << 7;
+  private static final int CANDIDATE_ALL = (1 << 8) - 1;
+  private static final int CANDIDATE_NUMBER = CANDIDATE_INT | CANDIDATE_LONG | CANDIDATE_DECIMAL | CANDIDATE_DOUBLE;
+  // INT/LONG的最大位数(超过时再按范围判断)
+  private static final int INT_SAFE_DIGITS = 9;
+  private static final int LONG_SAFE_DIGITS = 18;
+  // 默认样本行数
+  public static final int DEFAULT_SAMPLE_ROW_CNT = 10000;
+
+  /**
+   * 推断CSV的列类型
+   * <p>CSV文件按行边界均分为[并行数]个分片,每个分片从开头读取(样本行数/并行数)行,并行推断后合并(样本分布于整个文件)</p>
+   * <p>GZIP压缩文件不能按字节范围拆分 -> 从头读取样本行数</p>
+   *
+   * @param csvPath      CSV文件路径
+   * @param columnList   推断的列名列表(null -> 全部列)
+   * @param sampleRowCnt 样本行数
+   * @param parallelism  并行数
+   * @return 数据结构(带列类型)
+   */
+  public static SchemaModel inferCsv(final String csvPath, final List<String> columnList, final int sampleRowCnt, final int parallelism) {
+    // CSV文件的数据结构 + 数据行开始位置
+    SchemaModel fileSchema;
+    SchemaModel schema;
+    long dataStart;
+    try (CsvReader csvReader = new CsvReader(csvPath, columnList)) {
+      fileSchema = csvReader.getFileSchema();
+      schema = csvReader.getSchema();
+      dataStart = csvReader.getOffset();
+    }
+
+    // 按行边界均分的分片
+    int shardCnt = FileUtil.isGzip(csvPath) ? 1 : Math.max(1, parallelism);
+    long end = new File(csvPath).length();
+    List<long[]> shardList = new ArrayList<>(shardCnt);
+    if (shardCnt == 1) {
+      shardList.add(new long[]{0, Long.MAX_VALUE});
+    } else {
+      try (RandomAccessFile file = new RandomAccessFile(csvPath, "r")) {
+        long shardStart = dataStart;
+        for (int i = 1; i <= shardCnt && shardStart < end; i++) {
+          long shardEnd = i == shardCnt ? end : CsvUtil.nextLineStart(file, Math.max(shardStart + 1, dataStart + (end - dataStart) * i / shardCnt), end);
+          shardList.add(new long[]{shardStart, shardEnd});
+          shardStart = shardEnd;
+        }
+      } catch (Exception ex) {
+        throw new YuuException(String.format("拆分CSV[%s]失败", csvPath), ex);
+      }
+    }
+    int shardRowCnt = Math.max(1, (sampleRowCnt + shardList.size() - 1) / Math.max(1, shardList.size()));
+
+    // 各分片并行推断 -> 合并
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, shardList.size()));
+    try {
+      List<Future<TypeInferrer>> futureList = new ArrayList<>(shardList.size());
+      for (long[] shard : shardList) {
+        futureList.add(pool.submit(() -> {
+          TypeInferrer inferrer = new TypeInferrer(schema.size());
+          // 分片(不读取标题行) / 整个文件(读取标题行)
+          try (CsvReader csvReader = shard[0] == 0 ? new CsvReader(csvPath, columnList) : new CsvReader(csvPath, fileSchema, columnList, shard[0], shard[1])) {
+            while (inferrer.getRowCount() < shardRowCnt && csvReader.hasNext()) {
+              inferrer.accept(csvReader.next());
+            }
+          }
+          return inferrer;
+        }));
+      }
+      TypeInferrer inferrer = new TypeInferrer(schema.size());
+      for (Future<TypeInferrer> future : futureList) {
+        inferrer.merge(future.get());
+      }
+
+      SchemaModel typedSchema = new SchemaModel(schema.getColumnList(), inferrer.getTypeList());
+      log.info(String.format("推断CSV[%s]的列类型完成(样本行数:%s):%s", csvPath, inferrer.getRowCount(), typedSchema.getTypeList()));
+      return typedSchema;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("推断CSV[%s]的列类型失败", csvPath), ex);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * 推断EXCEL的列类型
+   * <p>读取前[样本行数]行后停止读取,按列分组并行推断</p>
+   *
+   * @param excelPath    EXCEL文件路径
+   * @param sheetNo      EXCEL的SHEET序号(0开始)[不设置时需要设置为null,与sheetName二选一]
+   * @param sheetName    EXCEL的SHEET名称[不设置时需要设置为null,与sheetNo二选一]
+   * @param headRowNo    EXCEL的标题行号(标题行之后,开始读取数据)
+   * @param columnList   列名列表(按列索引对应EXCEL的列)
+   * @param sampleRowCnt 样本行数
+   * @param parallelism  并行数
+   * @return 数据结构(带列类型)
+   */
+  public static SchemaModel inferExcel(final String excelPath,
+                                       final Integer sheetNo,
+                                       final String sheetName,
+                                       final Integer headRowNo,
+                                       final List<String> columnList,
+                                       final int sampleRowCnt,
+                                       final int parallelism) {
+    SchemaModel schema = new SchemaModel(columnList);
+    List<RowModel> sampleList = new ArrayList<>(Math.min(sampleRowCnt, DEFAULT_SAMPLE_ROW_CNT));
+
+    // 读取样本行(达到样本行数 -> 停止读取)
+    try {
+      EasyExcel.read(excelPath, new ReadListener<Map<Integer, String>>() {
+        @Override
+        public void invoke(Map<Integer, String> rowDataMap, AnalysisContext context) {
+          sampleList.add(CsvUtil.fillRow(schema.newRow(), rowDataMap));
+          if (sampleList.size() >= sampleRowCnt) throw new ExcelAnalysisStopException();
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+          // NOTHING
+        }
+      }).sheet(sheetNo, sheetName).autoTrim(true).headRowNumber(headRowNo).useScientificFormat(false).doRead();
+    } catch (ExcelAnalysisStopException ex) {
+      // 达到样本行数
+    } catch (Exception ex) {
+      throw new YuuException(String.format("读取EXCEL[%s]的样本行失败", excelPath), ex);
+    }
+
+    // 按列分组并行推断
+    int parallel = Math.max(1, Math.min(parallelism, schema.size()));
+    ExecutorService pool = Executors.newFixedThreadPool(parallel);
+    try {
+      List<Future<TypeInferrer>> futureList = new ArrayList<>(parallel);
+      for (int p = 0; p < parallel; p++) {
+        int columnStart = schema.size() * p / parallel;
+        int columnEnd = schema.size() * (p + 1) / parallel;
+        futureList.add(pool.submit(() -> {
+          TypeInferrer inferrer = new TypeInferrer(schema.size());
+          for (RowModel row : sampleList) {
+            inferrer.accept(row, columnStart, columnEnd);
+          }
+          return inferrer;
+        }));
+      }
+      TypeInferrer inferrer = new TypeInferrer(schema.size());
+      for (Future<TypeInferrer> future : futureList) {
+        inferrer.merge(future.get());
+      }
+
+      SchemaModel typedSchema = new SchemaModel(schema.getColumnList(), inferrer.getTypeList());
+      log.info(String.format("推断EXCEL[%s]的列类型完成(样本行数:%s):%s", excelPath, sampleList.size(), typedSchema.getTypeList()));
+      return typedSchema;
+    } catch (Exception ex) {
+      throw new YuuException(String.format("推断EXCEL[%s]的列类型失败", excelPath), ex);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * 推断行数据的列类型
+   *
+   * @param schema  数据结构
+   * @param rowList 行数据列表(样本)
+   * @return 数据结构(带列类型)
+   */
+  public static SchemaModel infer(final SchemaModel schema, final List<RowModel> rowList) {
+    TypeInferrer inferrer = new TypeInferrer(schema.size());
+    if (ListUtil.notEmpty(rowList)) {
+      for (RowModel row : rowList) {
+        inferrer.accept(row);
+      }
+    }
+    return new SchemaModel(schema.getColumnList(), inferrer.getTypeList());
+  }
+
+  /**
+   * 推断单个值的类型候选
+   *
+   * @param value 值(非空)
+   * @param mask  当前的类型候选(已排除的类型不再判断)
+   * @return 类型候选
+   */
+  static int inferCandidate(final String value, final int mask) {
+    int candidate = 0;
+    if ((mask & CANDIDATE_NUMBER) != 0) candidate |= inferNumber(value);
+    if ((mask & CANDIDATE_BOOLEAN) != 0 && ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value))) candidate |= CANDIDATE_BOOLEAN;
+    // 日期/日时以数字开头(年)
+    if ((mask & (CANDIDATE_DATE | CANDIDATE_DATETIME | CANDIDATE_TEMPORAL)) != 0 && Character.isDigit(value.charAt(0))) {
+      if ((mask & (CANDIDATE_DATE | CANDIDATE_TEMPORAL)) != 0 && isDate(value)) {
+        candidate |= CANDIDATE_DATE | CANDIDATE_TEMPORAL;
+      } else if ((mask & (CANDIDATE_DATETIME | CANDIDATE_TEMPORAL)) != 0 && isDateTime(value)) {
+        candidate |= CANDIDATE_DATETIME | CANDIDATE_TEMPORAL;
+      }
+    }
+    return mask & candidate;
+  }
+
+  /**
+   * 推断数字的类型候选
+   *
+   * @param value 值(非空)
+   * @return 类型候选
+   */
+  private static int inferNumber(final String value) {
+    int i = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+    int intStart = i;
+    while (i < value.length() && Character.isDigit(value.charAt(i))) i++;
+    int intDigits = i - intStart;
+    if (intDigits == 0) return 0;
+    // 前导0(编码等) -> 字符串
+    if (intDigits > 1 && value.charAt(intStart) == '0') return 0;
+
+    // 整数
+    if (i == value.length()) {
+      if (intDigits <= INT_SAFE_DIGITS) return CANDIDATE_NUMBER;
+      int candidate = CANDIDATE_DECIMAL | CANDIDATE_DOUBLE;
+      if (intDigits > ColumnTypeEnum.DECIMAL_PRECISION - ColumnTypeEnum.DECIMAL_SCALE) candidate = CANDIDATE_DOUBLE;
+      if (intDigits <= LONG_SAFE_DIGITS + 1) {
+        try {
+          long number = Long.parseLong(value);
+          candidate |= CANDIDATE_LONG;
+          if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) candidate |= CANDIDATE_INT;
+        } catch (NumberFormatException ex) {
+          // 超过LONG的范围
+        }
+      }
+      return candidate;
+    }
+
+    // 小数
+    int scale = 0;
+    if (value.charAt(i) == '.') {
+      int fractionStart = ++i;
+      while (i < value.length() && Character.isDigit(value.charAt(i))) i++;
+      scale = i - fractionStart;
+      if (scale == 0) return 0;
+      if (i == value.length()) {
+        return scale <= ColumnTypeEnum.DECIMAL_SCALE && intDigits <= ColumnTypeEnum.DECIMAL_PRECISION - ColumnTypeEnum.DECIMAL_SCALE
+            ? CANDIDATE_DECIMAL | CANDIDATE_DOUBLE : CANDIDATE_DOUBLE;
+      }
+    }
+
+    // 指数
+    if (value.charAt(i) == 'e' || value.charAt(i) == 'E') {
+      i++;
+      if (i < value.length() && (value.charAt(i) == '-' || value.charAt(i) == '+')) i++;
+      int expStart = i;
+      while (i < value.length() && Character.isDigit(value.charAt(i))) i++;
+      if (i > expStart && i == value.length()) return CANDIDATE_DOUBLE;
+    }
+    return 0;
+  }
+
+  /**
+   * 是否是日期(TimeUtil的日期格式列表)
+   *
+   * @param value 值
+   * @return 判断结果
+   */
+  private static boolean isDate(final String value) {
+    try {
+      TimeUtil.parseDate(value);
+      return true;
+    } catch (Exception ex) {
+      return false;
+    }
+  }
+
+  /**
+   * 是否是日时(TimeUtil的日时格式列表)
+   *
+   * @param value 值
+   * @return 判断结果
+   */
+  private static boolean isDateTime(final String value) {
+    try {
+      TimeUtil.parseDateTime(value);
+      return true;
+    } catch (Exception ex) {
+      return false;
+    }
+  }
+
+  /**
+   * 生成MaxCompute的建表DDL
+   *
+   * @param tableName 表名
+   * @param schema    数据结构(带列类型)
+   * @return 建表DDL
+   */
+  public static String toMaxComputeDdl(final String tableName, final SchemaModel schema) {
+    StringBuilder ddl = new StringBuilder(String.format("CREATE TABLE IF NOT EXISTS %s (", tableName));
+    for (int i = 0; i < schema.size(); i++) {
+      ddl.append(i > 0 ? "," : "").append("\n  `").append(schema.getColumn(i)).append("` ").append(schema.getType(i).maxComputeType);
+    }
+    return ddl.append("\n);").toString();
+  }
+
+  /**
+   * 生成Hologres的建表DDL
+   *
+   * @param tableName 表名
+   * @param schema    数据结构(带列类型)
+   * @return 建表DDL
+   */
+  public static String toHologresDdl(final String tableName, final SchemaModel schema) {
+    StringBuilder ddl = new StringBuilder(String.format("CREATE TABLE IF NOT EXISTS %s (", tableName));
+    for (int i = 0; i < schema.size(); i++) {
+      ddl.append(i > 0 ? "," : "").append("\n  \"").append(schema.getColumn(i)).append("\" ").append(schema.getType(i).hologresType);
+    }
+    return ddl.append("\n);").toString();
+  }
+
+  /**
+   * 列类型推断器(按列记录类型候选,可以合并)
+   */
+  private static class TypeInferrer {
+    // 类型候选(按列索引)
+    private final int[] masks;
+    // 非空值数(按列索引)
+    private final long[] valueCounts;
+    // 已推断行数
+    private long rowCount;
+
+    TypeInferrer(final int columnCnt) {
+      this.masks = new int[columnCnt];
+      this.valueCounts = new long[columnCnt];
+      Arrays.fill(masks, CANDIDATE_ALL);
+    }
+
+    long getRowCount() {
+      return rowCount;
+    }
+
+    void accept(final RowModel row) {
+      accept(row, 0, masks.length);
+    }
+
+    void accept(final RowModel row, final int columnStart, final int columnEnd) {
+      for (int i = columnStart; i < columnEnd; i++) {
+        Object value = row.get(i);
+        if (value == null || masks[i] == 0) continue;
+        String text = value.toString().trim();
+        if (text.isEmpty()) continue;
+        masks[i] = inferCandidate(text, masks[i]);
+        valueCounts[i]++;
+      }
+      rowCount++;
+    }
+
+    void merge(final TypeInferrer other) {
+      for (int i = 0; i < masks.length; i++) {
+        masks[i] &= other.masks[i];
+        valueCounts[i] += other.valueCounts[i];
+      }
+      rowCount += other.rowCount;
+    }
+
+    List<ColumnTypeEnum> getTypeList() {
+      List<ColumnTypeEnum> typeList = new ArrayList<>(masks.length);
+      for (int i = 0; i < masks.length; i++) {
+        int mask = masks[i];
+        if (valueCounts[i] == 0) {
+          typeList.add(ColumnTypeEnum.STRING);
+        } else if ((mask & CANDIDATE_INT) != 0) {
+          typeList.add(ColumnTypeEnum.INT);
+        } else if ((mask & CANDIDATE_LONG) != 0) {
+          typeList.add(ColumnTypeEnum.LONG);
+        } else if ((mask & CANDIDATE_DECIMAL) != 0) {
+          typeList.add(ColumnTypeEnum.DECIMAL);
+        } else if ((mask & CANDIDATE_DOUBLE) != 0) {
+          typeList.add(ColumnTypeEnum.DOUBLE);
+        } else if ((mask & CANDIDATE_BOOLEAN) != 0) {
+          typeList.add(ColumnTypeEnum.BOOLEAN);
+        } else if ((mask & CANDIDATE_DATE) != 0) {
+          typeList.add(ColumnTypeEnum.DATE);
+        } else if ((mask & (CANDIDATE_DATETIME | CANDIDATE_TEMPORAL)) != 0) {
+          typeList.add(ColumnTypeEnum.DATETIME);
+        } else {
+          typeList.add(ColumnTypeEnum.STRING);
+        }
+      }
+      return typeList;
+    }
+  }
+
+}
@@ -0,0 +1,305 @@
+package com.github.wanjune.yuu.util;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * EXCEL(xlsx)写入器
+ * <p>使用EasyExcel的写入接口流式写入:数据按批次写入EXCEL,内存中只保留一个批次的数据(大数据量导出时内存占用固定)</p>
+ * <p>支持多个SHEET;SHEET的数据行数达到上限(xlsx为1048576行,包含标题行)时,自动新建SHEET继续写入([SHEET名_2],[SHEET名_3]...)</p>
+ * <p>SHEET名最长31个字符,不区分大小写不能重复;自动新建的SHEET名超过31个字符时截断SHEET名(保留序号),与已有的SHEET名重复时序号顺延</p>
+ * <p>输入与CsvWriter一致:Map数据按数据结构(SchemaModel)的列名顺序写入,行数据(RowModel)按列索引写入</p>
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public class XlsxWriter implements RowWriter {
+
+  // xlsx单个SHEET的最大行数(包含标题行)
+  public static final int MAX_SHEET_ROW_CNT = 1048576;
+  // 默认每批量写入的数据行数
+  public static final int DEFAULT_BATCH_ROW_CNT = 1000;
+  // xlsx的SHEET名的最大长度
+  public static final int MAX_SHEET_NAME_LENGTH = 31;
+
+  // EXCEL文件存储路径
+  @Getter
+  private final String xlsxPath;
+  // 已写入数据行数(所有SHEET)
+  @Getter
+  private long rowCount;
+  // 已创建的SHEET数(包含自动新建的SHEET)
+  @Getter
+  private int sheetCount;
+  // 当前SHEET的数据结构
+  @Getter
+  private SchemaModel schema;
+
+  // 每个SHEET的最大数据行数(不包含标题行)
+  private final int sheetRowCnt;
+  // 每批量写入的数据行数
+  private final int batchRowCnt;
+  // 需要清理Unicode列的列表
+  private final List<String> unicodeColumnList;
+  // EasyExcel写入器
+  private final ExcelWriter excelWriter;
+  // 当前SHEET名(自动新建SHEET的基础名)
+  private String sheetName;
+  // 当前SHEET名的自动新建序号(1~)
+  private int sheetPart;
+  // 当前SHEET
+  private WriteSheet writeSheet;
+  // 当前SHEET已写入数据行数
+  private long sheetRowCount;
+  // 列是否需要清理Unicode(按列索引)
+  private boolean[] unicodeColumns;
+  // 写入缓存(一个批次的数据)
+  private final List<List<Object>> cacheRowList;
+  // 已使用的SHEET名(小写)
+  private final Set<String> sheetNameSet = new HashSet<>();
+
+  /**
+   * 打开EXCEL写入器
+   *
+   * @param xlsxPath          EXCEL文件存储路径(已存在 -> 覆盖)
+   * @param sheetName         SHEET名
+   * @param columnList        列名列表(标题行)
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   */
+  public XlsxWriter(final String xlsxPath, final String sheetName, final List<String> columnList, final List<String> unicodeColumnList) {
+    this(xlsxPath, sheetName, new SchemaModel(columnList == null ? Collections.emptyList() : columnList), unicodeColumnList, MAX_SHEET_ROW_CNT - 1, DEFAULT_BATCH_ROW_CNT);
+  }
+
+  /**
+   * 打开EXCEL写入器
+   *
+   * @param xlsxPath          EXCEL文件存储路径(已存在 -> 覆盖)
+   * @param sheetName         SHEET名
+   * @param schema            数据结构(标题行)
+   * @param unicodeColumnList 需要清理Unicode列的列表([emoji]等;null->不清理)
+   * @param sheetRowCnt       每个SHEET的最大数据行数(不包含标题行;超过xlsx上限时按上限)
+   * @param batchRowCnt       每批量写入的数据行数
+   */
+  public XlsxWriter(final String xlsxPath, final String sheetName, final SchemaModel schema, final List<String> unicodeColumnList, final int sheetRowCnt, final int batchRowCnt) {
+    if (sheetRowCnt < 1 || batchRowCnt < 1) throw new YuuException(String.format("SHEET数据行数[%s]和批量写入行数[%s]必须大于0", sheetRowCnt, batchRowCnt));
+    checkSheetName(sheetName);
+    this.xlsxPath = xlsxPath;
+    this.sheetRowCnt = Math.min(sheetRowCnt, MAX_SHEET_ROW_CNT - 1);
+    this.batchRowCnt = batchRowCnt;
+    this.unicodeColumnList = unicodeColumnList;
+    this.cacheRowList = new ArrayList<>(Math.min(batchRowCnt, DEFAULT_BATCH_ROW_CNT));
+
+    try {
+      FileUtil.create(xlsxPath);
+      this.excelWriter = EasyExcel.write(xlsxPath).build();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("打开EXCEL[%s]失败", xlsxPath), ex);
+    }
+    newSheet(sheetName, schema);
+  }
+
+  /**
+   * 新建SHEET(数据结构与当前SHEET相同),之后的数据写入新建的SHEET
+   *
+   * @param sheetName SHEET名(最长31个字符,不能与已有的SHEET名重复)
+   */
+  public void newSheet(final String sheetName) {
+    newSheet(sheetName, schema);
+  }
+
+  /**
+   * 新建SHEET,之后的数据写入新建的SHEET
+   *
+   * @param sheetName SHEET名(最长31个字符,不能与已有的SHEET名重复)
+   * @param schema    数据结构(标题行)
+   */
+  public void newSheet(final String sheetName, final SchemaModel schema) {
+    checkSheetName(sheetName);
+    if (sheetNameSet.contains(sheetName.toLowerCase(Locale.ROOT))) throw new YuuException(String.format("EXCEL[%s]的SHEET名[%s]重复", xlsxPath, sheetName));
+    flush();
+    this.sheetName = sheetName;
+    this.sheetPart = 0;
+    this.schema = schema;
+    this.unicodeColumns = new boolean[schema.size()];
+    for (int i = 0; i < unicodeColumns.length; i++) {
+      unicodeColumns[i] = StringUtil.isContains(schema.getColumn(i), unicodeColumnList, true);
+    }
+    openSheet();
+  }
+
+  /**
+   * 批量写入数据
+   *
+   * @param dataList 数据列表
+   */
+  public void write(final List<Map<String, Object>> dataList) {
+    if (ListUtil.isEmpty(dataList)) return;
+    for (Map<String, Object> data : dataList) {
+      List<Object> cellList = nextRow();
+      for (int i = 0; i < schema.size(); i++) {
+        cellList.add(toCell(data.get(schema.getColumn(i)), unicodeColumns[i]));
+      }
+    }
+    flush();
+  }
+
+  /**
+   * 批量写入行数据
+   *
+   * @param rowList 行数据列表
+   */
+  @Override
+  public void writeRows(final List<RowModel> rowList) {
+    if (ListUtil.isEmpty(rowList)) return;
+    for (RowModel row : rowList) {
+      write(row);
+    }
+    flush();
+  }
+
+  /**
+   * 写入行数据(写入缓存,缓存达到批量写入行数时才写入EXCEL)
+   *
+   * @param row 行数据(列数与数据结构一致)
+   */
+  @Override
+  public void write(final RowModel row) {
+    List<Object> cellList = nextRow();
+    for (int i = 0; i < schema.size(); i++) {
+      cellList.add(toCell(row.get(i), unicodeColumns[i]));
+    }
+  }
+
+  /**
+   * 缓存写入EXCEL
+   */
+  @Override
+  public void flush() {
+    if (cacheRowList.isEmpty()) return;
+    try {
+      excelWriter.write(cacheRowList, writeSheet);
+      cacheRowList.clear();
+    } catch (Exception ex) {
+      throw new YuuException(String.format("数据写入EXCEL[%s]的SHEET[%s]失败", xlsxPath, writeSheet.getSheetName()), ex);
+    }
+  }
+
+  /**
+   * 关闭EXCEL写入器(缓存写入EXCEL并完成文件)
+   */
+  @Override
+  public void close() {
+    try {
+      flush();
+    } finally {
+      try {
+        excelWriter.finish();
+      } catch (Exception ex) {
+        throw new YuuException(String.format("关闭EXCEL[%s]失败", xlsxPath), ex);
+      }
+    }
+  }
+
+  /**
+   * 新增数据行(当前SHEET已满 -> 自动新建SHEET;写入缓存已满 -> 写入EXCEL)
+   *
+   * @return 数据行的单元格列表
+   */
+  private List<Object> nextRow() {
+    if (cacheRowList.size() >= batchRowCnt) flush();
+    if (sheetRowCount >= sheetRowCnt) {
+      flush();
+      openSheet();
+    }
+    List<Object> cellList = new ArrayList<>(schema.size());
+    cacheRowList.add(cellList);
+    sheetRowCount++;
+    rowCount++;
+    return cellList;
+  }
+
+  /**
+   * 打开SHEET(写入标题行)
+   */
+  private void openSheet() {
+    // 自动新建的SHEET名与已有的SHEET名重复 -> 序号顺延
+    String name;
+    do {
+      sheetPart++;
+      name = sheetPart == 1 ? sheetName : getPartName(sheetName, sheetPart);
+    } while (sheetNameSet.contains(name.toLowerCase(Locale.ROOT)));
+    List<List<String>> headList = new ArrayList<>(schema.size());
+    for (String column : schema.getColumnList()) {
+      headList.add(Collections.singletonList(column));
+    }
+    try {
+      writeSheet = EasyExcel.writerSheet(sheetCount, name).head(headList).build();
+      // 无数据时也输出标题行
+      excelWriter.write(Collections.emptyList(), writeSheet);
+    } catch (Exception ex) {
+      throw new YuuException(String.format("新建EXCEL[%s]的SHEET[%s]失败", xlsxPath, name), ex);
+    }
+    sheetNameSet.add(name.toLowerCase(Locale.ROOT));
+    sheetCount++;
+    sheetRowCount = 0;
+  }
+
+  /**
+   * 检查SHEET名(不能为空,最长31个字符)
+   *
+   * @param sheetName SHEET名
+   */
+  private static void checkSheetName(final String sheetName) {
+    if (StringUtil.isBlank(sheetName) || sheetName.length() > MAX_SHEET_NAME_LENGTH) {
+      throw new YuuException(String.format("SHEET名[%s]不能为空,长度不能超过%s", sheetName, MAX_SHEET_NAME_LENGTH));
+    }
+  }
+
+  /**
+   * 获取自动新建的SHEET名(超过31个字符 -> 截断SHEET名,保留序号)
+   *
+   * @param sheetName SHEET名
+   * @param part      自动新建序号
+   * @return 自动新建的SHEET名
+   */
+  private static String getPartName(final String sheetName, final int part) {
+    String suffix = "_" + part;
+    int baseLength = Math.min(sheetName.length(), MAX_SHEET_NAME_LENGTH - suffix.length());
+    // 不截断代理对(emoji等)
+    if (baseLength < sheetName.length() && Character.isHighSurrogate(sheetName.charAt(baseLength - 1))) baseLength--;
+    return sheetName.substring(0, baseLength) + suffix;
+  }
+
+  /**
+   * 转换单元格值
+   * <p>String/Number/Boolean/日时 -> 原值;嵌套的Map/List -> JSON字符串;其他 -> 字符串</p>
+   *
+   * @param value        单元格值
+   * @param cleanUnicode 是否清理Unicode([emoji]等)
+   * @return EXCEL单元格值
+   */
+  private static Object toCell(final Object value, final boolean cleanUnicode) {
+    if (value == null) return null;
+    if (cleanUnicode) return StringUtil.cleanUnicode(value.toString());
+    if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Date || value instanceof LocalDateTime) return value;
+    if (value instanceof Map || value instanceof Collection) return JsonUtil.writeValueAsString(value);
+    return value.toString();
+  }
+
+}
@@ -0,0 +1,14 @@
+package com.github.wanjune.yuu.value;
+
+/**
+ * 本地缓存的淘汰策略
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+public enum CacheEvictionEnum {
+  // 最近最少使用(淘汰最久未访问的条目)
+  LRU,
+  // W-TinyLFU(窗口LRU + 按访问频率准入的分段LRU;扫描/一次性访问不会挤掉热点条目)
+  TINY_LFU
+}
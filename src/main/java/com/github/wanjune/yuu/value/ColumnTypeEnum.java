@@ -0,0 +1,40 @@
+package com.github.wanjune.yuu.value;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * 列数据类型
+ *
+ * @author wanjune
+ * @since 2026-10-19
+ */
+@AllArgsConstructor
+public enum ColumnTypeEnum {
+  // 字符串
+  STRING("STRING", "TEXT"),
+  // 整数(32位)
+  INT("INT", "INTEGER"),
+  // 整数(64位)
+  LONG("BIGINT", "BIGINT"),
+  // 定点小数(精度38,小数位数18)
+  DECIMAL("DECIMAL(38,18)", "NUMERIC(38,18)"),
+  // 浮点数(64位)
+  DOUBLE("DOUBLE", "DOUBLE PRECISION"),
+  // 布尔值
+  BOOLEAN("BOOLEAN", "BOOLEAN"),
+  // 日期
+  DATE("DATE", "DATE"),
+  // 日时
+  DATETIME("DATETIME", "TIMESTAMP");
+
+  // 定点小数的精度
+  public static final int DECIMAL_PRECISION = 38;
+  // 定点小数的小数位数
+  public static final int DECIMAL_SCALE = 18;
+
+  // MaxCompute的列类型
+  public final String maxComputeType;
+  // Hologres的列类型
+  public final String hologresType;
+
+}
@@ -0,0 +1,94 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class CounterMapTest {
+
+  @Test
+  void exact() throws Exception {
+    CounterMap<String> counter = MapUtil.newCounter();
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<?>> futureList = new ArrayList<>();
+      for (int t = 0; t < 16; t++) {
+        futureList.add(executor.submit(() -> {
+          for (int i = 0; i < 10000; i++) {
+            counter.increment("topic" + (i % 10));
+          }
+        }));
+      }
+      for (Future<?> future : futureList) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assertions.assertEquals(10, counter.size());
+    Assertions.assertEquals(160000, counter.total());
+    Assertions.assertEquals(16000, counter.get("topic3"));
+    Assertions.assertEquals(0, counter.get("none"));
+
+    counter.add("topic3", 5);
+    List<Map.Entry<String, Long>> topList = counter.topK(2);
+    Assertions.assertEquals(2, topList.size());
+    Assertions.assertEquals("topic3", topList.get(0).getKey());
+    Assertions.assertEquals(16005L, topList.get(0).getValue().longValue());
+
+    // 快照并清零 -> 键保留,计数为0
+    Map<String, Long> snapshot = counter.snapshotAndReset();
+    Assertions.assertEquals(16000L, snapshot.get("topic0").longValue());
+    Assertions.assertEquals(0, counter.get("topic0"));
+    Assertions.assertEquals(0, counter.total());
+    Assertions.assertEquals(10, counter.size());
+    counter.clear();
+    Assertions.assertEquals(0, counter.size());
+    Assertions.assertThrows(YuuException.class, () -> counter.increment(null));
+  }
+
+  @Test
+  void sketch() {
+    CounterMap<String> counter = MapUtil.newCounter(1 << 12, 10);
+    // 热点键 + 大量低频的键
+    for (int i = 0; i < 200000; i++) {
+      counter.increment("key" + i);
+      if (i % 10 == 0) counter.increment("hot" + (i % 50));
+    }
+    Assertions.assertEquals(220000, counter.total());
+    Assertions.assertTrue(counter.size() <= 20);
+
+    // 上界估计,误差不超过总计数的e/列数
+    long bound = (long) Math.ceil(Math.E / (1 << 12) * counter.total());
+    long estimate = counter.get("hot0");
+    Assertions.assertTrue(estimate >= 4000 && estimate <= 4000 + bound);
+    Assertions.assertTrue(counter.get("key1") >= 1);
+
+    List<Map.Entry<String, Long>> topList = counter.topK(5);
+    Assertions.assertEquals(5, topList.size());
+    for (Map.Entry<String, Long> entry : topList) {
+      Assertions.assertTrue(entry.getKey().startsWith("hot"));
+    }
+
+    counter.snapshotAndReset();
+    Assertions.assertEquals(0, counter.get("hot0"));
+    Assertions.assertEquals(0, counter.size());
+    Assertions.assertThrows(YuuException.class, () -> counter.add("key", -1));
+  }
+
+  @Test
+  void topK() {
+    Map<String, Long> counts = MapUtil.of("a", 3L, "b", 1L, "c", 5L, "d", 2L);
+    List<Map.Entry<String, Long>> topList = CounterMap.topK(counts, 3);
+    Assertions.assertEquals("[c=5, a=3, d=2]", topList.toString());
+    Assertions.assertEquals(4, CounterMap.topK(counts, 10).size());
+    Assertions.assertTrue(CounterMap.topK(counts, 0).isEmpty());
+  }
+}
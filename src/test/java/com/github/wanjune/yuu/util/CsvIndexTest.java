@@ -0,0 +1,112 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CsvIndexTest {
+  private static final String CSV_PATH = "/tmp/csv/测试_CsvIndex.csv";
+  private static final SchemaModel SCHEMA = new SchemaModel(ListUtil.asList("column1", "column2", "column3"));
+
+  @Test
+  void writeAndSeek() {
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rows(0, 25000), null, 1000);
+
+    CsvIndex csvIndex = CsvIndex.load(CSV_PATH);
+    Assertions.assertNotNull(csvIndex);
+    Assertions.assertEquals(25000, csvIndex.getRowCount());
+    Assertions.assertEquals(25, csvIndex.getOffsetCount());
+    assertRange(12345, 10);
+    assertRange(0, 1);
+    assertRange(24990, 10);
+
+    // 不带索引追加 -> CSV文件大小/修改时间不一致,索引无效(从文件开头读取)
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rows(25000, 1500), null);
+    Assertions.assertNull(CsvIndex.load(CSV_PATH));
+    assertRange(26200, 100);
+
+    // 带索引追加 -> 重新生成索引
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rows(26500, 3500), null, 1000);
+    csvIndex = CsvIndex.load(CSV_PATH);
+    Assertions.assertEquals(30000, csvIndex.getRowCount());
+    Assertions.assertEquals(30, csvIndex.getOffsetCount());
+    assertRange(29000, 1000);
+
+    // 超过数据行数
+    Assertions.assertEquals(0, CsvUtil.csv2Data(CSV_PATH, null, 30000, 10, row -> {
+    }));
+  }
+
+  @Test
+  void build() {
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rows(0, 5000), null);
+    Assertions.assertNull(CsvIndex.load(CSV_PATH));
+
+    CsvIndex csvIndex = CsvIndex.build(CSV_PATH, 100);
+    Assertions.assertEquals(5000, csvIndex.getRowCount());
+    Assertions.assertEquals(50, csvIndex.getOffsetCount());
+    assertRange(4321, 50);
+
+    // 按索引均分 -> 并行读取
+    Assertions.assertEquals(10, csvIndex.split(10).size());
+    AtomicLong sum = new AtomicLong();
+    Assertions.assertEquals(5000, CsvUtil.csv2Data(CSV_PATH, ListUtil.asList("column2"), 4, false, row -> sum.addAndGet(Long.parseLong((String) row.get(0)))));
+    Assertions.assertEquals(4999L * 5000 / 2, sum.get());
+
+    // 新建CSV -> 删除已有的索引
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rows(0, 10), null);
+    Assertions.assertFalse(FileUtil.isExists(CsvIndex.getIndexPath(CSV_PATH)));
+  }
+
+  @Test
+  void overwrite() throws Exception {
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rows(0, 5000), null, 100);
+    Assertions.assertNotNull(CsvIndex.load(CSV_PATH));
+
+    // 其他方式覆盖CSV(下载等;行首位置可能仍然一致) -> 索引无效
+    byte[] bytes = Files.readAllBytes(Paths.get(CSV_PATH));
+    Thread.sleep(10);
+    Files.write(Paths.get(CSV_PATH), Arrays.copyOf(bytes, bytes.length / 2));
+    Assertions.assertNull(CsvIndex.load(CSV_PATH));
+    Files.write(Paths.get(CSV_PATH), bytes);
+    Assertions.assertNull(CsvIndex.load(CSV_PATH));
+    assertRange(4321, 50);
+  }
+
+  @Test
+  void gzip() {
+    // 不支持索引 -> 不创建CSV文件
+    FileUtil.delete(CSV_PATH + ".gz");
+    Assertions.assertThrows(YuuException.class, () -> CsvUtil.data2Csv(CSV_PATH + ".gz", SCHEMA, rows(0, 10), null, 1000));
+    Assertions.assertFalse(FileUtil.isExists(CSV_PATH + ".gz"));
+  }
+
+  private static List<RowModel> rows(final int start, final int rowCnt) {
+    List<RowModel> rowList = new ArrayList<>(rowCnt);
+    for (int i = start; i < start + rowCnt; i++) {
+      rowList.add(SCHEMA.newRow().set(0, "测试数据" + i).set(1, i).set(2, i % 3 == 0 ? "a\nb" : null));
+    }
+    return rowList;
+  }
+
+  private static void assertRange(final long startRowNo, final long rowCnt) {
+    List<RowModel> rowList = new ArrayList<>();
+    Assertions.assertEquals(rowCnt, CsvUtil.csv2Data(CSV_PATH, null, startRowNo, rowCnt, row -> rowList.add(row.copy())));
+    for (int i = 0; i < rowCnt; i++) {
+      Assertions.assertEquals("测试数据" + (startRowNo + i), rowList.get(i).get(0));
+    }
+  }
+}
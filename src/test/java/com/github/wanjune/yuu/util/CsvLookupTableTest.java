@@ -0,0 +1,74 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CsvLookupTableTest {
+  private static final String CSV_PATH = "/tmp/csv/测试_CsvLookupTable.csv";
+  private static final SchemaModel SCHEMA = new SchemaModel(ListUtil.asList("id", "name", "memo"));
+
+  @Test
+  void buildAndFind() {
+    FileUtil.delete(CSV_PATH);
+    FileUtil.delete(CsvLookupTable.getLookupPath(CSV_PATH));
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      rowList.add(SCHEMA.newRow().set(0, i).set(1, "名称" + i).set(2, i % 3 == 0 ? "a\nb" : null));
+    }
+    // 转义的键,4字节字符,重复的键(后面的行覆盖),空键
+    rowList.add(SCHEMA.newRow().set(0, "键\"\t1").set(1, "escaped"));
+    rowList.add(SCHEMA.newRow().set(0, "😀").set(1, "emoji"));
+    rowList.add(SCHEMA.newRow().set(0, 100).set(1, "覆盖"));
+    rowList.add(SCHEMA.newRow().set(1, "空键"));
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, rowList, null);
+    Assertions.assertNull(CsvLookupTable.load(CSV_PATH, "id"));
+
+    try (CsvLookupTable lookupTable = CsvLookupTable.open(CSV_PATH, "id")) {
+      assertTable(lookupTable);
+    }
+    // 重新打开 -> 不扫描
+    try (CsvLookupTable lookupTable = CsvLookupTable.load(CSV_PATH, "id")) {
+      Assertions.assertNotNull(lookupTable);
+      assertTable(lookupTable);
+    }
+    // 按其他列查找
+    try (CsvLookupTable lookupTable = CsvLookupTable.open(CSV_PATH, "name")) {
+      Assertions.assertEquals("123", lookupTable.getCell(lookupTable.find("名称123"), "id"));
+    }
+    Assertions.assertNull(CsvLookupTable.load(CSV_PATH, "id"));
+    Assertions.assertThrows(YuuException.class, () -> CsvLookupTable.open(CSV_PATH, "none"));
+
+    // CSV追加 -> 不一致
+    CsvLookupTable.open(CSV_PATH, "id").close();
+    CsvUtil.data2Csv(CSV_PATH, SCHEMA, ListUtil.asList(SCHEMA.newRow().set(0, 20000).set(1, "追加")), null);
+    Assertions.assertNull(CsvLookupTable.load(CSV_PATH, "id"));
+    try (CsvLookupTable lookupTable = CsvLookupTable.open(CSV_PATH, "id")) {
+      Assertions.assertEquals("追加", lookupTable.get(20000).get(1));
+    }
+  }
+
+  private static void assertTable(final CsvLookupTable lookupTable) {
+    Assertions.assertEquals(20002, lookupTable.getKeyCount());
+    for (int i = 0; i < 20000; i += 7) {
+      RowModel row = lookupTable.get(i);
+      Assertions.assertEquals(String.valueOf(i), row.get(0));
+      Assertions.assertEquals(i == 100 ? "覆盖" : "名称" + i, row.get(1));
+      if (i != 100) Assertions.assertEquals(i % 3 == 0 ? "a\nb" : null, row.get(2));
+    }
+    Assertions.assertEquals("名称19999", lookupTable.getCell(lookupTable.find("19999"), "name"));
+    Assertions.assertEquals(-1, lookupTable.find(20000));
+    Assertions.assertEquals(-1, lookupTable.find("1000x"));
+    Assertions.assertEquals(-1, lookupTable.find(""));
+    Assertions.assertEquals("escaped", lookupTable.get("键\"\t1").get(1));
+    Assertions.assertEquals("emoji", lookupTable.get("😀").get(1));
+    Assertions.assertFalse(lookupTable.contains("键"));
+    // [1][\001][名称1][\001]
+    Assertions.assertEquals(10, lookupTable.getRowLength(lookupTable.find(1)));
+  }
+}
@@ -0,0 +1,115 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+class CsvReaderTest {
+  private static final String CSV_PATH = "/tmp/csv/测试_CsvReader.csv";
+  private static final String CSV_GZ_PATH = "/tmp/csv/测试_CsvReader.csv.gz";
+
+  @Test
+  void read() {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2", "column3", "column4"));
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      rowList.add(schema.newRow().set(0, "测试数据" + i).set(1, "a\"b\\c\nd\001" + i).set(2, i % 2 == 0 ? null : i).set(3, MapUtil.of("k", i)));
+    }
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, schema, rowList, null);
+
+    // 全部列
+    try (CsvReader csvReader = new CsvReader(CSV_PATH, null)) {
+      Assertions.assertEquals(schema.getColumnList(), csvReader.getSchema().getColumnList());
+      for (int i = 0; csvReader.hasNext(); i++) {
+        RowModel row = csvReader.next();
+        Assertions.assertEquals("测试数据" + i, row.get(0));
+        Assertions.assertEquals("a\"b\\c\nd\001" + i, row.get(1));
+        Assertions.assertEquals(i % 2 == 0 ? null : String.valueOf(i), row.get(2));
+        Assertions.assertEquals("{\"k\":" + i + "}", row.get(3));
+      }
+      Assertions.assertEquals(1000, csvReader.getRowCount());
+    }
+
+    // 列投影(顺序与文件不同)
+    List<String> valueList = new ArrayList<>();
+    long rowCount = CsvUtil.csv2Data(CSV_PATH, ListUtil.asList("column3", "column1"), row -> {
+      Assertions.assertEquals(2, row.size());
+      valueList.add(row.get("column1") + "|" + row.get("column3"));
+    });
+    Assertions.assertEquals(1000, rowCount);
+    Assertions.assertEquals("测试数据1|1", valueList.get(1));
+  }
+
+  @Test
+  void roundTrip() {
+    // 以[[]或[{]开头的字符串(数组字符串等),包含双引号/换行 -> 与嵌套的Map/List相同,读取时原样还原
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2", "column3"));
+    List<RowModel> rowList = new ArrayList<>();
+    rowList.add(schema.newRow().set(0, "[\"a\",\"b\"]").set(1, "{\"k\":\"x\ny\"}").set(2, MapUtil.of("k", "x\"y\nz")));
+    FileUtil.delete(CSV_PATH);
+    try (CsvWriter csvWriter = new CsvWriter(CSV_PATH, schema, null)) {
+      csvWriter.writeRows(rowList);
+    }
+    try (CsvReader csvReader = new CsvReader(CSV_PATH, null)) {
+      RowModel row = csvReader.next();
+      Assertions.assertEquals("[\"a\",\"b\"]", row.get(0));
+      Assertions.assertEquals("{\"k\":\"x\ny\"}", row.get(1));
+      Assertions.assertEquals("{\"k\":\"x\\\"y\\nz\"}", row.get(2));
+      Assertions.assertEquals(MapUtil.of("k", "x\"y\nz"), JsonUtil.getMap((String) row.get(2)));
+      Assertions.assertFalse(csvReader.hasNext());
+    }
+  }
+
+  @Test
+  void readParallel() {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2"));
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      rowList.add(schema.newRow().set(0, i).set(1, "测试数据" + i));
+    }
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, schema, rowList, null);
+
+    // 按顺序
+    List<String> orderedList = new ArrayList<>();
+    Assertions.assertEquals(10000, CsvUtil.csv2Data(CSV_PATH, ListUtil.asList("column1"), 4, true, row -> orderedList.add((String) row.get(0))));
+    for (int i = 0; i < 10000; i++) {
+      Assertions.assertEquals(String.valueOf(i), orderedList.get(i));
+    }
+
+    // 不按顺序
+    long[] sum = {0};
+    Assertions.assertEquals(10000, CsvUtil.csv2Data(CSV_PATH, ListUtil.asList("column1"), 4, false, row -> sum[0] += Long.parseLong((String) row.get(0))));
+    Assertions.assertEquals(49995000L, sum[0]);
+  }
+
+  @Test
+  void readGzip() throws Exception {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2"));
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      rowList.add(schema.newRow().set(0, i).set(1, "测试数据" + i));
+    }
+    // 写入时压缩(追加 -> 新增GZIP成员)
+    FileUtil.delete(CSV_GZ_PATH);
+    CsvUtil.data2Csv(CSV_GZ_PATH, schema, rowList, null);
+    CsvUtil.data2Csv(CSV_GZ_PATH, schema, rowList, null);
+    try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(Paths.get(CSV_GZ_PATH)))) {
+      Assertions.assertEquals('c', inputStream.read());
+    }
+
+    // 读取时解压(并行读取 -> 逐行读取)
+    List<String> valueList = new ArrayList<>();
+    Assertions.assertEquals(20000, CsvUtil.csv2Data(CSV_GZ_PATH, ListUtil.asList("column2"), 4, true, row -> valueList.add((String) row.get(0))));
+    Assertions.assertEquals("测试数据9999", valueList.get(19999));
+  }
+}
@@ -1,7 +1,15 @@
 package com.github.wanjune.yuu.util;
 
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.ExcelResultModel;
+import com.github.wanjune.yuu.model.ExcelSheetModel;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +36,23 @@ class CsvUtilTest {
     CsvUtil.data2Csv(CSV_PATH, ListUtil.asList("column1", "column2", "column3", "column4"), dataList, ListUtil.asList("column1", "column2"));
   }
 
+  @Test
+  void data2CsvRow() throws Exception {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2", "column3", "column4"));
+    List<RowModel> rowList = new ArrayList<>();
+    rowList.add(schema.newRow().set(0, "测试数据1").set(1, "name\uD83D\uDE021").set(2, "M").set(3, 1));
+    rowList.add(schema.newRow().set("column1", "测试数据2").set("column4", 2));
+
+    // 新建
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    CsvUtil.data2Csv(CSV_PATH, schema, rowList, ListUtil.asList("column2"));
+
+    List<String> lineList = Files.readAllLines(Paths.get(CSV_PATH));
+    Assertions.assertEquals(3, lineList.size());
+    Assertions.assertEquals("测试数据1\001name1\001M\0011", lineList.get(1));
+    Assertions.assertEquals("测试数据2\001\001\0012", lineList.get(2));
+  }
+
   @Test
   void excel2Csv() {
     // 新建
@@ -36,4 +61,53 @@ class CsvUtilTest {
     // 追加
     CsvUtil.excel2Csv(EXCEL_PATH, null, "测试01", 2, true, 500, CSV_PATH, CSV_COLUMN_LIST, ListUtil.asList("column6", "column13"));
   }
+
+  @Test
+  void excel2CsvPipeline() {
+    // 新建
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    CsvUtil.excel2Csv(EXCEL_PATH, null, "测试01", 2, true, 500, CSV_PATH, CSV_COLUMN_LIST, null, 4);
+    // 追加
+    CsvUtil.excel2Csv(EXCEL_PATH, null, "测试01", 2, true, 500, CSV_PATH, CSV_COLUMN_LIST, ListUtil.asList("column6", "column13"), 4);
+    // 批量行数小于1 -> 每行交给写入线程
+    CsvUtil.excel2Csv(EXCEL_PATH, null, "测试01", 2, true, -1, CSV_PATH, CSV_COLUMN_LIST, null, 4);
+  }
+
+  @Test
+  void excel2CsvBatch() {
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    // 每个SHEET保存至各自的CSV
+    List<ExcelSheetModel> sheetList = CsvUtil.listExcelSheets(EXCEL_PATH);
+    for (ExcelSheetModel sheet : sheetList) {
+      sheet.setCsvPath(String.format("/tmp/csv/测试_%s.csv", sheet.getSheetNo()));
+    }
+    List<ExcelResultModel> resultList = CsvUtil.excel2CsvBatch(sheetList, 2, true, 500, null, CSV_COLUMN_LIST, null, 4);
+    Assertions.assertEquals(sheetList.size(), resultList.size());
+    Assertions.assertTrue(resultList.stream().allMatch(ExcelResultModel::isSuccess));
+
+    // 所有SHEET保存至共用的CSV(转换失败的SHEET不影响其他SHEET)
+    sheetList.forEach(sheet -> sheet.setCsvPath(null));
+    sheetList.add(new ExcelSheetModel("/tmp/excel/不存在.xlsx", 0, null, null));
+    resultList = CsvUtil.excel2CsvBatch(sheetList, 2, true, 500, CSV_PATH, CSV_COLUMN_LIST, null, 4);
+    Assertions.assertFalse(resultList.get(resultList.size() - 1).isSuccess());
+    // 数据行数为已写入CSV的行数(包含转换失败的SHEET) -> 与CSV的数据行数一致
+    Assertions.assertEquals(0, resultList.get(resultList.size() - 1).getRowCount());
+    long rowCount = resultList.stream().mapToLong(ExcelResultModel::getRowCount).sum();
+    Assertions.assertEquals(rowCount, CsvUtil.csv2Data(CSV_PATH, null, row -> {
+    }));
+  }
+
+  @Test
+  void excel2DataBatch() {
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    // 所有SHEET写入共用的滚动CSV(由调用方关闭)
+    List<ExcelSheetModel> sheetList = CsvUtil.listExcelSheets(EXCEL_PATH);
+    List<ExcelResultModel> resultList;
+    try (RollingCsvWriter rollingWriter = new RollingCsvWriter(CSV_PATH, CSV_COLUMN_LIST, null, 1000, 0, 0, null)) {
+      resultList = CsvUtil.excel2DataBatch(sheetList, 2, true, 500, rollingWriter, CSV_COLUMN_LIST, null, 4);
+      Assertions.assertTrue(resultList.stream().allMatch(ExcelResultModel::isSuccess));
+      Assertions.assertEquals(rollingWriter.getRowCount(), resultList.stream().mapToLong(ExcelResultModel::getRowCount).sum());
+    }
+    Assertions.assertThrows(YuuException.class, () -> CsvUtil.excel2DataBatch(sheetList, 2, true, 500, null, CSV_COLUMN_LIST, null, 4));
+  }
 }
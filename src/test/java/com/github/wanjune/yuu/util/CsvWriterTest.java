@@ -0,0 +1,52 @@
+package com.github.wanjune.yuu.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class CsvWriterTest {
+  private static final String CSV_PATH = "/tmp/csv/测试_CsvWriter.csv";
+  private static final List<String> CSV_COLUMN_LIST = ListUtil.asList("column1", "column2", "column3");
+
+  @Test
+  void write() throws Exception {
+    List<Map<String, Object>> dataList = new ArrayList<>();
+    dataList.add(MapUtil.of("column1", "测试数据1", "column2", "name\uD83D\uDE021", "column3", 1));
+    dataList.add(MapUtil.of("column1", "测试数据2", "column2", "name2", "column3", 2));
+
+    // 新建(一次打开,多批次写入)
+    FileUtil.delete(CSV_PATH);
+    try (CsvWriter csvWriter = new CsvWriter(CSV_PATH, CSV_COLUMN_LIST, ListUtil.asList("column2"))) {
+      Assertions.assertFalse(csvWriter.isAppend());
+      csvWriter.write(dataList);
+      csvWriter.write(dataList);
+      Assertions.assertEquals(4, csvWriter.getRowCount());
+    }
+    Assertions.assertEquals(5, Files.readAllLines(Paths.get(CSV_PATH)).size());
+
+    // 追加(不再写入标题行)
+    try (CsvWriter csvWriter = new CsvWriter(CSV_PATH, CSV_COLUMN_LIST, null)) {
+      Assertions.assertTrue(csvWriter.isAppend());
+      csvWriter.write(dataList);
+    }
+    Assertions.assertEquals(7, Files.readAllLines(Paths.get(CSV_PATH)).size());
+  }
+
+  @Test
+  void writeCell() throws Exception {
+    List<Map<String, Object>> dataList = new ArrayList<>();
+    dataList.add(MapUtil.of("column1", "a\"b\\c\nd\001", "column2", LocalDateTime.of(2022, 10, 26, 8, 30, 0), "column3", MapUtil.of("k", 1)));
+
+    FileUtil.delete(CSV_PATH);
+    try (CsvWriter csvWriter = new CsvWriter(CSV_PATH, CSV_COLUMN_LIST, null)) {
+      csvWriter.write(dataList);
+    }
+    Assertions.assertEquals("a\\\"b\\\\c\\nd\\u0001\0012022-10-26 08:30:00\001{\\\"k\\\":1}", Files.readAllLines(Paths.get(CSV_PATH)).get(1));
+  }
+}
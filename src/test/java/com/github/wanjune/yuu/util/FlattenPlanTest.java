@@ -0,0 +1,61 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class FlattenPlanTest {
+  private static final String JSON = "{\"id\":1001,\"skip\":{\"deep\":[1,2,{\"x\":\"y\"}]},\"user\":{\"name\":\"测试\",\"age\":30.5,\"vip\":true,\"tags\":[\"a\",\"b\"]},"
+      + "\"items\":[{\"sku\":\"s1\",\"qty\":2},{\"sku\":\"s2\",\"qty\":null}],\"memo\":null}";
+  private static final List<String> COLUMN_LIST = ListUtil.asList("id", "user.name", "user.age", "user.vip", "user.tags", "user.tags.1",
+      "items.0.sku", "items.1.qty", "items.5.sku", "none.x", "memo");
+
+  @Test
+  void apply() {
+    FlattenPlan plan = FlattenPlan.compile(COLUMN_LIST);
+    assertRow(plan.apply(JsonUtil.getMap(JSON)));
+    Assertions.assertNull(plan.apply(null).get("id"));
+
+    List<RowModel> rowList = plan.applyAll(ListUtil.asList(JsonUtil.getMap(JSON), MapUtil.of("id", 2)));
+    Assertions.assertEquals(2, rowList.size());
+    Assertions.assertEquals(2, rowList.get(1).get("id"));
+    Assertions.assertNull(rowList.get(1).get("user.name"));
+  }
+
+  @Test
+  void parse() {
+    FlattenPlan plan = FlattenPlan.compile(COLUMN_LIST);
+    assertRow(plan.parse(JSON));
+
+    // 复用行数据;与apply的结果相同
+    RowModel row = plan.getSchema().newRow();
+    plan.parse(JSON.getBytes(StandardCharsets.UTF_8), row);
+    Assertions.assertEquals(plan.apply(JsonUtil.getMap(JSON)).toMap(), row.toMap());
+    plan.parse("{\"id\":3}", row);
+    Assertions.assertEquals(3, row.get("id"));
+    Assertions.assertNull(row.get("user.name"));
+
+    Assertions.assertNull(plan.parse("").get("id"));
+    Assertions.assertThrows(YuuException.class, () -> plan.parse("[1,2]"));
+    Assertions.assertThrows(YuuException.class, () -> plan.parse("{\"id\":"));
+    Assertions.assertThrows(YuuException.class, () -> FlattenPlan.compile(ListUtil.asList("a..b")));
+  }
+
+  private static void assertRow(final RowModel row) {
+    Assertions.assertEquals(1001, row.get("id"));
+    Assertions.assertEquals("测试", row.get("user.name"));
+    Assertions.assertEquals(30.5, row.get("user.age"));
+    Assertions.assertEquals(Boolean.TRUE, row.get("user.vip"));
+    Assertions.assertEquals(ListUtil.asList("a", "b"), row.get("user.tags"));
+    Assertions.assertEquals("b", row.get("user.tags.1"));
+    Assertions.assertEquals("s1", row.get("items.0.sku"));
+    Assertions.assertNull(row.get("items.1.qty"));
+    Assertions.assertNull(row.get("items.5.sku"));
+    Assertions.assertNull(row.get("none.x"));
+    Assertions.assertNull(row.get("memo"));
+  }
+}
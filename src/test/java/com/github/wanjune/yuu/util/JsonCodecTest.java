@@ -0,0 +1,65 @@
+package com.github.wanjune.yuu.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.MessageModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class JsonCodecTest {
+  private static final String JSON = "{\"code\":1103,\"message\":\"Jackson测试3\"}";
+
+  @Test
+  void codec() {
+    JsonCodec<MessageModel> codec = JsonUtil.codec(MessageModel.class);
+    Assertions.assertSame(codec, JsonUtil.codec(MessageModel.class));
+
+    MessageModel message = codec.read(JSON);
+    Assertions.assertEquals(1103, message.getCode());
+    Assertions.assertEquals("Jackson测试3", codec.read(JSON.getBytes(StandardCharsets.UTF_8)).getMessage());
+    Assertions.assertEquals("Jackson测试3", codec.read(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8))).getMessage());
+    Assertions.assertEquals(1103, codec.read(codec.write(message)).getCode());
+    Assertions.assertEquals(1103, codec.read(codec.writeBytes(message)).getCode());
+    Assertions.assertNull(codec.read(" "));
+    Assertions.assertThrows(YuuException.class, () -> codec.read("{\"code\":"));
+
+    // 泛型类型 -> 按类型缓存
+    JsonCodec<List<Long>> listCodec = JsonUtil.codec(new TypeReference<List<Long>>() {
+    });
+    Assertions.assertSame(listCodec, JsonUtil.codec(new TypeReference<List<Long>>() {
+    }));
+    Assertions.assertEquals(Long.valueOf(2), listCodec.read("[1,2]").get(1));
+    Assertions.assertTrue(listCodec.isValid("[1]"));
+    Assertions.assertFalse(listCodec.isValid("[1"));
+    Assertions.assertFalse(listCodec.isValid(null));
+    Assertions.assertFalse(listCodec.isValid(" "));
+  }
+
+  @Test
+  void readStream() {
+    // 读取后不关闭输入流(由调用方关闭)
+    boolean[] closed = {false};
+    ByteArrayInputStream inputStream = new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)) {
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+    };
+    Assertions.assertEquals(1103, JsonUtil.codec(MessageModel.class).read(inputStream).getCode());
+    Assertions.assertFalse(closed[0]);
+  }
+
+  @Test
+  void mapCodec() {
+    Map<String, Object> map = JsonUtil.CODEC_MAP.read(JSON);
+    Assertions.assertEquals(1103, map.get("code"));
+    Assertions.assertEquals(JSON, JsonUtil.CODEC_MAP.write(map));
+    Assertions.assertEquals(2, JsonUtil.CODEC_LIST_MAP.read("[" + JSON + "," + JSON + "]").size());
+    Assertions.assertFalse(JsonUtil.CODEC_LIST_MAP.isValid(JSON));
+  }
+}
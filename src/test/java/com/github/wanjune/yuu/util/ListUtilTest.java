@@ -1,12 +1,20 @@
 package com.github.wanjune.yuu.util;
 
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.BatchMetricsModel;
 import com.github.wanjune.yuu.model.MessageModel;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 class ListUtilTest {
@@ -51,6 +59,18 @@ class ListUtilTest {
       log.info(String.format("索引[%s] -> \t[%s]", list2.indexOf(e), e));
     });
     Assertions.assertEquals(7, list2.size());
+    Assertions.assertEquals(ListUtil.asList("5", "7", "8", "4", "1", "3", "2"), list2);
+
+    // 双引号中的逗号/空白/转义
+    Assertions.assertEquals(ListUtil.asList("a", "b,c", " d ", "e\"f", "中\n"), ListUtil.asList("[\"a\", \"b,c\", \" d \", \"e\\\"f\", \"\\u4e2d\\n\"]"));
+    Assertions.assertEquals(ListUtil.asList("", "a", ""), ListUtil.asList(",a,\"\",,"));
+    Assertions.assertNull(ListUtil.asList("[ ]"));
+    Assertions.assertNull(ListUtil.asList(" "));
+
+    // 逐个处理元素
+    List<Integer> valueList = new ArrayList<>();
+    Assertions.assertEquals(3, ListUtil.forEachToken("[1, 2, 3]", e -> valueList.add(Integer.parseInt(e))));
+    Assertions.assertEquals(ListUtil.asList(1, 2, 3), valueList);
   }
 
   @Test
@@ -116,5 +136,90 @@ class ListUtilTest {
     List<List<MessageModel>> listp1 = ListUtil.partition(list0, 20);
     Assertions.assertEquals(20, listp1.get(4).size());
     Assertions.assertEquals("测试消息200", listp1.get(4).get(19).getMessage());
+
+    // 最后一部分不足每部分长度
+    List<List<MessageModel>> listp2 = ListUtil.partition(list0, 30);
+    Assertions.assertEquals(4, listp2.size());
+    Assertions.assertEquals(10, listp2.get(3).size());
+    Assertions.assertEquals("测试消息200", listp2.get(3).get(9).getMessage());
+    Assertions.assertTrue(ListUtil.partition(new ArrayList<>(), 10).isEmpty());
+    Assertions.assertNull(ListUtil.partition(list0, 0));
+  }
+
+  @Test
+  void partitionStream() {
+    List<List<Integer>> partList = ListUtil.partitionStream(Stream.iterate(0, n -> n + 1).limit(1001), 100).collect(Collectors.toList());
+    Assertions.assertEquals(11, partList.size());
+    Assertions.assertEquals(100, partList.get(0).size());
+    Assertions.assertEquals(Integer.valueOf(1000), partList.get(10).get(0));
+
+    Assertions.assertEquals(3, ListUtil.partitionStream(new LinkedHashSet<>(ListUtil.asList(1, 2, 3, 4, 5)), 2).count());
+  }
+
+  @Test
+  void forEachBatch() {
+    List<Integer> list = Stream.iterate(1, n -> n + 1).limit(10000).collect(Collectors.toList());
+    AtomicLong sum = new AtomicLong();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    BatchMetricsModel metrics = ListUtil.forEachBatch(list, 500, 4, batch -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      batch.forEach(sum::addAndGet);
+      running.decrementAndGet();
+    });
+    Assertions.assertEquals(10000L * 10001 / 2, sum.get());
+    Assertions.assertTrue(maxRunning.get() <= 4);
+    Assertions.assertEquals(20, metrics.getBatchCount());
+    Assertions.assertEquals(10000, metrics.getElementCount());
+    Assertions.assertEquals(20, metrics.getBatchCostMillisList().size());
+
+    // 结果按批次顺序
+    List<Integer> sizeList = ListUtil.mapBatch(list, 3000, 3, List::size);
+    Assertions.assertEquals(ListUtil.asList(3000, 3000, 3000, 1000), sizeList);
+
+    // 第一个失败 -> 取消其他批次
+    AtomicInteger processed = new AtomicInteger();
+    YuuException ex = Assertions.assertThrows(YuuException.class, () -> ListUtil.forEachBatch(list, 10, 2, batch -> {
+      if (batch.get(0) == 11) throw new IllegalStateException("测试失败");
+      processed.incrementAndGet();
+      try {
+        Thread.sleep(5);
+      } catch (InterruptedException iex) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    Assertions.assertTrue(ex.getMessage().contains("第[2]批"));
+    Assertions.assertTrue(processed.get() < 100);
+  }
+
+  @Test
+  void setAlgebra() {
+    // 按元素出现次数比较
+    Assertions.assertFalse(ListUtil.equal(ListUtil.asList("a", "a", "b"), ListUtil.asList("a", "b", "b")));
+    Assertions.assertTrue(ListUtil.equal(ListUtil.asList("a", null, "b"), ListUtil.asList("b", "a", null)));
+
+    Assertions.assertEquals(ListUtil.asList("a", "b"), ListUtil.diff(ListUtil.asList("a", "a", "b", "c"), ListUtil.asList("a", "c", "d")));
+    Assertions.assertEquals(ListUtil.asList("a", "c"), ListUtil.intersect(ListUtil.asList("a", "a", "b", "c"), ListUtil.asList("a", "c", "c", "d")));
+    Assertions.assertEquals(ListUtil.asList("b", "a", null), ListUtil.dedupe(ListUtil.asList("b", "a", "b", null, "a", null)));
+    Assertions.assertEquals(ListUtil.asList("a"), ListUtil.diff(ListUtil.asList("a"), null));
+
+    // 超过阈值 -> 并行(结果与顺序处理一致)
+    int size = ListUtil.PARALLEL_THRESHOLD + 1000;
+    List<Integer> list1 = new ArrayList<>(size);
+    List<Integer> list2 = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list1.add(i % 50000);
+      list2.add(i % 70000);
+    }
+    List<Integer> diffList = ListUtil.diff(list1, list2);
+    List<Integer> intersectList = ListUtil.intersect(list1, list2);
+    Assertions.assertEquals(size, diffList.size() + intersectList.size());
+    Assertions.assertEquals(ListUtil.diff(list1.subList(0, size), list2.subList(0, 1000)).size(), size - 1000);
+    Assertions.assertEquals(50000, ListUtil.dedupe(list1).size());
+    Assertions.assertEquals(Integer.valueOf(49999), ListUtil.dedupe(list1).get(49999));
+    Assertions.assertFalse(ListUtil.equal(list1, list2));
+    List<Integer> reversed = new ArrayList<>(list1);
+    Collections.reverse(reversed);
+    Assertions.assertTrue(ListUtil.equal(list1, reversed));
   }
 }
@@ -0,0 +1,170 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.CacheStatsModel;
+import com.github.wanjune.yuu.value.CacheEvictionEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LocalCacheTest {
+
+  @Test
+  void lru() {
+    LocalCache<String, Integer> cache = MapUtil.newCache(3, 0);
+    cache.put("a", 1);
+    cache.put("b", 2);
+    cache.put("c", 3);
+    Assertions.assertEquals(Integer.valueOf(1), cache.get("a"));
+    cache.put("d", 4);
+
+    // 最久未访问的b被淘汰
+    Assertions.assertNull(cache.get("b"));
+    Assertions.assertEquals(3, cache.size());
+    Assertions.assertEquals(Integer.valueOf(1), cache.get("a"));
+    Assertions.assertEquals(Integer.valueOf(4), cache.get("d"));
+    Assertions.assertEquals(Integer.valueOf(4), cache.remove("d"));
+    Assertions.assertEquals(2, cache.size());
+
+    CacheStatsModel stats = cache.stats();
+    Assertions.assertEquals(3, stats.getHitCount());
+    Assertions.assertEquals(1, stats.getMissCount());
+    Assertions.assertEquals(1, stats.getEvictionCount());
+    Assertions.assertEquals(0.75, stats.getHitRate());
+    Assertions.assertThrows(YuuException.class, () -> cache.put(null, 1));
+    Assertions.assertThrows(YuuException.class, () -> cache.put("e", null));
+  }
+
+  @Test
+  void weight() {
+    LocalCache<String, String> cache = MapUtil.newCache(10, 0, (key, value) -> value.length(), null);
+    cache.put("a", "1234");
+    cache.put("b", "1234");
+    Assertions.assertEquals(8, cache.weight());
+    cache.put("c", "123");
+    Assertions.assertNull(cache.get("a"));
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(7, cache.weight());
+
+    // 更新值 -> 重新计算权重
+    cache.put("c", "123456");
+    Assertions.assertEquals(10, cache.weight());
+
+    // 超过最大权重的条目 -> 不保留,其他条目不淘汰
+    cache.put("d", "12345678901");
+    Assertions.assertNull(cache.get("d"));
+    Assertions.assertEquals("1234", cache.get("b"));
+    Assertions.assertEquals("123456", cache.get("c"));
+    Assertions.assertEquals(10, cache.weight());
+    // 已有的键更新为超过最大权重的值 -> 删除旧值
+    cache.put("b", "12345678901");
+    Assertions.assertNull(cache.get("b"));
+    Assertions.assertEquals(6, cache.weight());
+
+    LocalCache<String, String> lfuCache = MapUtil.newCache(10, 0, (key, value) -> value.length(), CacheEvictionEnum.TINY_LFU);
+    lfuCache.put("a", "123");
+    lfuCache.put("b", "123");
+    lfuCache.put("c", "12345678901");
+    Assertions.assertNull(lfuCache.get("c"));
+    Assertions.assertEquals(2, lfuCache.size());
+    Assertions.assertEquals(6, lfuCache.weight());
+  }
+
+  @Test
+  void tinyLfu() {
+    LocalCache<Integer, Integer> cache = MapUtil.newCache(100, 0, null, CacheEvictionEnum.TINY_LFU);
+    // 热点条目反复访问
+    for (int n = 0; n < 10; n++) {
+      for (int i = 0; i < 50; i++) {
+        cache.get(i, key -> key);
+      }
+    }
+    // 一次性扫描大量条目
+    for (int i = 1000; i < 20000; i++) {
+      cache.get(i, key -> key);
+    }
+    Assertions.assertEquals(100, cache.size());
+
+    int hotCount = 0;
+    for (int i = 0; i < 50; i++) {
+      if (cache.get(i) != null) hotCount++;
+    }
+    Assertions.assertTrue(hotCount >= 45);
+    Assertions.assertEquals(19000 + 50, cache.stats().getLoadSuccessCount());
+  }
+
+  @Test
+  void expire() throws InterruptedException {
+    LocalCache<String, Integer> cache = MapUtil.newCache(10, 50);
+    cache.put("a", 1);
+    cache.put("b", 2, 0);
+    cache.put("c", 3, 10000);
+    TimeUnit.MILLISECONDS.sleep(100);
+
+    Assertions.assertNull(cache.get("a"));
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(Integer.valueOf(2), cache.get("b"));
+    Assertions.assertEquals(Integer.valueOf(3), cache.get("c"));
+
+    cache.put("d", 4, 1);
+    TimeUnit.MILLISECONDS.sleep(10);
+    Assertions.assertEquals(1, cache.cleanUp());
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(Integer.valueOf(10), cache.get("a", key -> 10));
+  }
+
+  @Test
+  void singleFlight() throws Exception {
+    LocalCache<String, Integer> cache = MapUtil.newCache(10, 0);
+    AtomicInteger loadCount = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> futureList = new ArrayList<>();
+      futureList.add(executor.submit(() -> cache.get("key", key -> {
+        loadCount.incrementAndGet();
+        started.countDown();
+        await(release);
+        return 100;
+      })));
+      started.await();
+      for (int i = 0; i < 7; i++) {
+        futureList.add(executor.submit(() -> cache.get("key", key -> loadCount.incrementAndGet())));
+      }
+      TimeUnit.MILLISECONDS.sleep(50);
+      release.countDown();
+      for (Future<Integer> future : futureList) {
+        Assertions.assertEquals(Integer.valueOf(100), future.get());
+      }
+      Assertions.assertEquals(1, loadCount.get());
+      Assertions.assertEquals(1, cache.stats().getLoadSuccessCount());
+
+      // 加载失败 -> 不缓存,抛出异常
+      Assertions.assertThrows(IllegalStateException.class, () -> cache.get("error", key -> {
+        throw new IllegalStateException(key);
+      }));
+      Assertions.assertEquals(1, cache.stats().getLoadFailureCount());
+      Assertions.assertNull(cache.get("null", key -> null));
+      Assertions.assertEquals(1, cache.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.wanjune.yuu.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class LongHashSetTest {
+
+  @Test
+  void addAndRemove() {
+    LongHashSet set = new LongHashSet(4);
+    Set<Long> expected = new HashSet<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 100000; i++) {
+      long value = random.nextInt(50000) - 100;
+      if (random.nextInt(4) == 0) {
+        Assertions.assertEquals(expected.remove(value), set.remove(value));
+      } else {
+        Assertions.assertEquals(expected.add(value), set.add(value));
+      }
+    }
+    Assertions.assertEquals(expected.size(), set.size());
+    for (long value = -100; value < 50000; value++) {
+      Assertions.assertEquals(expected.contains(value), set.contains(value));
+    }
+
+    long[] sum = {0};
+    set.forEach(value -> sum[0] += value);
+    Assertions.assertEquals(expected.stream().mapToLong(Long::longValue).sum(), sum[0]);
+    Assertions.assertEquals(expected.size(), set.toArray().length);
+
+    set.clear();
+    Assertions.assertTrue(set.isEmpty());
+    Assertions.assertFalse(set.contains(0));
+  }
+}
@@ -0,0 +1,53 @@
+package com.github.wanjune.yuu.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class LongListTest {
+
+  @Test
+  void addAndGet() {
+    LongList list = new LongList(2);
+    for (long i = 0; i < 1000; i++) {
+      list.add(10000000000L + i);
+    }
+    Assertions.assertEquals(1000, list.size());
+    Assertions.assertEquals(10000000999L, list.get(999));
+    Assertions.assertEquals(500, list.indexOf(10000000500L));
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(1000));
+    Assertions.assertEquals(ListUtil.asList(1L, 2L, 3L), LongList.of(ListUtil.asList(1L, 2L, 3L)).toList());
+    Assertions.assertEquals(LongList.of(1, 2, 3), LongList.of(ListUtil.asList(1, 2, 3)));
+  }
+
+  @Test
+  void sortAndDedupe() {
+    LongList list = LongList.of(5, 3, 5, 1, 3, 0, -1);
+    list.dedupe();
+    Assertions.assertEquals(LongList.of(-1, 0, 1, 3, 5), list);
+    Assertions.assertTrue(list.binarySearch(3) >= 0);
+    Assertions.assertTrue(list.binarySearch(4) < 0);
+
+    IntList intList = IntList.of(9, 7, 9, 8);
+    intList.dedupe();
+    Assertions.assertEquals(IntList.of(7, 8, 9), intList);
+  }
+
+  @Test
+  void partitionAndJoin() {
+    LongList list = new LongList();
+    for (long i = 1; i <= 1001; i++) {
+      list.add(i);
+    }
+    List<LongList> partList = list.partition(500);
+    Assertions.assertEquals(3, partList.size());
+    Assertions.assertEquals(1, partList.get(2).size());
+    Assertions.assertEquals(1001, partList.get(2).get(0));
+    Assertions.assertNull(list.partition(0));
+
+    Assertions.assertEquals("1,2,3", LongList.of(1, 2, 3).join(null));
+    Assertions.assertEquals(StringUtil.splitList(ListUtil.asList(1, 2, 3), "|"), IntList.of(1, 2, 3).join("|"));
+    Assertions.assertEquals(6, IntList.of(1, 2, 3).stream().sum());
+  }
+}
@@ -0,0 +1,31 @@
+package com.github.wanjune.yuu.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LongLongMapTest {
+
+  @Test
+  void addAndRemove() {
+    LongLongMap map = new LongLongMap();
+    for (long i = 0; i < 10000; i++) {
+      map.addTo(i % 1000, 1);
+    }
+    Assertions.assertEquals(1000, map.size());
+    Assertions.assertEquals(10, map.get(0, -1));
+    Assertions.assertEquals(10, map.get(999, -1));
+    Assertions.assertEquals(-1, map.get(1000, -1));
+
+    map.put(5, 100);
+    Assertions.assertEquals(100, map.get(5, -1));
+    for (long i = 0; i < 1000; i += 2) {
+      Assertions.assertTrue(map.remove(i));
+    }
+    Assertions.assertFalse(map.remove(0));
+    Assertions.assertEquals(500, map.size());
+    for (long i = 1; i < 1000; i += 2) {
+      Assertions.assertEquals(i == 5 ? 100 : 10, map.get(i, -1));
+    }
+    Assertions.assertEquals(500, map.keys().size());
+  }
+}
@@ -67,5 +67,19 @@ class MapUtilTest {
     Assertions.assertEquals(map.size(), 2);
     Assertions.assertEquals("v1", MapUtil.get(map, "k1"));
     Assertions.assertEquals("v2", MapUtil.get(map, "k2"));
+
+    // 不可修改;与HashMap相等;遍历顺序为参数顺序
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> map.put("k3", "v3"));
+    Assertions.assertEquals(new HashMap<>(map), map);
+    Assertions.assertEquals(new HashMap<>(map).hashCode(), map.hashCode());
+    Assertions.assertEquals("[k1, k2]", map.keySet().toString());
+
+    // 键重复 -> 后面的值覆盖;支持null
+    Map<String, Object> map2 = MapUtil.of("k1", 1, null, 2, "k1", 3);
+    Assertions.assertEquals(2, map2.size());
+    Assertions.assertEquals(3, map2.get("k1"));
+    Assertions.assertEquals(2, map2.get(null));
+    Assertions.assertFalse(map2.containsKey("k2"));
+    Assertions.assertEquals("v", MapUtil.copy(MapUtil.of("k", "v")).put("k", "v2"));
   }
 }
@@ -0,0 +1,138 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import com.github.wanjune.yuu.value.ColumnTypeEnum;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class ParquetRowWriterTest {
+  private static final String PARQUET_PATH = "/tmp/parquet/测试_ParquetRowWriter.parquet";
+  private static final String CSV_PATH = "/tmp/csv/测试_ParquetRowWriter.csv";
+  private static final String EXCEL_PATH = "/tmp/excel/测试准备数据_20221026.xlsx";
+
+  @Test
+  void write() throws Exception {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2", "column3", "column4", "column5"));
+    Map<String, ColumnTypeEnum> columnTypeMap = MapUtil.of("column2", ColumnTypeEnum.LONG, "column3", ColumnTypeEnum.DATETIME, "column4", ColumnTypeEnum.DOUBLE,
+        "column5", ColumnTypeEnum.BOOLEAN);
+    List<Map<String, Object>> dataList = new ArrayList<>();
+    dataList.add(MapUtil.of("column1", "测试数据1", "column2", "1", "column3", "2022-10-26 08:30:00", "column4", 1.5, "column5", "TRUE"));
+    dataList.add(MapUtil.of("column1", "测试数据2", "column2", "", "column3", null, "column4", "2.5", "column5", "0"));
+
+    try (ParquetRowWriter parquetWriter = new ParquetRowWriter(PARQUET_PATH, schema, columnTypeMap, null, 1 << 20, true)) {
+      parquetWriter.write(dataList);
+      parquetWriter.write(schema.newRow().set(0, "测试数据3").set(1, 3L));
+      Assertions.assertEquals(3, parquetWriter.getRowCount());
+      // 不能转换的值 -> 异常(不写入默认值)
+      Assertions.assertThrows(YuuException.class, () -> parquetWriter.write(schema.newRow().set(4, "yes")));
+      Assertions.assertThrows(YuuException.class, () -> parquetWriter.write(schema.newRow().set(1, "1a")));
+    }
+
+    List<Group> groupList = readParquet();
+    Assertions.assertEquals(3, groupList.size());
+    Group group = groupList.get(0);
+    Assertions.assertEquals(PrimitiveTypeName.BINARY, group.getType().getType(0).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals(PrimitiveTypeName.INT64, group.getType().getType(1).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals(PrimitiveTypeName.INT64, group.getType().getType(2).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals(PrimitiveTypeName.DOUBLE, group.getType().getType(3).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals(PrimitiveTypeName.BOOLEAN, group.getType().getType(4).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals("测试数据1", group.getString(0, 0));
+    Assertions.assertEquals(1L, group.getLong(1, 0));
+    Assertions.assertEquals(LocalDateTime.of(2022, 10, 26, 8, 30, 0).toInstant(ZoneOffset.UTC).toEpochMilli(), group.getLong(2, 0));
+    Assertions.assertEquals(1.5, group.getDouble(3, 0));
+    Assertions.assertTrue(group.getBoolean(4, 0));
+
+    // 空字符串/null -> null
+    group = groupList.get(1);
+    Assertions.assertEquals(0, group.getFieldRepetitionCount(1));
+    Assertions.assertEquals(0, group.getFieldRepetitionCount(2));
+    Assertions.assertEquals(2.5, group.getDouble(3, 0));
+    Assertions.assertFalse(group.getBoolean(4, 0));
+    Assertions.assertEquals(3L, groupList.get(2).getLong(1, 0));
+    Assertions.assertEquals(0, groupList.get(2).getFieldRepetitionCount(4));
+  }
+
+  @Test
+  void writeNumber() throws Exception {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2"), ListUtil.asList(ColumnTypeEnum.INT, ColumnTypeEnum.LONG));
+    try (ParquetRowWriter parquetWriter = new ParquetRowWriter(PARQUET_PATH, schema, null, null, ParquetRowWriter.DEFAULT_ROW_GROUP_SIZE, true)) {
+      parquetWriter.write(schema.newRow().set(0, 3.0).set(1, new BigDecimal("4.00")));
+      parquetWriter.write(schema.newRow().set(0, Integer.MAX_VALUE).set(1, Long.MAX_VALUE));
+      // 超过范围/有小数部分 -> 异常(不截断;包含行号和列名)
+      YuuException ex = Assertions.assertThrows(YuuException.class, () -> parquetWriter.write(schema.newRow().set(0, 1L << 31)));
+      Assertions.assertTrue(ex.getMessage().contains("第[3]行的列[column1]"));
+      Assertions.assertThrows(YuuException.class, () -> parquetWriter.write(schema.newRow().set(0, 1.9)));
+      Assertions.assertThrows(YuuException.class, () -> parquetWriter.write(schema.newRow().set(1, new BigDecimal("1.5"))));
+      Assertions.assertThrows(YuuException.class, () -> parquetWriter.write(schema.newRow().set(1, 1e19)));
+      Assertions.assertEquals(2, parquetWriter.getRowCount());
+    }
+
+    List<Group> groupList = readParquet();
+    Assertions.assertEquals(2, groupList.size());
+    Assertions.assertEquals(3, groupList.get(0).getInteger(0, 0));
+    Assertions.assertEquals(4L, groupList.get(0).getLong(1, 0));
+    Assertions.assertEquals(Integer.MAX_VALUE, groupList.get(1).getInteger(0, 0));
+    Assertions.assertEquals(Long.MAX_VALUE, groupList.get(1).getLong(1, 0));
+  }
+
+  @Test
+  void writeInferred() throws Exception {
+    // SchemaUtil推断的类型 -> Parquet(日期和日时混合的列 -> DATETIME,日期为当天0点)
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2", "column3"));
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rowList.add(schema.newRow().set(0, i).set(1, i % 2 == 0 ? "2022-10-26 08:30:00" : "2022-10-26").set(2, "测试数据" + i));
+    }
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, schema, rowList, null);
+    SchemaModel typedSchema = SchemaUtil.inferCsv(CSV_PATH, null, 100, 1);
+    Assertions.assertEquals(ListUtil.asList(ColumnTypeEnum.INT, ColumnTypeEnum.DATETIME, ColumnTypeEnum.STRING), typedSchema.getTypeList());
+
+    try (ParquetRowWriter parquetWriter = new ParquetRowWriter(PARQUET_PATH, typedSchema, null, null, ParquetRowWriter.DEFAULT_ROW_GROUP_SIZE, true);
+         CsvReader csvReader = new CsvReader(CSV_PATH, null)) {
+      csvReader.forEachRemaining(parquetWriter::write);
+    }
+    List<Group> groupList = readParquet();
+    Assertions.assertEquals(100, groupList.size());
+    Assertions.assertEquals(PrimitiveTypeName.INT32, groupList.get(0).getType().getType(0).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals(PrimitiveTypeName.INT64, groupList.get(0).getType().getType(1).asPrimitiveType().getPrimitiveTypeName());
+    Assertions.assertEquals(1, groupList.get(1).getInteger(0, 0));
+    Assertions.assertEquals(LocalDateTime.of(2022, 10, 26, 8, 30, 0).toInstant(ZoneOffset.UTC).toEpochMilli(), groupList.get(0).getLong(1, 0));
+    Assertions.assertEquals(LocalDate.of(2022, 10, 26).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli(), groupList.get(1).getLong(1, 0));
+    Assertions.assertEquals("测试数据1", groupList.get(1).getString(2, 0));
+  }
+
+  @Test
+  void excel2Parquet() {
+    // EXCEL转换的输出格式 -> Parquet
+    try (ParquetRowWriter parquetWriter = new ParquetRowWriter(PARQUET_PATH, ListUtil.asList("column1", "column2", "column3"), null)) {
+      Assertions.assertTrue(CsvUtil.excel2Data(EXCEL_PATH, null, "测试01", 2, true, 500, parquetWriter) > 0);
+    }
+  }
+
+  private static List<Group> readParquet() throws IOException {
+    List<Group> groupList = new ArrayList<>();
+    try (ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), new Path(PARQUET_PATH)).build()) {
+      for (Group group = reader.read(); group != null; group = reader.read()) {
+        groupList.add(group);
+      }
+    }
+    return groupList;
+  }
+}
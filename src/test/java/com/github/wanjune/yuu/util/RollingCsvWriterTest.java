@@ -0,0 +1,77 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+class RollingCsvWriterTest {
+  private static final String CSV_PATH = "/tmp/csv/rolling/测试_RollingCsvWriter.csv";
+  private static final List<String> CSV_COLUMN_LIST = ListUtil.asList("column1", "column2", "column3");
+
+  @Test
+  void rollByRow() throws Exception {
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    List<String> finishedList = new ArrayList<>();
+    SchemaModel schema = new SchemaModel(CSV_COLUMN_LIST);
+    try (RollingCsvWriter csvWriter = new RollingCsvWriter(CSV_PATH, schema, null, 10, 0, 0, writer -> finishedList.add(writer.getCsvPath()))) {
+      for (int i = 0; i < 25; i++) {
+        csvWriter.write(schema.newRow().set(0, "测试数据" + i).set(2, i));
+      }
+      Assertions.assertEquals(2, finishedList.size());
+    }
+    Assertions.assertEquals(ListUtil.asList("/tmp/csv/rolling/测试_RollingCsvWriter_00001.csv", "/tmp/csv/rolling/测试_RollingCsvWriter_00002.csv",
+        "/tmp/csv/rolling/测试_RollingCsvWriter_00003.csv"), finishedList);
+    // 每个CSV都有标题行
+    Assertions.assertEquals(11, Files.readAllLines(Paths.get(finishedList.get(0))).size());
+    Assertions.assertEquals(6, Files.readAllLines(Paths.get(finishedList.get(2))).size());
+  }
+
+  @Test
+  void rollByByte() {
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    try (RollingCsvWriter csvWriter = new RollingCsvWriter(CSV_PATH, CSV_COLUMN_LIST, null, 0, 1024, 0, null)) {
+      for (int i = 0; i < 1000; i++) {
+        csvWriter.write(MapUtil.of("column1", "测试数据" + i, "column2", "name" + i, "column3", i));
+      }
+      csvWriter.close();
+      Assertions.assertEquals(1000, csvWriter.getRowCount());
+      Assertions.assertTrue(csvWriter.getCsvPathList().size() > 1);
+      long rowCount = 0;
+      for (String csvPath : csvWriter.getCsvPathList()) {
+        Assertions.assertTrue(new File(csvPath).length() < 1024 + 64);
+        rowCount += CsvUtil.csv2Data(csvPath, null, row -> {
+        });
+      }
+      Assertions.assertEquals(1000, rowCount);
+    }
+  }
+
+  @Test
+  void rollByTime() throws Exception {
+    FileUtil.delete(FileUtil.getParentPath(CSV_PATH));
+    List<String> finishedList = new ArrayList<>();
+    try (RollingCsvWriter csvWriter = new RollingCsvWriter(CSV_PATH, CSV_COLUMN_LIST, null, 0, 0, 200, writer -> finishedList.add(writer.getCsvPath()))) {
+      csvWriter.write(MapUtil.of("column1", "测试数据0"));
+      csvWriter.flush();
+      Assertions.assertTrue(finishedList.isEmpty());
+
+      // 无数据写入(空闲) -> 时间窗口结束后刷新时完成当前CSV
+      Thread.sleep(300);
+      csvWriter.flush();
+      Assertions.assertEquals(1, finishedList.size());
+      Assertions.assertEquals(2, Files.readAllLines(Paths.get(finishedList.get(0))).size());
+      // 没有当前CSV -> 不创建空文件
+      csvWriter.flush();
+      Assertions.assertEquals(1, csvWriter.getCsvPathList().size());
+
+      csvWriter.write(MapUtil.of("column1", "测试数据1"));
+    }
+    Assertions.assertEquals(ListUtil.asList("/tmp/csv/rolling/测试_RollingCsvWriter_00001.csv", "/tmp/csv/rolling/测试_RollingCsvWriter_00002.csv"), finishedList);
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class RowDeduplicatorTest {
+  private static final String CSV_PATH = "/tmp/csv/测试_RowDeduplicator.csv";
+
+  @Test
+  void exact() {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("id", "name", "value"));
+    // 内存中最多1000个键 -> 溢出至磁盘
+    try (RowDeduplicator deduplicator = new RowDeduplicator(ListUtil.asList("id", "name"), 1000, 0.01, true, "/tmp/dedup")) {
+      for (int round = 0; round < 2; round++) {
+        for (int i = 0; i < 10000; i++) {
+          Assertions.assertEquals(round > 0, deduplicator.isDuplicate(schema.newRow().set(0, i).set(1, "name" + i).set(2, round)));
+        }
+      }
+      Assertions.assertFalse(deduplicator.isDuplicate(schema.newRow().set(0, 1)));
+      Assertions.assertTrue(deduplicator.getSpillCount() > 0);
+      Assertions.assertEquals(10001, deduplicator.getKeyCount());
+      Assertions.assertEquals(10000, deduplicator.getDroppedCount());
+    }
+  }
+
+  @Test
+  void approximate() {
+    try (RowDeduplicator deduplicator = new RowDeduplicator(ListUtil.asList("id"), 10000, 0.01, false, null)) {
+      long duplicateCount = 0;
+      for (int i = 0; i < 10000; i++) {
+        if (deduplicator.isDuplicate(MapUtil.of("id", i))) duplicateCount++;
+      }
+      // 误判率约1%
+      Assertions.assertTrue(duplicateCount < 300);
+      Assertions.assertTrue(deduplicator.isDuplicate(MapUtil.of("id", 1)));
+    }
+  }
+
+  @Test
+  void data2Csv() {
+    List<Map<String, Object>> dataList = new ArrayList<>();
+    dataList.add(MapUtil.of("column1", "测试数据1", "column2", "name1"));
+    dataList.add(MapUtil.of("column1", "测试数据2", "column2", "name2"));
+    dataList.add(MapUtil.of("column1", "测试数据1", "column2", "name3"));
+
+    FileUtil.delete(CSV_PATH);
+    try (RowDeduplicator deduplicator = new RowDeduplicator(ListUtil.asList("column1"), 1000)) {
+      Assertions.assertEquals(1, CsvUtil.data2Csv(CSV_PATH, ListUtil.asList("column1", "column2"), dataList, null, deduplicator));
+      // 重放
+      Assertions.assertEquals(3, CsvUtil.data2Csv(CSV_PATH, ListUtil.asList("column1", "column2"), dataList, null, deduplicator));
+    }
+    Assertions.assertEquals(2, CsvUtil.csv2Data(CSV_PATH, null, row -> {
+    }));
+  }
+
+  @Test
+  void missingKeyColumn() {
+    FileUtil.delete(CSV_PATH);
+    try (RowDeduplicator deduplicator = new RowDeduplicator(ListUtil.asList("colum1"), 1000)) {
+      // 键列名拼写错误 -> 创建CSV文件前失败
+      Assertions.assertThrows(YuuException.class, () -> new CsvWriter(CSV_PATH, new SchemaModel(ListUtil.asList("column1", "column2")), null, deduplicator));
+      Assertions.assertFalse(FileUtil.isExists(CSV_PATH));
+      Assertions.assertThrows(YuuException.class, () -> deduplicator.isDuplicate(new SchemaModel(ListUtil.asList("column1")).newRow()));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import com.github.wanjune.yuu.value.ColumnTypeEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SchemaUtilTest {
+  private static final String CSV_PATH = "/tmp/csv/测试_SchemaUtil.csv";
+  private static final String EXCEL_PATH = "/tmp/excel/测试准备数据_20221026.xlsx";
+
+  @Test
+  void inferCsv() {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("column1", "column2", "column3", "column4", "column5", "column6", "column7", "column8", "column9"));
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      rowList.add(schema.newRow()
+          .set(0, "测试数据" + i)
+          .set(1, i)
+          .set(2, 10000000000L + i)
+          .set(3, i + ".25")
+          .set(4, i + "E-3")
+          .set(5, i % 2 == 0)
+          .set(6, "2022-10-26")
+          .set(7, i % 2 == 0 ? "2022-10-26 08:30:00" : "2022-10-26")
+          .set(8, i % 3 == 0 ? null : String.format("%03d", i % 100)));
+    }
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.data2Csv(CSV_PATH, schema, rowList, null);
+
+    SchemaModel typedSchema = SchemaUtil.inferCsv(CSV_PATH, null, 1000, 4);
+    Assertions.assertEquals(schema.getColumnList(), typedSchema.getColumnList());
+    Assertions.assertEquals(ListUtil.asList(ColumnTypeEnum.STRING, ColumnTypeEnum.INT, ColumnTypeEnum.LONG, ColumnTypeEnum.DECIMAL, ColumnTypeEnum.DOUBLE,
+        ColumnTypeEnum.BOOLEAN, ColumnTypeEnum.DATE, ColumnTypeEnum.DATETIME, ColumnTypeEnum.STRING), typedSchema.getTypeList());
+
+    // 投影的列
+    typedSchema = SchemaUtil.inferCsv(CSV_PATH, ListUtil.asList("column3", "column2"), 1000, 1);
+    Assertions.assertEquals(ListUtil.asList(ColumnTypeEnum.LONG, ColumnTypeEnum.INT), typedSchema.getTypeList());
+  }
+
+  @Test
+  void inferExcel() {
+    SchemaModel typedSchema = SchemaUtil.inferExcel(EXCEL_PATH, null, "测试01", 2, ListUtil.asList("column1", "column2", "column3"), 100, 2);
+    Assertions.assertEquals(3, typedSchema.getTypeList().size());
+  }
+
+  @Test
+  void toDdl() {
+    SchemaModel schema = new SchemaModel(ListUtil.asList("id", "name", "amount"), ListUtil.asList(ColumnTypeEnum.LONG, ColumnTypeEnum.STRING, ColumnTypeEnum.DECIMAL));
+    Assertions.assertEquals("CREATE TABLE IF NOT EXISTS t_test (\n  `id` BIGINT,\n  `name` STRING,\n  `amount` DECIMAL(38,18)\n);", SchemaUtil.toMaxComputeDdl("t_test", schema));
+    Assertions.assertEquals("CREATE TABLE IF NOT EXISTS t_test (\n  \"id\" BIGINT,\n  \"name\" TEXT,\n  \"amount\" NUMERIC(38,18)\n);", SchemaUtil.toHologresDdl("t_test", schema));
+  }
+}
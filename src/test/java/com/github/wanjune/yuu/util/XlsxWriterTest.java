@@ -0,0 +1,82 @@
+package com.github.wanjune.yuu.util;
+
+import com.github.wanjune.yuu.exception.YuuException;
+import com.github.wanjune.yuu.model.ExcelSheetModel;
+import com.github.wanjune.yuu.model.RowModel;
+import com.github.wanjune.yuu.model.SchemaModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class XlsxWriterTest {
+  private static final String XLSX_PATH = "/tmp/excel/测试_XlsxWriter.xlsx";
+  private static final String CSV_PATH = "/tmp/csv/测试_XlsxWriter.csv";
+  private static final List<String> COLUMN_LIST = ListUtil.asList("column1", "column2", "column3");
+
+  @Test
+  void write() {
+    SchemaModel schema = new SchemaModel(COLUMN_LIST);
+    // 每个SHEET最多10行,每批量4行 -> 25行写入3个SHEET
+    try (XlsxWriter xlsxWriter = new XlsxWriter(XLSX_PATH, "测试", schema, ListUtil.asList("column2"), 10, 4)) {
+      for (int i = 0; i < 25; i++) {
+        xlsxWriter.write(schema.newRow().set(0, "测试数据" + i).set(1, "name😂" + i).set(2, i));
+      }
+      // 新建SHEET(Map数据)
+      List<Map<String, Object>> dataList = new ArrayList<>();
+      dataList.add(MapUtil.of("column1", "测试数据", "column3", MapUtil.of("k", 1)));
+      xlsxWriter.newSheet("其他");
+      xlsxWriter.write(dataList);
+      Assertions.assertEquals(26, xlsxWriter.getRowCount());
+      Assertions.assertEquals(4, xlsxWriter.getSheetCount());
+    }
+
+    List<ExcelSheetModel> sheetList = CsvUtil.listExcelSheets(XLSX_PATH);
+    Assertions.assertEquals(ListUtil.asList("测试", "测试_2", "测试_3", "其他"), sheetList.stream().map(ExcelSheetModel::getSheetName).collect(Collectors.toList()));
+  }
+
+  @Test
+  void sheetName() {
+    SchemaModel schema = new SchemaModel(COLUMN_LIST);
+    // 31个字符
+    String longName = "数据数据数据数据数据数据数据数据数据数据数据数据数据数据数据X";
+    try (XlsxWriter xlsxWriter = new XlsxWriter(XLSX_PATH, longName, schema, null, 1, 4)) {
+      // 自动新建的SHEET名超过31个字符 -> 截断SHEET名(保留序号)
+      xlsxWriter.write(schema.newRow().set(0, 1));
+      xlsxWriter.write(schema.newRow().set(0, 2));
+      // 自动新建的SHEET名与已有的SHEET名重复(不区分大小写) -> 序号顺延
+      xlsxWriter.newSheet("Other_2");
+      xlsxWriter.newSheet("other");
+      xlsxWriter.write(schema.newRow().set(0, 3));
+      xlsxWriter.write(schema.newRow().set(0, 4));
+      // SHEET名重复/超过31个字符 -> 异常
+      Assertions.assertThrows(YuuException.class, () -> xlsxWriter.newSheet("OTHER"));
+      Assertions.assertThrows(YuuException.class, () -> xlsxWriter.newSheet(longName + "X"));
+    }
+
+    List<ExcelSheetModel> sheetList = CsvUtil.listExcelSheets(XLSX_PATH);
+    Assertions.assertEquals(ListUtil.asList(longName, longName.substring(0, 29) + "_2", "Other_2", "other", "other_3"),
+        sheetList.stream().map(ExcelSheetModel::getSheetName).collect(Collectors.toList()));
+  }
+
+  @Test
+  void csv2Excel() {
+    FileUtil.delete(CSV_PATH);
+    SchemaModel schema = new SchemaModel(COLUMN_LIST);
+    List<RowModel> rowList = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rowList.add(schema.newRow().set(0, "测试数据" + i).set(2, i));
+    }
+    CsvUtil.data2Csv(CSV_PATH, schema, rowList, null);
+    Assertions.assertEquals(100, ExcelUtil.csv2Excel(CSV_PATH, null, XLSX_PATH, "测试", 30));
+
+    // EXCEL -> CSV
+    FileUtil.delete(CSV_PATH);
+    CsvUtil.excel2Csv(XLSX_PATH, 0, null, 1, true, 30, CSV_PATH, COLUMN_LIST, null);
+    Assertions.assertEquals(100, CsvUtil.csv2Data(CSV_PATH, null, row -> {
+    }));
+  }
+}